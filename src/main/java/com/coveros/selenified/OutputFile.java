@@ -23,6 +23,7 @@ package com.coveros.selenified;
 import com.coveros.selenified.application.App;
 import com.coveros.selenified.services.Request;
 import com.coveros.selenified.services.Response;
+import com.coveros.selenified.utilities.Property;
 import com.coveros.selenified.utilities.TestSetup;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -44,7 +45,9 @@ import java.util.zip.ZipOutputStream;
  * A custom output file, recording all details of every step performed, both
  * actions and app. Actions, expected results, and actual results are captured.
  * All asserts have a screenshot taken for traceability, while all failing
- * actions also have a screenshot taken to assist with debugging purposes
+ * actions also have a screenshot taken to assist with debugging purposes.
+ * Recording is synchronized, so steps can be safely recorded from other
+ * threads, such as when asynchronous calls complete
  *
  * @author Max Saperstone
  * @version 3.0.0
@@ -77,6 +80,12 @@ public class OutputFile {
     private int stepNum = 0;
     // this will keep track of the errors
     private int errors = 0;
+    // the total time all waits in the test may take, and how much has been used
+    private double waitBudget = 0;
+    private double waitTime = 0;
+
+    private boolean failFast = false;
+    private int navigations = 0;
     // the image width for reporting
     private final int embeddedImageWidth = 300;
 
@@ -85,6 +94,8 @@ public class OutputFile {
     private static final String START_CELL = "    <td>";
     private static final String END_CELL = "</td>\n";
     private static final String END_ROW = "   </tr>\n";
+    private static final String WAIT_BUDGET = "waitBudget";
+    private static final String FAIL_FAST = "failFast";
 
     /**
      * Creates a new instance of the OutputFile, which will serve as the
@@ -112,6 +123,8 @@ public class OutputFile {
         this.author = author;
         this.version = version;
         this.objectives = objectives;
+        waitBudget = Property.getDouble(WAIT_BUDGET, 0);
+        failFast = Boolean.parseBoolean(System.getProperty(FAIL_FAST));
         filename = test + browser + ".html";
         file = new File(directory, filename);
         setupFile();
@@ -128,20 +141,29 @@ public class OutputFile {
         return filename;
     }
 
+    /**
+     * Retrieves the name of the test this output file records
+     *
+     * @return String: the test name
+     */
+    public String getTestName() {
+        return test;
+    }
+
     /**
      * Retrieves the current error count of the test
      *
      * @return Integer: the number of errors current encountered on the current
      * test
      */
-    public int getErrors() {
+    public synchronized int getErrors() {
         return errors;
     }
 
     /**
      * Increments the current error count of the test by one
      */
-    public void addError() {
+    public synchronized void addError() {
         errors++;
     }
 
@@ -150,10 +172,127 @@ public class OutputFile {
      *
      * @param errorsToAdd - the number of errors to add
      */
-    public void addErrors(int errorsToAdd) {
+    public synchronized void addErrors(int errorsToAdd) {
         errors += errorsToAdd;
     }
 
+    /**
+     * Sets the total number of seconds all waits in the test may take. Once
+     * this budget is used up, any further waits fail immediately. A budget of
+     * 0 or less means waits are not limited
+     *
+     * @param seconds - the number of seconds all waits may take
+     */
+    public void setWaitBudget(double seconds) {
+        waitBudget = seconds;
+    }
+
+    /**
+     * Retrieves the total number of seconds all waits in the test may take.
+     * A budget of 0 or less means waits are not limited
+     *
+     * @return Double: the wait budget of the test
+     */
+    public double getWaitBudget() {
+        return waitBudget;
+    }
+
+    /**
+     * Retrieves the total number of seconds spent waiting so far in the test
+     *
+     * @return Double: the time spent waiting
+     */
+    public double getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Adds time spent waiting to the test's total, counting it against the
+     * wait budget
+     *
+     * @param seconds - the number of seconds spent waiting
+     */
+    public void addWaitTime(double seconds) {
+        waitTime += seconds;
+    }
+
+    /**
+     * Retrieves how many more seconds waits in the test may take. If the test
+     * doesn't have a wait budget, this is infinite
+     *
+     * @return Double: the remaining wait budget
+     */
+    public double getRemainingWaitBudget() {
+        if (waitBudget <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.max(0, waitBudget - waitTime);
+    }
+
+    /**
+     * Determines if the test's wait budget has been used up
+     *
+     * @return Boolean: whether the wait budget is used up
+     */
+    public boolean isWaitBudgetExhausted() {
+        return getRemainingWaitBudget() <= 0;
+    }
+
+    /**
+     * Builds a note to add to the result of a failed wait, explaining that
+     * the test's wait budget has been used up. If the budget hasn't been used
+     * up, an empty string is returned
+     *
+     * @return String: the note explaining the wait budget is used up
+     */
+    public String getWaitBudgetNote() {
+        if (!isWaitBudgetExhausted()) {
+            return "";
+        }
+        return ". The wait budget of " + waitBudget + " seconds for this test has been used up, so no further " +
+                "waiting will be done";
+    }
+
+    /**
+     * Sets whether elements which couldn't be found should fail immediately
+     * on any further waits, until the page changes, instead of being waited
+     * for again. This can also be turned on with the failFast system property
+     *
+     * @param failFast - whether elements which couldn't be found should fail fast
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+
+    /**
+     * Determines if elements which couldn't be found should fail immediately
+     * on any further waits, until the page changes
+     *
+     * @return Boolean: whether elements which couldn't be found fail fast
+     */
+    public boolean isFailFast() {
+        return failFast;
+    }
+
+    /**
+     * Retrieves the number of times the test has navigated, or changed the
+     * window or frame it is working in. This, along with the current url,
+     * identifies which page the test is on
+     *
+     * @return Integer: the number of navigations performed
+     */
+    public int getNavigations() {
+        return navigations;
+    }
+
+    /**
+     * Records that the test has navigated, or changed the window or frame it
+     * is working in
+     */
+    public void addNavigation() {
+        navigations++;
+    }
+
     /**
      * Determines if a 'real' browser is being used. If the browser is NONE or
      * HTMLUNIT it is not considered a real browser
@@ -271,7 +410,7 @@ public class OutputFile {
      * @param actualResult   - the result that actually occurred
      * @param result         - the result of the action
      */
-    public void recordAction(String action, String expectedResult, String actualResult, Result result) {
+    public synchronized void recordAction(String action, String expectedResult, String actualResult, Result result) {
         stepNum++;
         String success = "Check";
         String imageLink = "";
@@ -316,7 +455,7 @@ public class OutputFile {
      * @param actualOutcome - what the actual outcome was
      * @param result        - whether this result is a pass or a failure
      */
-    public void recordActual(String actualOutcome, Success result) {
+    public synchronized void recordActual(String actualOutcome, Success result) {
         try (
                 // reopen the log file
                 FileWriter fw = new FileWriter(file, true); BufferedWriter out = new BufferedWriter(fw)) {
@@ -353,7 +492,7 @@ public class OutputFile {
      *
      * @param expectedOutcome - what the expected outcome is
      */
-    public void recordExpected(String expectedOutcome) {
+    public synchronized void recordExpected(String expectedOutcome) {
         stepNum++;
 
         try (
@@ -698,6 +837,25 @@ public class OutputFile {
                 output.append("</div>");
             }
         }
+        if (params.getMultipart() != null) {
+            for (Map.Entry<String, Object> entry : params.getMultipart().entrySet()) {
+                output.append("<div>");
+                output.append(entry.getKey());
+                output.append(" : ");
+                output.append(entry.getValue() instanceof File ? "file " + entry.getValue() : entry.getValue());
+                output.append("</div>");
+            }
+        }
+        if (params.getFile() != null) {
+            output.append("<div>file : ");
+            output.append(params.getFile());
+            output.append("</div>");
+        }
+        if (params.getStream() != null) {
+            output.append("<div>stream : ");
+            output.append(params.getStreamLength() < 0 ? "unknown length" : params.getStreamLength() + " bytes");
+            output.append("</div>");
+        }
         output.append("</i></div>");
         return formatHTML(output.toString());
     }
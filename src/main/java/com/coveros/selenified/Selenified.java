@@ -285,7 +285,7 @@ public class Selenified {
                 loadInitialPage(app, getTestSite(extClass, test), myFile);
             }
         } else {
-            HTTP http = new HTTP(getTestSite(extClass, test), servicesUser, servicesPass);
+            HTTP http = HTTP.getSession(getTestSite(extClass, test), servicesUser, servicesPass);
             Call call = new Call(http, myFile, extraHeaders);
             this.apps.set(null);
             this.calls.set(call);
@@ -348,12 +348,15 @@ public class Selenified {
 
     /**
      * Concludes each test case. This should be run as the last time of
-     * each @Test. It will close out the output logging file, and count any
-     * errors that were encountered during the test, and fail the test if any
-     * errors were encountered
+     * each @Test. It will wait for any asynchronous calls to complete, close
+     * out the output logging file, and count any errors that were encountered
+     * during the test, and fail the test if any errors were encountered
      */
     protected void finish() {
         OutputFile myFile = this.files.get();
+        if (this.calls.get() != null) {
+            this.calls.get().awaitAsync();
+        }
         myFile.finalizeOutputFile();
         assertEquals("Detailed results found at: " + myFile.getFileName(), "0 errors",
                 Integer.toString(myFile.getErrors()) + ERRORS_CHECK);
@@ -361,14 +364,18 @@ public class Selenified {
 
     /**
      * Concludes each test case. This should be run as the last time of
-     * each @Test. It will close out the output logging file, and count any
-     * errors that were encountered during the test, and assert that the number
-     * of errors that occurred equals the provided number of errors.
+     * each @Test. It will wait for any asynchronous calls to complete, close
+     * out the output logging file, and count any errors that were encountered
+     * during the test, and assert that the number of errors that occurred
+     * equals the provided number of errors.
      *
      * @param errors - number of expected errors from the test
      */
     protected void finish(int errors) {
         OutputFile myFile = this.files.get();
+        if (this.calls.get() != null) {
+            this.calls.get().awaitAsync();
+        }
         myFile.finalizeOutputFile();
         assertEquals("Detailed results found at: " + myFile.getFileName(), errors + ERRORS_CHECK,
                 Integer.toString(myFile.getErrors()) + ERRORS_CHECK);
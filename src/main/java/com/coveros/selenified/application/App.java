@@ -289,6 +289,7 @@ public class App {
         String expected = "Loaded " + url;
         double start = System.currentTimeMillis();
         try {
+            file.addNavigation();
             driver.get(url);
         } catch (Exception e) {
             log.warn(e);
@@ -338,6 +339,7 @@ public class App {
      */
     private void sendControlAndCommand(String action, String expected, String fail, Keys key) {
         try {
+            file.addNavigation();
             driver.findElement(By.cssSelector("body")).sendKeys(Keys.chord(Keys.CONTROL, key));
             driver.findElement(By.cssSelector("body")).sendKeys(Keys.chord(Keys.COMMAND, key));
         } catch (Exception e) {
@@ -379,6 +381,7 @@ public class App {
         String action = "Closing currently open tab";
         String expected = "Tab is closed";
         try {
+            file.addNavigation();
             driver.findElement(By.cssSelector("body")).sendKeys(Keys.CONTROL + "w");
             driver.findElement(By.cssSelector("body")).sendKeys(Keys.COMMAND + "w");
         } catch (Exception e) {
@@ -396,6 +399,7 @@ public class App {
         String action = "Going back one page";
         String expected = "Previous page from browser history is loaded";
         try {
+            file.addNavigation();
             driver.navigate().back();
         } catch (Exception e) {
             file.recordAction(action, expected, "Browser was unable to go back one page. " + e.getMessage(),
@@ -414,6 +418,7 @@ public class App {
         String action = "Going forward one page";
         String expected = "Next page from browser history is loaded";
         try {
+            file.addNavigation();
             driver.navigate().forward();
         } catch (Exception e) {
             file.recordAction(action, expected, "Browser was unable to go forward one page. " + e.getMessage(),
@@ -432,6 +437,7 @@ public class App {
         String action = "Reloading current page";
         String expected = "Page is refreshed";
         try {
+            file.addNavigation();
             driver.navigate().refresh();
         } catch (Exception e) {
             file.recordAction(action, expected, "Browser was unable to be refreshed. " + e.getMessage(),
@@ -596,6 +602,7 @@ public class App {
         String expected = "New window is opened to url " + url;
         try {
             JavascriptExecutor jse = (JavascriptExecutor) driver;
+            file.addNavigation();
             jse.executeScript("window.open('" + url + "','_blank');");
         } catch (Exception e) {
             file.recordAction(action, expected, "Unable to open window tab. " + e.getMessage(), Result.FAILURE);
@@ -622,6 +629,7 @@ public class App {
         String action = "Switching to the new window";
         String expected = "New window is available and selected";
         try {
+            file.addNavigation();
             parentWindow = driver.getWindowHandle();
             for (String winHandle : driver.getWindowHandles()) {
                 driver.switchTo().window(winHandle);
@@ -645,6 +653,7 @@ public class App {
         String action = "Switching back to parent window";
         String expected = "Parent window is available and selected";
         try {
+            file.addNavigation();
             driver.switchTo().window(parentWindow);
         } catch (Exception e) {
             file.recordAction(action, expected, "Parent window was unable to be selected. " + e.getMessage(),
@@ -666,6 +675,7 @@ public class App {
         String action = "Closing currently selected window";
         String expected = "Current window is closed";
         try {
+            file.addNavigation();
             driver.close();
         } catch (Exception e) {
             file.recordAction(action, expected, "Current window was unable to be closed. " + e.getMessage(),
@@ -686,6 +696,7 @@ public class App {
         String action = "Switching to main window";
         String expected = "Main window is selected";
         try {
+            file.addNavigation();
             driver.switchTo().defaultContent();
         } catch (Exception e) {
             file.recordAction(action, expected, "Main window was not selected. " + e.getMessage(), Result.FAILURE);
@@ -705,6 +716,7 @@ public class App {
         String action = "Switching to parent frame";
         String expected = "Parent frame is selected";
         try {
+            file.addNavigation();
             driver.switchTo().parentFrame();
         } catch (Exception e) {
             file.recordAction(action, expected, "Parent frame was not selected. " + e.getMessage(), Result.FAILURE);
@@ -727,6 +739,7 @@ public class App {
         String action = "Switching to frame <b>" + frameNumber + "</b>";
         String expected = FRAME + frameNumber + AVAILABLE;
         try {
+            file.addNavigation();
             driver.switchTo().frame(frameNumber);
         } catch (Exception e) {
             file.recordAction(action, expected, FRAME + frameNumber + NOTSELECTED + ". " + e.getMessage(),
@@ -748,6 +761,7 @@ public class App {
         String action = "Switching to frame <b>" + frameIdentifier + "</b>";
         String expected = FRAME + frameIdentifier + AVAILABLE;
         try {
+            file.addNavigation();
             driver.switchTo().frame(frameIdentifier);
         } catch (Exception e) {
             file.recordAction(action, expected, FRAME + frameIdentifier + NOTSELECTED + ". " + e.getMessage(),
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.application;
+
+import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.ElementScripts;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Condition describes a single state of an element or the app which can be
+ * waited on. Conditions are combined with WaitFor's anyOf and allOf, so that
+ * several conditions can be waited on at once, instead of one after another.
+ * When conditions are checked together, all element conditions are checked
+ * with a single javascript call, while app conditions are checked directly
+ * through webdriver
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class Condition {
+
+    private final String description;
+    private final Element element;
+    private final String elementCondition;
+    private final Predicate<Is> appCondition;
+
+    private Condition(String description, Element element, String elementCondition, Predicate<Is> appCondition) {
+        this.description = description;
+        this.element = element;
+        this.elementCondition = elementCondition;
+        this.appCondition = appCondition;
+    }
+
+    ///////////////////////////////////////////////////
+    // element conditions
+    ///////////////////////////////////////////////////
+
+    /**
+     * A condition for the element to be present
+     *
+     * @param element - the element to check
+     * @return Condition: the element being present
+     */
+    public static Condition present(Element element) {
+        return new Condition(element.prettyOutputStart() + " is present", element, ElementScripts.PRESENT, null);
+    }
+
+    /**
+     * A condition for the element to not be present
+     *
+     * @param element - the element to check
+     * @return Condition: the element not being present
+     */
+    public static Condition notPresent(Element element) {
+        return new Condition(element.prettyOutputStart() + " is not present", element, ElementScripts.NOT_PRESENT,
+                null);
+    }
+
+    /**
+     * A condition for the element to be displayed
+     *
+     * @param element - the element to check
+     * @return Condition: the element being displayed
+     */
+    public static Condition displayed(Element element) {
+        return new Condition(element.prettyOutputStart() + " is displayed", element, ElementScripts.DISPLAYED, null);
+    }
+
+    /**
+     * A condition for the element to not be displayed. An element which isn't
+     * present is also not displayed
+     *
+     * @param element - the element to check
+     * @return Condition: the element not being displayed
+     */
+    public static Condition notDisplayed(Element element) {
+        return new Condition(element.prettyOutputStart() + " is not displayed", element,
+                ElementScripts.NOT_DISPLAYED, null);
+    }
+
+    /**
+     * A condition for the element to be enabled
+     *
+     * @param element - the element to check
+     * @return Condition: the element being enabled
+     */
+    public static Condition enabled(Element element) {
+        return new Condition(element.prettyOutputStart() + " is enabled", element, ElementScripts.ENABLED, null);
+    }
+
+    /**
+     * A condition for the element to not be enabled. An element which isn't
+     * present is also not enabled
+     *
+     * @param element - the element to check
+     * @return Condition: the element not being enabled
+     */
+    public static Condition notEnabled(Element element) {
+        return new Condition(element.prettyOutputStart() + " is not enabled", element, ElementScripts.NOT_ENABLED,
+                null);
+    }
+
+    ///////////////////////////////////////////////////
+    // app conditions
+    ///////////////////////////////////////////////////
+
+    /**
+     * A condition for an alert, confirmation, or prompt to be present
+     *
+     * @return Condition: a popup being present
+     */
+    public static Condition alertPresent() {
+        return new Condition("An alert is present", null, null, Is::alertPresent);
+    }
+
+    /**
+     * A condition for the url to show a particular location
+     *
+     * @param location - the location expected
+     * @return Condition: the location being shown
+     */
+    public static Condition location(String location) {
+        return new Condition("Location shows as '" + location + "'", null, null, is -> is.location(location));
+    }
+
+    /**
+     * A condition for the provided text to be on the current page
+     *
+     * @param expectedText - the text expected on the page
+     * @return Condition: the text being present
+     */
+    public static Condition textPresent(String expectedText) {
+        return new Condition("Text <b>" + expectedText + "</b> is present", null, null,
+                is -> is.textPresent(expectedText));
+    }
+
+    /**
+     * A condition for a cookie to exist in the application
+     *
+     * @param expectedCookieName - the name of the cookie
+     * @return Condition: the cookie being present
+     */
+    public static Condition cookiePresent(String expectedCookieName) {
+        return new Condition("Cookie <b>" + expectedCookieName + "</b> is present", null, null,
+                is -> is.cookiePresent(expectedCookieName));
+    }
+
+    ///////////////////////////////////////////////////
+    // evaluating the condition
+    ///////////////////////////////////////////////////
+
+    /**
+     * Determines if this condition is checked within the page, as part of a
+     * single javascript call along with any other element conditions
+     *
+     * @return Boolean: whether this is an element condition
+     */
+    boolean isElementCondition() {
+        return element != null;
+    }
+
+    /**
+     * Builds the query used to check this element condition within the page
+     *
+     * @return List: the element query, followed by the condition to check
+     */
+    List<Object> elementQuery() {
+        return Arrays.asList(ElementScripts.query(element), elementCondition);
+    }
+
+    /**
+     * Checks this app condition directly through webdriver
+     *
+     * @param is - the is class used to check the app state
+     * @return Boolean: whether the condition is met
+     */
+    boolean isMet(Is is) {
+        return appCondition.test(is);
+    }
+
+    /**
+     * Retrieves a description of the condition, for use in the output file
+     *
+     * @return String: a description of the condition
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
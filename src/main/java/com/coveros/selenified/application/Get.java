@@ -20,13 +20,23 @@
 
 package com.coveros.selenified.application;
 
+import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.ElementScripts;
+import com.coveros.selenified.element.ElementState;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.testng.log4testng.Logger;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Get retrieves information about the app in general, not specific to any
@@ -246,4 +256,114 @@ public class Get {
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the state of each of the provided elements. All of the
+     * elements are located, and their presence, visibility, enabled state,
+     * checked state, text and value are read, in a single javascript call,
+     * instead of several calls per element. Elements which can't be found are
+     * returned with a state that isn't present. Visibility is determined from
+     * the element's styling, so it may differ from webdriver's own calculation
+     * in some edge cases, for example elements with no size. Any element whose
+     * locator is invalid, or whose state can't be retrieved, is returned with a
+     * state that isn't present.
+     *
+     * @param elements - the elements to retrieve the state of
+     * @return Map: the state of each element, keyed by the provided elements, in
+     * the order they were provided
+     */
+    public Map<Element, ElementState> elementStates(Element... elements) {
+        return elementStates(Arrays.asList(elements));
+    }
+
+    /**
+     * Retrieves the state of each of the provided elements, in a single
+     * javascript call. See {@link #elementStates(Element...)} for more
+     * details.
+     *
+     * @param elements - the elements to retrieve the state of
+     * @return Map: the state of each element, keyed by the provided elements, in
+     * the order they were provided
+     */
+    public Map<Element, ElementState> elementStates(List<Element> elements) {
+        List<?> results = queryElementStates(elements);
+        if (results == null) {
+            // an invalid locator can fail the entire script, so query each element on its own
+            List<Object> individualResults = new ArrayList<>();
+            for (Element element : elements) {
+                List<?> result = queryElementStates(Collections.singletonList(element));
+                individualResults.add(result == null ? null : result.get(0));
+            }
+            results = individualResults;
+        }
+        Map<Element, ElementState> states = new LinkedHashMap<>();
+        for (int i = 0; i < elements.size(); i++) {
+            List<?> result = (List<?>) results.get(i);
+            if (result == null) {
+                states.put(elements.get(i), new ElementState());
+                continue;
+            }
+            states.put(elements.get(i),
+                    new ElementState((String) result.get(0), (Boolean) result.get(1), (Boolean) result.get(2),
+                            (Boolean) result.get(3), (String) result.get(4), (String) result.get(5)));
+        }
+        return states;
+    }
+
+    /**
+     * Runs the javascript call to retrieve the state of each of the provided
+     * elements. If the call fails, or doesn't return a state for each element,
+     * a null value will be returned.
+     *
+     * @param elements - the elements to retrieve the state of
+     * @return List: the raw state of each element
+     */
+    private List<?> queryElementStates(List<Element> elements) {
+        List<List<Object>> query = new ArrayList<>();
+        for (Element element : elements) {
+            query.add(ElementScripts.query(element));
+        }
+        try {
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            List<?> results = (List<?>) js.executeScript(ElementScripts.ELEMENT_STATES, query);
+            if (results == null || results.size() != elements.size()) {
+                return null;
+            }
+            return results;
+        } catch (Exception e) {
+            log.warn(e);
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the state of each element defined on the provided page
+     * object, in a single javascript call. Any field of the page object, or
+     * its parent classes, which is an Element will be included. See
+     * {@link #elementStates(Element...)} for more details.
+     *
+     * @param page - the page object holding the elements
+     * @return Map: the state of each element, keyed by the page object's
+     * elements
+     */
+    public Map<Element, ElementState> pageElementStates(Object page) {
+        List<Element> elements = new ArrayList<>();
+        for (Class<?> clazz = page.getClass(); clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (!Element.class.isAssignableFrom(field.getType())) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    Element element = (Element) field.get(page);
+                    if (element != null) {
+                        elements.add(element);
+                    }
+                } catch (IllegalAccessException | SecurityException e) {
+                    log.warn(e);
+                }
+            }
+        }
+        return elementStates(elements);
+    }
+}
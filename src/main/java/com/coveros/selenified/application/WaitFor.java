@@ -22,16 +22,25 @@ package com.coveros.selenified.application;
 
 import com.coveros.selenified.OutputFile;
 import com.coveros.selenified.OutputFile.Result;
+import com.coveros.selenified.element.ElementScripts;
+import com.coveros.selenified.utilities.Poller;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.WebDriver;
 import org.testng.log4testng.Logger;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * WaitFor performs dynamic waits on the app in general, until a particular
  * condition of the application is met, not one for a particular page or
  * element. Nothing is ever returned. The default wait is 5 seconds, but can be
  * overridden. If the condition is not met in the allotted time, still nothing
- * is returned, but an error is logged
+ * is returned, but an error is logged. All waits count against the test's
+ * wait budget, if it has one (see OutputFile.setWaitBudget), and stop waiting
+ * once it is used up
  *
  * @author Max Saperstone
  * @version 3.0.0
@@ -105,6 +114,29 @@ public class WaitFor {
         location(defaultWait, location);
     }
 
+    /**
+     * Wait up to the default time (5 seconds) for any one of the provided
+     * conditions to be met
+     *
+     * @param conditions - the conditions to wait for
+     * @return Condition: the first condition which was met, or null if none
+     * were met
+     */
+    public Condition anyOf(Condition... conditions) {
+        return anyOf(defaultWait, conditions);
+    }
+
+    /**
+     * Wait up to the default time (5 seconds) for all of the provided
+     * conditions to be met at the same time
+     *
+     * @param conditions - the conditions to wait for
+     * @return Boolean: whether all of the conditions were met
+     */
+    public boolean allOf(Condition... conditions) {
+        return allOf(defaultWait, conditions);
+    }
+
     ///////////////////////////////////////////////////
     // Our actual full implementation of the above overloaded methods
     ///////////////////////////////////////////////////
@@ -118,18 +150,19 @@ public class WaitFor {
      */
     private double popup(double seconds) {
         // wait for up to XX seconds for the error message
-        double end = System.currentTimeMillis() + (seconds * 1000);
-        while (System.currentTimeMillis() < end) {
+        Poller poller = new Poller();
+        poller.until(Math.min(seconds, file.getRemainingWaitBudget()), () -> {
             try { // If results have been returned, the results are displayed in
                 // a drop down.
                 driver.switchTo().alert();
-                break;
+                return true;
             } catch (NoAlertPresentException e) {
                 log.info(e);
+                return false;
             }
-        }
-        double timetook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000);
-        return timetook / 1000;
+        });
+        file.addWaitTime(poller.getSecondsTaken());
+        return Math.min(poller.getSecondsTaken(), seconds);
     }
 
     /**
@@ -142,7 +175,8 @@ public class WaitFor {
         String expected = "An alert is present";
         double timetook = popup(seconds);
         if (!is.alertPresent()) {
-            file.recordAction(action, expected, WAITING + timetook + " seconds, an alert is not present",
+            file.recordAction(action, expected,
+                    WAITING + timetook + " seconds, an alert is not present" + file.getWaitBudgetNote(),
                     Result.FAILURE);
             file.addError();
             return;
@@ -160,7 +194,8 @@ public class WaitFor {
         String expected = "A confirmation is present";
         double timetook = popup(seconds);
         if (!is.confirmationPresent()) {
-            file.recordAction(action, expected, WAITING + timetook + " seconds, a confirmation is not present",
+            file.recordAction(action, expected,
+                    WAITING + timetook + " seconds, a confirmation is not present" + file.getWaitBudgetNote(),
                     Result.FAILURE);
             file.addError();
             return;
@@ -179,7 +214,8 @@ public class WaitFor {
         String expected = "A prompt is present";
         double timetook = popup(seconds);
         if (!is.promptPresent()) {
-            file.recordAction(action, expected, WAITING + timetook + " seconds, a prompt is not present",
+            file.recordAction(action, expected,
+                    WAITING + timetook + " seconds, a prompt is not present" + file.getWaitBudgetNote(),
                     Result.FAILURE);
             file.addError();
             return;
@@ -196,20 +232,138 @@ public class WaitFor {
     public void location(double seconds, String location) {
         String action = UPTO + seconds + " seconds for url to show location";
         String expected = "Location shows as '" + location + "'";
-        double end = System.currentTimeMillis() + (seconds * 1000);
-        while (System.currentTimeMillis() < end) {
-            if (location.equals(driver.getCurrentUrl())) {
-                break;
-            }
-        }
-        double timetook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000) / 1000;
+        Poller poller = new Poller();
+        poller.until(Math.min(seconds, file.getRemainingWaitBudget()), () -> location.equals(driver.getCurrentUrl()));
+        file.addWaitTime(poller.getSecondsTaken());
+        double timetook = Math.min(poller.getSecondsTaken(), seconds);
         if (!is.location(location)) {
             file.recordAction(action, expected,
-                    WAITING + timetook + " seconds, a the location still shows as '" + location + "'", Result.FAILURE);
+                    WAITING + timetook + " seconds, a the location still shows as '" + location + "'" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
             return;
         }
         file.recordAction(action, expected,
                 WAITED + timetook + " seconds for the location to show as '" + location + "'", Result.SUCCESS);
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks all of the provided conditions once. The app conditions are
+     * checked first, through webdriver, and then the element conditions are
+     * all checked together, in a single javascript call. The element
+     * conditions aren't checked once an app condition is met, if only any of
+     * the conditions need to be, or while a popup is present, as running
+     * javascript then fails, and may even dismiss the popup. Element
+     * conditions which aren't checked are treated as not met
+     *
+     * @param any        - do only any of the conditions need to be met, rather than all of them
+     * @param conditions - the conditions to check
+     * @return boolean[]: whether each of the conditions is met
+     */
+    private boolean[] check(boolean any, Condition... conditions) {
+        boolean[] met = new boolean[conditions.length];
+        boolean appMet = false;
+        List<List<Object>> query = new ArrayList<>();
+        List<Integer> queried = new ArrayList<>();
+        for (int i = 0; i < conditions.length; i++) {
+            if (conditions[i].isElementCondition()) {
+                query.add(conditions[i].elementQuery());
+                queried.add(i);
+                continue;
+            }
+            try {
+                met[i] = conditions[i].isMet(is);
+                appMet |= met[i];
+            } catch (Exception e) {
+                log.info(e);
+            }
+        }
+        if (query.isEmpty() || (any && appMet) || is.alertPresent()) {
+            return met;
+        }
+        try {
+            List<?> results =
+                    (List<?>) ((JavascriptExecutor) driver).executeScript(ElementScripts.ELEMENT_CONDITIONS, query);
+            for (int i = 0; i < queried.size(); i++) {
+                met[queried.get(i)] = Boolean.TRUE.equals(results.get(i));
+            }
+        } catch (Exception e) {
+            log.info(e);
+        }
+        return met;
+    }
+
+    /**
+     * Wait up to a specified time for any one of the provided conditions to be
+     * met. All of the conditions are checked together each poll, so the wait
+     * ends as soon as one of them is met, rather than waiting on each in turn
+     *
+     * @param seconds    - the number of seconds to wait
+     * @param conditions - the conditions to wait for
+     * @return Condition: the first condition which was met, or null if none
+     * were met
+     */
+    public Condition anyOf(double seconds, Condition... conditions) {
+        String action = UPTO + seconds + " seconds for any of " + Arrays.toString(conditions);
+        String expected = "One of " + Arrays.toString(conditions);
+        Condition[] fired = new Condition[1];
+        Poller poller = new Poller();
+        poller.until(Math.min(seconds, file.getRemainingWaitBudget()), () -> {
+            boolean[] met = check(true, conditions);
+            for (int i = 0; i < met.length; i++) {
+                if (met[i]) {
+                    fired[0] = conditions[i];
+                    return true;
+                }
+            }
+            return false;
+        });
+        file.addWaitTime(poller.getSecondsTaken());
+        double timetook = Math.min(poller.getSecondsTaken(), seconds);
+        if (fired[0] == null) {
+            file.recordAction(action, expected,
+                    WAITING + timetook + " seconds, none of the conditions were met" + file.getWaitBudgetNote(),
+                    Result.FAILURE);
+            file.addError();
+            return null;
+        }
+        file.recordAction(action, expected, WAITED + timetook + " seconds, and " + fired[0], Result.SUCCESS);
+        return fired[0];
+    }
+
+    /**
+     * Wait up to a specified time for all of the provided conditions to be met
+     * at the same time. All of the conditions are checked together each poll
+     *
+     * @param seconds    - the number of seconds to wait
+     * @param conditions - the conditions to wait for
+     * @return Boolean: whether all of the conditions were met
+     */
+    public boolean allOf(double seconds, Condition... conditions) {
+        String action = UPTO + seconds + " seconds for all of " + Arrays.toString(conditions);
+        String expected = "All of " + Arrays.toString(conditions);
+        List<Condition> unmet = new ArrayList<>();
+        Poller poller = new Poller();
+        boolean allMet = poller.until(Math.min(seconds, file.getRemainingWaitBudget()), () -> {
+            boolean[] met = check(false, conditions);
+            unmet.clear();
+            for (int i = 0; i < met.length; i++) {
+                if (!met[i]) {
+                    unmet.add(conditions[i]);
+                }
+            }
+            return unmet.isEmpty();
+        });
+        file.addWaitTime(poller.getSecondsTaken());
+        double timetook = Math.min(poller.getSecondsTaken(), seconds);
+        if (!allMet) {
+            file.recordAction(action, expected,
+                    WAITING + timetook + " seconds, " + unmet + " not met" + file.getWaitBudgetNote(), Result.FAILURE);
+            file.addError();
+            return false;
+        }
+        file.recordAction(action, expected, WAITED + timetook + " seconds for all of the conditions to be met",
+                Result.SUCCESS);
+        return true;
+    }
+}
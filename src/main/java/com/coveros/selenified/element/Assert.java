@@ -50,6 +50,7 @@ class Assert {
     static final String CLASS = "class";
 
     private static final String NOTINPUT = " is not an input on the page";
+    private static final String NOTPRESENT = " is not present on the page";
 
     static final String VALUE = " has the value of <b>";
     static final String TEXT = " has the text of <b>";
@@ -84,13 +85,19 @@ class Assert {
     }
 
     /**
-     * Determines if the element is a select element
+     * Determines if the element was present, based on a previously retrieved
+     * state, and writes out the expected outcome. As the state is a snapshot,
+     * this doesn't wait for the element. If the element wasn't present, an
+     * error will be logged
      *
-     * @return Boolean: whether the element is an select or not
+     * @param state    - the previously retrieved state of the element
+     * @param expected - the expected outcome
+     * @return Boolean: whether the element was present or not
      */
-    private boolean isSelect() {
-        if (!element.is().select()) {
-            file.recordActual(element.prettyOutputStart() + NOTSELECT, Success.FAIL);
+    boolean isPresent(ElementState state, String expected) {
+        file.recordExpected(expected);
+        if (state == null || !state.present()) {
+            file.recordActual(element.prettyOutputStart() + NOTPRESENT, Success.FAIL);
             file.addError();
             return false;
         }
@@ -112,19 +119,26 @@ class Assert {
     }
 
     /**
-     * Determines if the element is a present, and if it is, it is a select
+     * Determines if the element is a present, and if it is, retrieves all of
+     * the options of the select in a single call. If the element isn't a
+     * select, an error will be logged and null will be returned
      *
      * @param expected - the expected outcome
-     * @return Boolean: whether the element is a select or not
+     * @return SelectSnapshot: all of the options from the select element
      */
-    boolean isPresentSelect(String expected) {
+    SelectSnapshot getPresentSelect(String expected) {
         // wait for the element
         if (!isPresent()) {
-            return false;
+            return null;
         }
         file.recordExpected(expected);
-        // verify this is a select element
-        return isSelect();
+        // verify this is a select element, and retrieve its options
+        SelectSnapshot select = element.get().selectSnapshot();
+        if (select == null) {
+            file.recordActual(element.prettyOutputStart() + NOTSELECT, Success.FAIL);
+            file.addError();
+        }
+        return select;
     }
 
     /**
@@ -197,4 +211,27 @@ class Assert {
         // check for the object to the present on the page
         return element.get().value();
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the value from a previously retrieved state of the element,
+     * and writes out the value that is being expected. If the element wasn't
+     * present or an input, an error will be logged and null will be returned
+     *
+     * @param state    - the previously retrieved state of the element
+     * @param value    the expected value of the element
+     * @param expected - is the attribute expected to be present, or not present
+     * @return String: the actual value from the input element
+     */
+    String getValue(ElementState state, String value, String expected) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + expected + value + "</b>")) {
+            return null;
+        }
+        // verify this is an input element
+        if (!state.input()) {
+            file.recordActual(element.prettyOutputStart() + NOTINPUT, Success.FAIL);
+            file.addError();
+            return null;
+        }
+        return state.value();
+    }
+}
@@ -127,6 +127,30 @@ public class Contains extends Assert {
         file.recordActual(element.prettyOutputStart() + TEXT + elementValue + "</b>", Success.PASS);
     }
 
+    /**
+     * Verifies that the element's text, from a previously retrieved state,
+     * contains the provided expected text. As the state is a snapshot, obtained
+     * from App's get().elementStates, this doesn't wait for the element. If the
+     * element wasn't present, this will constitute a failure, same as a
+     * mismatch. This information will be logged and recorded, with a screenshot
+     * for traceability and added debugging support.
+     *
+     * @param state         - the previously retrieved state of the element
+     * @param expectedValue the expected value of the element
+     */
+    public void text(ElementState state, String expectedValue) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + HASTEXT + expectedValue + "</b>")) {
+            return;
+        }
+        String elementValue = state.text();
+        if (!elementValue.contains(expectedValue)) {
+            file.recordActual(element.prettyOutputStart() + TEXT + elementValue + "</b>", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + TEXT + elementValue + "</b>", Success.PASS);
+    }
+
     /**
      * Verifies that the element's value contains the provided expected value.
      * If the element isn't present or an input, this will constitute a failure,
@@ -148,6 +172,30 @@ public class Contains extends Assert {
         file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.PASS);
     }
 
+    /**
+     * Verifies that the element's value, from a previously retrieved state,
+     * contains the provided expected value. As the state is a snapshot, obtained
+     * from App's get().elementStates, this doesn't wait for the element. If the
+     * element wasn't present or an input, this will constitute a failure, same
+     * as a mismatch. This information will be logged and recorded, with a
+     * screenshot for traceability and added debugging support.
+     *
+     * @param state         - the previously retrieved state of the element
+     * @param expectedValue the expected value of the element
+     */
+    public void value(ElementState state, String expectedValue) {
+        String elementValue = getValue(state, expectedValue, HASVALUE);
+        if (elementValue == null) {
+            return;
+        }
+        if (!elementValue.contains(expectedValue)) {
+            file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.PASS);
+    }
+
     /**
      * Verifies that the element's options contains the provided expected
      * option. If the element isn't present or a select, this will constitute a
@@ -158,12 +206,13 @@ public class Contains extends Assert {
      */
     public void selectOption(String option) {
         // wait for the select
-        if (!isPresentSelect(EXPECTED + element.prettyOutput() + " with the option <b>" + option +
-                "</b> available to be selected on the page")) {
+        SelectSnapshot select = getPresentSelect(EXPECTED + element.prettyOutput() + " with the option <b>" +
+                option + "</b> available to be selected on the page");
+        if (select == null) {
             return;
         }
         // check for the object to the editable
-        String[] allOptions = element.get().selectOptions();
+        String[] allOptions = select.options();
         if (!Arrays.asList(allOptions).contains(option)) {
             file.recordActual(
                     element.prettyOutputStart() + " is present but does not contain the option " + "<b>" + option +
@@ -186,12 +235,13 @@ public class Contains extends Assert {
      */
     public void selectValue(String selectValue) {
         // wait for the select
-        if (!isPresentSelect(EXPECTED + element.prettyOutput() + " having a select value of <b>" + selectValue +
-                "</b> available to be selected on the page")) {
+        SelectSnapshot select = getPresentSelect(EXPECTED + element.prettyOutput() + " having a select value of <b>" +
+                selectValue + "</b> available to be selected on the page");
+        if (select == null) {
             return;
         }
         // check for the object to the present on the page
-        String[] elementValues = element.get().selectValues();
+        String[] elementValues = select.values();
         if (!Arrays.asList(elementValues).contains(selectValue)) {
             file.recordActual(element.prettyOutputStart() + HASNTVALUE + selectValue + "</b>" + ONLYVALUE +
                     Arrays.toString(elementValues) + "</b>", Success.FAIL);
@@ -211,13 +261,14 @@ public class Contains extends Assert {
      */
     public void selectOptions(int numOfOptions) {
         // wait for the select
-        if (!isPresentSelect(
+        SelectSnapshot select = getPresentSelect(
                 EXPECTED + element.prettyOutput() + " with number of select values equal to <b>" + numOfOptions +
-                        "</b>")) {
+                        "</b>");
+        if (select == null) {
             return;
         }
         // check for the object to the present on the page
-        int elementValues = element.get().numOfSelectOptions();
+        int elementValues = select.numOfOptions();
         if (elementValues != numOfOptions) {
             file.recordActual(element.prettyOutputStart() + " has <b>" + numOfOptions + "</b>" + " select options",
                     Success.FAIL);
@@ -243,7 +294,8 @@ public class Contains extends Assert {
                         "</b>")) {
             return;
         }
-        int actualNumOfCols = element.get().numOfTableColumns();
+        TableSnapshot table = element.get().tableSnapshot();
+        int actualNumOfCols = (table == null) ? 0 : table.numOfColumns();
         if (actualNumOfCols != numOfColumns) {
             file.recordActual(element.prettyOutputStart() + " does not have the number of columns <b>" + numOfColumns +
                     "</b>. Instead, " + actualNumOfCols + " columns were found", Success.FAIL);
@@ -268,7 +320,8 @@ public class Contains extends Assert {
                         "</b>")) {
             return;
         }
-        int actualNumOfRows = element.get().numOfTableRows();
+        TableSnapshot table = element.get().tableSnapshot();
+        int actualNumOfRows = (table == null) ? 0 : table.numOfRows();
         if (actualNumOfRows != numOfRows) {
             file.recordActual(element.prettyOutputStart() + " does not have the number of rows <b>" + numOfRows +
                     "</b>. Instead, " + actualNumOfRows + " rows were found", Success.FAIL);
@@ -30,7 +30,6 @@ import org.openqa.selenium.support.ui.Select;
 import org.testng.log4testng.Logger;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -838,10 +837,10 @@ public class Element {
             if (!isPresentDisplayedEnabledSelect(action, expected)) {
                 return;
             }
-            String[] options = get.selectOptions();
-            if (index > options.length) {
+            int options = get.numOfSelectOptions();
+            if (index > options) {
                 file.recordAction(action, expected,
-                        "Unable to select the <i>" + index + "</i> option, as there are only <i>" + options.length +
+                        "Unable to select the <i>" + index + "</i> option, as there are only <i>" + options +
                                 "</i> available.", Result.FAILURE);
                 file.addError();
                 return;
@@ -875,10 +874,11 @@ public class Element {
                 return;
             }
             // ensure the option exists
-            if (!Arrays.asList(get.selectOptions()).contains(option)) {
+            SelectSnapshot select = get.selectSnapshot();
+            if (!select.hasOption(option)) {
                 file.recordAction(action, expected, CANTSELECT + option + " in " + prettyOutput() +
                         " as that option isn't present. Available options are:<i><br/>" + "&nbsp;&nbsp;&nbsp;" +
-                        String.join("<br/>&nbsp;&nbsp;&nbsp;", get.selectOptions()) + "</i>", Result.FAILURE);
+                        String.join("<br/>&nbsp;&nbsp;&nbsp;", select.options()) + "</i>", Result.FAILURE);
                 file.addError();
                 return;
             }
@@ -911,10 +911,11 @@ public class Element {
                 return;
             }
             // ensure the value exists
-            if (!Arrays.asList(get.selectValues()).contains(value)) {
+            SelectSnapshot select = get.selectSnapshot();
+            if (!select.hasValue(value)) {
                 file.recordAction(action, expected, CANTSELECT + value + " in " + prettyOutput() +
                         " as that value isn't present. Available values are:<i><br/>" + "&nbsp;&nbsp;&nbsp;" +
-                        String.join("<br/>&nbsp;&nbsp;&nbsp;", get.selectValues()) + "</i>", Result.FAILURE);
+                        String.join("<br/>&nbsp;&nbsp;&nbsp;", select.values()) + "</i>", Result.FAILURE);
                 file.addError();
                 return;
             }
@@ -1037,6 +1038,7 @@ public class Element {
             }
             // select the actual frame
             WebElement webElement = getWebElement();
+            file.addNavigation();
             driver.switchTo().frame(webElement);
         } catch (Exception e) {
             log.warn(e);
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.element;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ElementScripts holds the javascript used to locate and assess elements
+ * directly within the page. This allows many elements to be checked, or an
+ * element to be waited on, with a single call to the browser, instead of
+ * several webdriver calls per element. Elements are located with the same
+ * locator types, and match, as the Element class uses
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class ElementScripts {
+
+    // the element conditions which can be checked within the page
+    public static final String PRESENT = "present";
+    public static final String NOT_PRESENT = "notPresent";
+    public static final String DISPLAYED = "displayed";
+    public static final String NOT_DISPLAYED = "notDisplayed";
+    public static final String ENABLED = "enabled";
+    public static final String NOT_ENABLED = "notEnabled";
+
+    // helper functions to locate an element, and determine its text and visibility
+    private static final String FUNCTIONS = "var all=null;" +
+            "function t(e){" +
+            "return (e.innerText===undefined?e.textContent.replace(/\\s+/g,' '):e.innerText).trim();}" +
+            "function v(e){if(e.type==='hidden'){return false;}var s=window.getComputedStyle(e);" +
+            "if(s.visibility==='hidden'||s.visibility==='collapse'){return false;}" +
+            "for(var p=e;p&&p.nodeType===1;p=p.parentNode){" +
+            "if(window.getComputedStyle(p).display==='none'){return false;}}return true;}" +
+            "function f(y,l){var a=[],i,n;switch(y){" +
+            "case 'XPATH':n=document.evaluate(l,document,null,7,null);" +
+            "for(i=0;i<n.snapshotLength;i++){a.push(n.snapshotItem(i));}return a;" +
+            "case 'ID':if(all===null){all=document.getElementsByTagName('*');}" +
+            "for(i=0;i<all.length;i++){if(all[i].id===l){a.push(all[i]);}}return a;" +
+            "case 'NAME':return document.getElementsByName(l);" +
+            "case 'CLASSNAME':return document.getElementsByClassName(l);" +
+            "case 'CSS':return document.querySelectorAll(l);" +
+            "case 'TAGNAME':return document.getElementsByTagName(l);" +
+            "case 'LINKTEXT':case 'PARTIALLINKTEXT':n=document.getElementsByTagName('a');" +
+            "for(i=0;i<n.length;i++){var x=t(n[i]);" +
+            "if(y==='LINKTEXT'?x===l:x.indexOf(l)>=0){a.push(n[i]);}}return a;" +
+            "default:return a;}}" +
+            "function g(q){var m=f(q[0],q[1]);return m.length>q[2]?m[q[2]]:m[0];}" +
+            "function h(q,c){var e;try{e=g(q);}catch(err){return false;}switch(c){" +
+            "case 'present':return !!e;case 'notPresent':return !e;" +
+            "case 'displayed':return !!e&&v(e);case 'notDisplayed':return !e||!v(e);" +
+            "case 'enabled':return !!e&&!e.disabled;case 'notEnabled':return !e||!!e.disabled;" +
+            "default:return false;}}";
+
+    /**
+     * Locates each element in the provided list of queries, and returns, for
+     * each, either null if it isn't present, or its tag name, visibility,
+     * enabled state, checked state, text and value
+     */
+    public static final String ELEMENT_STATES = FUNCTIONS +
+            "var q=arguments[0],r=[];" +
+            "for(var k=0;k<q.length;k++){try{var e=g(q[k]);if(!e){r.push(null);continue;}var d=v(e);" +
+            "r.push([e.tagName.toLowerCase(),d,!e.disabled,!!(e.checked||e.selected),d?t(e):''," +
+            "e.value===undefined?e.getAttribute('value'):e.value]);}catch(err){r.push(null);}}return r;";
+
+    /**
+     * An asynchronous script, which waits up to the provided number of
+     * milliseconds for the queried element to meet the provided condition. A
+     * mutation observer re-checks the condition whenever the page changes, and
+     * a low frequency timer catches changes which don't alter the page, such
+     * as hover styling. Returns whether the condition was met in time
+     */
+    static final String WAIT_FOR = FUNCTIONS +
+            "var q=arguments[0],c=arguments[1],w=arguments[2],done=arguments[arguments.length-1]," +
+            "o=null,i=null,x=null,fin=false;" +
+            "function ok(){return h(q,c);}" +
+            "function end(r){if(fin){return;}fin=true;if(o){o.disconnect();}" +
+            "clearInterval(i);clearTimeout(x);done(r);}" +
+            "if(ok()){done(true);return;}" +
+            "if(window.MutationObserver){o=new MutationObserver(function(){if(ok()){end(true);}});" +
+            "o.observe(document.documentElement,{childList:true,subtree:true,attributes:true,characterData:true});}" +
+            "i=setInterval(function(){if(ok()){end(true);}},250);" +
+            "x=setTimeout(function(){end(ok());},w);";
+
+    /**
+     * Checks each of the provided element conditions, returning whether or
+     * not each one is currently met. Each condition is the element query,
+     * followed by the condition to check
+     */
+    public static final String ELEMENT_CONDITIONS = FUNCTIONS +
+            "var q=arguments[0],r=[];for(var k=0;k<q.length;k++){r.push(h(q[k][0],q[k][1]));}return r;";
+
+    private ElementScripts() {
+    }
+
+    /**
+     * Builds the query used by these scripts to locate the provided element
+     *
+     * @param element - the element to locate
+     * @return List: the locator type, locator, and match of the element
+     */
+    public static List<Object> query(Element element) {
+        return Arrays.asList(element.getType().toString(), element.getLocator(), element.getMatch());
+    }
+}
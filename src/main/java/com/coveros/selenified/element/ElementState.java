@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.element;
+
+/**
+ * ElementState holds the basic state of an element: whether it is present,
+ * displayed, enabled and checked, along with its text and value, as they were
+ * read from the page in a single javascript call alongside any other
+ * requested elements. As this is a snapshot, it will not reflect any changes
+ * made to the element after it was taken
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class ElementState {
+
+    private static final String INPUT = "input";
+    private static final String TEXTAREA = "textarea";
+    private static final String SELECT = "select";
+
+    private final boolean present;
+    private final String tagName;
+    private final boolean displayed;
+    private final boolean enabled;
+    private final boolean checked;
+    private final String text;
+    private final String value;
+
+    /**
+     * Creates the state of an element which was not present on the page
+     */
+    public ElementState() {
+        this(false, null, false, false, false, null, null);
+    }
+
+    /**
+     * Creates the state of an element which was present on the page
+     *
+     * @param tagName   - the tag name of the element
+     * @param displayed - whether or not the element is displayed
+     * @param enabled   - whether or not the element is enabled
+     * @param checked   - whether or not the element is checked or selected
+     * @param text      - the visible text of the element
+     * @param value     - the value of the element
+     */
+    public ElementState(String tagName, boolean displayed, boolean enabled, boolean checked, String text,
+                        String value) {
+        this(true, tagName, displayed, enabled, checked, text, value);
+    }
+
+    private ElementState(boolean present, String tagName, boolean displayed, boolean enabled, boolean checked,
+                         String text, String value) {
+        this.present = present;
+        this.tagName = tagName;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.checked = checked;
+        this.text = text;
+        this.value = value;
+    }
+
+    /**
+     * Determines whether the element was present on the page
+     *
+     * @return Boolean: whether the element is present or not
+     */
+    public boolean present() {
+        return present;
+    }
+
+    /**
+     * Determines whether the element was an input, textarea, or select
+     *
+     * @return Boolean: whether the element is an input or not
+     */
+    public boolean input() {
+        return INPUT.equalsIgnoreCase(tagName) || TEXTAREA.equalsIgnoreCase(tagName) ||
+                SELECT.equalsIgnoreCase(tagName);
+    }
+
+    /**
+     * Determines whether the element was displayed on the page
+     *
+     * @return Boolean: whether the element is displayed or not
+     */
+    public boolean displayed() {
+        return displayed;
+    }
+
+    /**
+     * Determines whether the element was enabled on the page
+     *
+     * @return Boolean: whether the element is enabled or not
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Determines whether the element was checked or selected on the page
+     *
+     * @return Boolean: whether the element is checked or not
+     */
+    public boolean checked() {
+        return checked;
+    }
+
+    /**
+     * Retrieves the tag name of the element. If the element wasn't present, a
+     * null value will be returned.
+     *
+     * @return String: the tag name of the element
+     */
+    public String tagName() {
+        return tagName;
+    }
+
+    /**
+     * Retrieves the visible text of the element. If the element wasn't
+     * present, a null value will be returned.
+     *
+     * @return String: the text of the element
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Retrieves the value of the element. If the element wasn't present, or
+     * isn't an input, a null value will be returned.
+     *
+     * @return String: the value of the element
+     */
+    public String value() {
+        if (!input()) {
+            return null;
+        }
+        return value;
+    }
+}
@@ -182,6 +182,30 @@ public class Equals extends Assert {
         file.recordActual(element.prettyOutputStart() + VALUE + elementText + "</b>", Success.PASS);
     }
 
+    /**
+     * Verifies that the element's text, from a previously retrieved state,
+     * equals the provided expected text. As the state is a snapshot, obtained
+     * from App's get().elementStates, this doesn't wait for the element. If the
+     * element wasn't present, this will constitute a failure, same as a
+     * mismatch. This information will be logged and recorded, with a screenshot
+     * for traceability and added debugging support.
+     *
+     * @param state        - the previously retrieved state of the element
+     * @param expectedText the expected value of the element
+     */
+    public void text(ElementState state, String expectedText) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + " having text of <b>" + expectedText + "</b>")) {
+            return;
+        }
+        String elementText = state.text();
+        if (!elementText.equals(expectedText)) {
+            file.recordActual(element.prettyOutputStart() + VALUE + elementText + "</b>", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + VALUE + elementText + "</b>", Success.PASS);
+    }
+
     /**
      * Verifies that the element's text in a particular cell equals the provided
      * expected text. If the element isn't present, or a table, this will
@@ -204,7 +228,14 @@ public class Equals extends Assert {
             return;
         }
         // get the table cell text
-        String actualText = element.get().tableCell(row, col).getText();
+        TableSnapshot table = element.get().tableSnapshot();
+        String actualText = (table == null) ? null : table.cell(row, col);
+        if (actualText == null) {
+            file.recordActual("Unable to find cell at row " + row + column + col + within + element.prettyOutput(),
+                    Success.FAIL);
+            file.addError();
+            return;
+        }
         if (!actualText.equals(text)) {
             file.recordActual("Cell at row " + row + column + col + within + element.prettyOutput() +
                     " has the text value of <b>" + actualText + "</b>", Success.FAIL);
@@ -247,6 +278,30 @@ public class Equals extends Assert {
         file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.PASS);
     }
 
+    /**
+     * Verifies that the element's value, from a previously retrieved state,
+     * equals the provided expected value. As the state is a snapshot, obtained
+     * from App's get().elementStates, this doesn't wait for the element. If the
+     * element wasn't present or an input, this will constitute a failure, same
+     * as a mismatch. This information will be logged and recorded, with a
+     * screenshot for traceability and added debugging support.
+     *
+     * @param state         - the previously retrieved state of the element
+     * @param expectedValue the expected input value of the element
+     */
+    public void value(ElementState state, String expectedValue) {
+        String elementValue = getValue(state, expectedValue, " having a value of <b>");
+        if (elementValue == null) {
+            return;
+        }
+        if (!elementValue.equals(expectedValue)) {
+            file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.PASS);
+    }
+
     /**
      * Verifies that the element's selected option equals the provided expected
      * option. If the element isn't present or a select, this will constitute a
@@ -257,13 +312,14 @@ public class Equals extends Assert {
      */
     public void selectedOption(String expectedText) {
         // wait for the select
-        if (!isPresentSelect(
-                EXPECTED + element.prettyOutput() + " having a selected option of <b>" + expectedText + "</b>")) {
+        SelectSnapshot select = getPresentSelect(
+                EXPECTED + element.prettyOutput() + " having a selected option of <b>" + expectedText + "</b>");
+        if (select == null) {
             return;
         }
         // get the selected text
-        String elementText = element.get().selectedOption();
-        if (!elementText.equals(expectedText)) {
+        String elementText = select.selectedOption();
+        if (elementText == null || !elementText.equals(expectedText)) {
             file.recordActual(element.prettyOutputStart() + OPTION + elementText + "</b>", Success.FAIL);
             file.addError();
             return;
@@ -281,13 +337,14 @@ public class Equals extends Assert {
      */
     public void selectedValue(String expectedValue) {
         // wait for the select
-        if (!isPresentSelect(
-                EXPECTED + element.prettyOutput() + " having a selected value of <b>" + expectedValue + "</b>")) {
+        SelectSnapshot select = getPresentSelect(
+                EXPECTED + element.prettyOutput() + " having a selected value of <b>" + expectedValue + "</b>");
+        if (select == null) {
             return;
         }
         // get the selected value
-        String elementValue = element.get().selectedValue();
-        if (!elementValue.equals(expectedValue)) {
+        String elementValue = select.selectedValue();
+        if (elementValue == null || !elementValue.equals(expectedValue)) {
             file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.FAIL);
             file.addError();
             return;
@@ -305,12 +362,13 @@ public class Equals extends Assert {
      */
     public void selectOptions(String... expectedOptions) {
         // wait for the select
-        if (!isPresentSelect(
-                EXPECTED + element.prettyOutput() + " with select options of <b>" + expectedOptions + "</b>")) {
+        SelectSnapshot select = getPresentSelect(
+                EXPECTED + element.prettyOutput() + " with select options of <b>" + expectedOptions + "</b>");
+        if (select == null) {
             return;
         }
         // get the actual select options
-        String[] elementOptions = element.get().selectOptions();
+        String[] elementOptions = select.options();
         if (!Arrays.toString(elementOptions).equals(Arrays.toString(expectedOptions))) {
             file.recordActual(element.prettyOutputStart() + OPTIONS + Arrays.toString(elementOptions) + "</b>",
                     Success.FAIL);
@@ -331,13 +389,14 @@ public class Equals extends Assert {
      */
     public void selectValues(String... expectedValues) {
         // wait for the select
-        if (!isPresentSelect(
+        SelectSnapshot select = getPresentSelect(
                 EXPECTED + element.prettyOutput() + " with select values of <b>" + Arrays.toString(expectedValues) +
-                        "</b>")) {
+                        "</b>");
+        if (select == null) {
             return;
         }
         // get the actual select values
-        String[] elementValues = element.get().selectValues();
+        String[] elementValues = select.values();
         if (!Arrays.toString(elementValues).equals(Arrays.toString(expectedValues))) {
             file.recordActual(element.prettyOutputStart() + VALUES + Arrays.toString(elementValues) + "</b>",
                     Success.FAIL);
@@ -126,6 +126,30 @@ public class Excludes extends Assert {
         file.recordActual(element.prettyOutputStart() + TEXT + elementValue + "</b>", Success.PASS);
     }
 
+    /**
+     * Verifies that the element's text, from a previously retrieved state,
+     * does not contain the provided expected text. As the state is a snapshot, obtained
+     * from App's get().elementStates, this doesn't wait for the element. If the
+     * element wasn't present, this will constitute a failure, same as a
+     * mismatch. This information will be logged and recorded, with a screenshot
+     * for traceability and added debugging support.
+     *
+     * @param state         - the previously retrieved state of the element
+     * @param expectedValue the expected value of the element
+     */
+    public void text(ElementState state, String expectedValue) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + HASNTTEXT + expectedValue + "</b>")) {
+            return;
+        }
+        String elementValue = state.text();
+        if (elementValue.contains(expectedValue)) {
+            file.recordActual(element.prettyOutputStart() + TEXT + elementValue + "</b>", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + TEXT + elementValue + "</b>", Success.PASS);
+    }
+
     /**
      * Verifies that the element's value does not contain the provided expected
      * value. If the element isn't present or an input, this will constitute a
@@ -147,6 +171,30 @@ public class Excludes extends Assert {
         file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.PASS);
     }
 
+    /**
+     * Verifies that the element's value, from a previously retrieved state,
+     * does not contain the provided expected value. As the state is a snapshot, obtained
+     * from App's get().elementStates, this doesn't wait for the element. If the
+     * element wasn't present or an input, this will constitute a failure, same
+     * as a mismatch. This information will be logged and recorded, with a
+     * screenshot for traceability and added debugging support.
+     *
+     * @param state         - the previously retrieved state of the element
+     * @param expectedValue the expected value of the element
+     */
+    public void value(ElementState state, String expectedValue) {
+        String elementValue = getValue(state, expectedValue, HASNTVALUE);
+        if (elementValue == null) {
+            return;
+        }
+        if (elementValue.contains(expectedValue)) {
+            file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + VALUE + elementValue + "</b>", Success.PASS);
+    }
+
     /**
      * Verifies that the element's options do not contain the provided expected
      * option. If the element isn't present or a select, this will constitute a
@@ -157,12 +205,13 @@ public class Excludes extends Assert {
      */
     public void selectOption(String option) {
         // wait for the select
-        if (!isPresentSelect(EXPECTED + element.prettyOutput() + " without the option <b>" + option +
-                "</b> available to be selected on the page")) {
+        SelectSnapshot select = getPresentSelect(EXPECTED + element.prettyOutput() + " without the option <b>" +
+                option + "</b> available to be selected on the page");
+        if (select == null) {
             return;
         }
         // check for the object to the editable
-        String[] allOptions = element.get().selectOptions();
+        String[] allOptions = select.options();
         if (Arrays.asList(allOptions).contains(option)) {
             file.recordActual(
                     element.prettyOutputStart() + " is editable and present and contains the option " + "<b>" + option +
@@ -185,12 +234,13 @@ public class Excludes extends Assert {
      */
     public void selectValue(String selectValue) {
         // wait for the select
-        if (!isPresentSelect(EXPECTED + element.prettyOutput() + " without a select value of <b>" + selectValue +
-                "</b> available to be selected on the page")) {
+        SelectSnapshot select = getPresentSelect(EXPECTED + element.prettyOutput() + " without a select value of <b>" +
+                selectValue + "</b> available to be selected on the page");
+        if (select == null) {
             return;
         }
         // check for the object to the present on the page
-        String[] elementValues = element.get().selectValues();
+        String[] elementValues = select.values();
         if (Arrays.asList(elementValues).contains(selectValue)) {
             file.recordActual(element.prettyOutputStart() + HASVALUE + selectValue + "</b>", Success.FAIL);
             file.addError();
@@ -24,10 +24,10 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.Select;
 import org.testng.log4testng.Logger;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +52,19 @@ public class Get {
 
     // constants
     private static final String VALUE = "value";
+    private static final String CELLS = ".//th|.//td";
+    private static final String SELECT_SNAPSHOT =
+            "var s=arguments[0];if(s.tagName.toLowerCase()!=='select'){return null;}var t=[],v=[],x=[];" +
+                    "for(var i=0;i<s.options.length;i++){var o=s.options[i];t.push(o.text.trim());v.push(o.value);" +
+                    "x.push(o.selected);}return [t,v,x];";
+    private static final String TABLE_SNAPSHOT =
+            "var t=arguments[0],a=arguments[1];if(t.tagName.toLowerCase()!=='table'){return null;}" +
+                    "var r=t.getElementsByTagName('tr'),c=[],d=[];for(var i=0;i<r.length;i++){" +
+                    "var e=r[i].querySelectorAll('th,td'),x=[],y=[];for(var j=0;j<e.length;j++){" +
+                    "x.push(e[j].innerText===undefined?e[j].textContent.replace(/\\s+/g,' ').trim():" +
+                    "e[j].innerText.trim());" +
+                    "var m={};for(var k=0;k<a.length;k++){m[a[k]]=e[j].getAttribute(a[k]);}y.push(m);}" +
+                    "c.push(x);d.push(y);}return [c,d];";
 
     public Get(WebDriver driver, Element element) {
         this.driver = driver;
@@ -73,12 +86,43 @@ public class Get {
     }
 
     /**
-     * Determines if the element is both present and a select.
+     * Retrieves the text, value and selection state of every option in the
+     * element, in a single call to the browser. If the element isn't present
+     * or a select, or the select can't be accessed, a null value will be
+     * returned. This should be preferred over iterating through the select
+     * options, as each of those is a separate call to the browser
      *
-     * @return Boolean: is the element present AND an input
+     * @return SelectSnapshot: all of the options from the select element
      */
-    private boolean isPresentSelect() {
-        return element.is().present() && element.is().select();
+    @SuppressWarnings("unchecked")
+    public SelectSnapshot selectSnapshot() {
+        if (!element.is().present()) {
+            return null;
+        }
+        try {
+            WebElement webElement = element.getWebElement();
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            List<Object> snapshot = (List<Object>) js.executeScript(SELECT_SNAPSHOT, webElement);
+            if (snapshot == null) {
+                return null;
+            }
+            List<String> options = new ArrayList<>();
+            for (Object option : (List<Object>) snapshot.get(0)) {
+                options.add(String.valueOf(option));
+            }
+            List<String> values = new ArrayList<>();
+            for (Object value : (List<Object>) snapshot.get(1)) {
+                values.add(String.valueOf(value));
+            }
+            List<Boolean> selected = new ArrayList<>();
+            for (Object isSelected : (List<Object>) snapshot.get(2)) {
+                selected.add(Boolean.TRUE.equals(isSelected));
+            }
+            return new SelectSnapshot(options, values, selected);
+        } catch (NoSuchMethodError | Exception e) {
+            log.warn(e);
+            return null;
+        }
     }
 
     /**
@@ -88,13 +132,11 @@ public class Get {
      * @return String: the option from the select element
      */
     public String selectedOption() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return null;
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        WebElement option = dropdown.getFirstSelectedOption();
-        return option.getText();
+        return select.selectedOption();
     }
 
     /**
@@ -104,18 +146,12 @@ public class Get {
      * @return String[]: the options from the select element
      */
     public String[] selectedOptions() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return null; // NOSONAR - returning an empty array could be confused
             // with no options selected
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        List<WebElement> options = dropdown.getAllSelectedOptions();
-        String[] stringOptions = new String[options.size()];
-        for (int i = 0; i < options.size(); i++) {
-            stringOptions[i] = options.get(i).getText();
-        }
-        return stringOptions;
+        return select.selectedOptions();
     }
 
     /**
@@ -125,13 +161,11 @@ public class Get {
      * @return String: the options from the select element
      */
     public String selectedValue() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return null;
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        WebElement option = dropdown.getFirstSelectedOption();
-        return option.getAttribute(VALUE);
+        return select.selectedValue();
     }
 
     /**
@@ -141,18 +175,12 @@ public class Get {
      * @return String[]: the options from the select element
      */
     public String[] selectedValues() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return null;// NOSONAR - returning an empty array could be confused
             // with no values selected
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        List<WebElement> options = dropdown.getAllSelectedOptions();
-        String[] stringOptions = new String[options.size()];
-        for (int i = 0; i < options.size(); i++) {
-            stringOptions[i] = options.get(i).getAttribute(VALUE);
-        }
-        return stringOptions;
+        return select.selectedValues();
     }
 
     /**
@@ -278,13 +306,11 @@ public class Get {
      * element
      */
     public int numOfSelectOptions() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return 0;
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        List<WebElement> options = dropdown.getOptions();
-        return options.size();
+        return select.numOfOptions();
     }
 
     /**
@@ -294,18 +320,12 @@ public class Get {
      * @return String[]: the options from the select element
      */
     public String[] selectOptions() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return null; // NOSONAR - returning an empty array could be confused
             // with no options available
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        List<WebElement> options = dropdown.getOptions();
-        String[] stringOptions = new String[options.size()];
-        for (int i = 0; i < options.size(); i++) {
-            stringOptions[i] = options.get(i).getText();
-        }
-        return stringOptions;
+        return select.options();
     }
 
     /**
@@ -315,18 +335,12 @@ public class Get {
      * @return String[]: the options from the select element
      */
     public String[] selectValues() {
-        if (!isPresentSelect()) {
+        SelectSnapshot select = selectSnapshot();
+        if (select == null) {
             return null; // NOSONAR - returning an empty array could be confused
             // with no options available
         }
-        WebElement webElement = element.getWebElement();
-        Select dropdown = new Select(webElement);
-        List<WebElement> options = dropdown.getOptions();
-        String[] stringOptions = new String[options.size()];
-        for (int i = 0; i < options.size(); i++) {
-            stringOptions[i] = options.get(i).getAttribute(VALUE);
-        }
-        return stringOptions;
+        return select.values();
     }
 
     /**
@@ -370,11 +384,11 @@ public class Get {
      * @return Integer: the number of columns the table has
      */
     public int numOfTableColumns() {
-        List<List<WebElement>> columns = tableColumns();
-        if (columns == null) {
+        TableSnapshot table = tableSnapshot();
+        if (table == null) {
             return 0;
         }
-        return columns.size();
+        return table.numOfColumns();
     }
 
     /**
@@ -393,13 +407,21 @@ public class Get {
             // with no columns
         }
         List<WebElement> rows = tableRows();
-        List<WebElement> row = tableRow(1);
+        // retrieve the cells of each row only once, instead of once per column
+        List<List<WebElement>> cells = new ArrayList<>();
+        for (WebElement row : rows) {
+            cells.add(row.findElements(By.xpath(CELLS)));
+        }
         List<List<WebElement>> columns = new ArrayList<>();
-        for (int i = 0; i < row.size(); i++) {
+        if (cells.size() < 2) {
+            return columns;
+        }
+        for (int i = 0; i < cells.get(1).size(); i++) {
             List<WebElement> column = new ArrayList<>();
-            for (int j = 0; j < rows.size(); j++) {
-                List<WebElement> cells = tableRow(j);
-                column.add(cells.get(i));
+            for (List<WebElement> row : cells) {
+                if (row.size() > i) {
+                    column.add(row.get(i));
+                }
             }
             columns.add(column);
         }
@@ -425,7 +447,7 @@ public class Get {
             return new ArrayList<>();
         }
         WebElement thisRow = rows.get(rowNum);
-        List<WebElement> cells = thisRow.findElements(By.xpath(".//th|.//td"));
+        List<WebElement> cells = thisRow.findElements(By.xpath(CELLS));
         List<WebElement> row = new ArrayList<>();
         row.addAll(cells);
         return row;
@@ -472,6 +494,70 @@ public class Get {
         return row.get(colNum);
     }
 
+    /**
+     * Retrieves the text of every cell in the element, in a single call to the
+     * browser. If the element isn't present or a table, a null value will be
+     * returned. This should be preferred over iterating through the table rows
+     * and cells, as each of those is a separate call to the browser
+     *
+     * @return TableSnapshot: the text of all of the table cells
+     */
+    public TableSnapshot tableSnapshot() {
+        return tableSnapshot(new String[0]);
+    }
+
+    /**
+     * Retrieves the text, and the provided attributes, of every cell in the
+     * element, in a single call to the browser. If the element isn't present or
+     * a table, or the table can't be accessed, a null value will be returned.
+     *
+     * @param attributes - the attributes of each cell to be returned
+     * @return TableSnapshot: the text, and the requested attributes, of all of
+     * the table cells
+     */
+    @SuppressWarnings("unchecked")
+    public TableSnapshot tableSnapshot(String... attributes) {
+        if (!element.is().present()) {
+            return null;
+        }
+        try {
+            WebElement webElement = element.getWebElement();
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            List<Object> snapshot =
+                    (List<Object>) js.executeScript(TABLE_SNAPSHOT, webElement, Arrays.asList(attributes));
+            if (snapshot == null) {
+                return null;
+            }
+            List<List<String>> cells = new ArrayList<>();
+            for (Object row : (List<Object>) snapshot.get(0)) {
+                List<String> rowCells = new ArrayList<>();
+                for (Object cell : (List<Object>) row) {
+                    rowCells.add(String.valueOf(cell));
+                }
+                cells.add(rowCells);
+            }
+            List<List<Map<String, String>>> cellAttributes = null;
+            if (attributes.length > 0) {
+                cellAttributes = new ArrayList<>();
+                for (Object row : (List<Object>) snapshot.get(1)) {
+                    List<Map<String, String>> rowAttributes = new ArrayList<>();
+                    for (Object cell : (List<Object>) row) {
+                        Map<String, String> values = new HashMap<>();
+                        for (Map.Entry<String, Object> entry : ((Map<String, Object>) cell).entrySet()) {
+                            values.put(entry.getKey(), entry.getValue() == null ? null : entry.getValue().toString());
+                        }
+                        rowAttributes.add(values);
+                    }
+                    cellAttributes.add(rowAttributes);
+                }
+            }
+            return new TableSnapshot(cells, cellAttributes);
+        } catch (NoSuchMethodError | Exception e) {
+            log.warn(e);
+            return null;
+        }
+    }
+
     /**
      * Retrieves the xpath associated with the particular element. If the
      * element doesn't exist, a null value will be returned
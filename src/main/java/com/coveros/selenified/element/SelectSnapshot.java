@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.element;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SelectSnapshot holds all of the options of a select element, as they were
+ * read from the page in a single javascript call. For each option, the text,
+ * the value, and whether or not it is selected is retained. As this is a
+ * snapshot, it will not reflect any changes made to the select after it was
+ * taken
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class SelectSnapshot {
+
+    private final List<String> options;
+    private final List<String> values;
+    private final List<Boolean> selected;
+
+    /**
+     * Creates a new snapshot of the select, based on the option texts, values,
+     * and selection flags that were retrieved. Each list should be in the same
+     * order as the options in the select
+     *
+     * @param options  - the text of each option
+     * @param values   - the value of each option
+     * @param selected - whether or not each option is selected
+     */
+    public SelectSnapshot(List<String> options, List<String> values, List<Boolean> selected) {
+        this.options = options;
+        this.values = values;
+        this.selected = selected;
+    }
+
+    /**
+     * Retrieves the number of options in the select
+     *
+     * @return Integer: how many select options are available
+     */
+    public int numOfOptions() {
+        return options.size();
+    }
+
+    /**
+     * Retrieves the text of all options in the select
+     *
+     * @return String[]: the options from the select element
+     */
+    public String[] options() {
+        return options.toArray(new String[options.size()]);
+    }
+
+    /**
+     * Retrieves the values of all options in the select
+     *
+     * @return String[]: the values from the select element
+     */
+    public String[] values() {
+        return values.toArray(new String[values.size()]);
+    }
+
+    /**
+     * Retrieves the text of all selected options in the select
+     *
+     * @return String[]: the selected options from the select element
+     */
+    public String[] selectedOptions() {
+        List<String> selectedOptions = getSelected(options);
+        return selectedOptions.toArray(new String[selectedOptions.size()]);
+    }
+
+    /**
+     * Retrieves the values of all selected options in the select
+     *
+     * @return String[]: the selected values from the select element
+     */
+    public String[] selectedValues() {
+        List<String> selectedValues = getSelected(values);
+        return selectedValues.toArray(new String[selectedValues.size()]);
+    }
+
+    /**
+     * Retrieves the text of the first selected option in the select. If
+     * nothing is selected, a null value will be returned
+     *
+     * @return String: the selected option from the select element
+     */
+    public String selectedOption() {
+        List<String> selectedOptions = getSelected(options);
+        return selectedOptions.isEmpty() ? null : selectedOptions.get(0);
+    }
+
+    /**
+     * Retrieves the value of the first selected option in the select. If
+     * nothing is selected, a null value will be returned
+     *
+     * @return String: the selected value from the select element
+     */
+    public String selectedValue() {
+        List<String> selectedValues = getSelected(values);
+        return selectedValues.isEmpty() ? null : selectedValues.get(0);
+    }
+
+    /**
+     * Determines if the select has an option with the provided text
+     *
+     * @param option - the option text to look for
+     * @return Boolean: is the option available in the select
+     */
+    public boolean hasOption(String option) {
+        return options.contains(option);
+    }
+
+    /**
+     * Determines if the select has an option with the provided value
+     *
+     * @param value - the option value to look for
+     * @return Boolean: is the value available in the select
+     */
+    public boolean hasValue(String value) {
+        return values.contains(value);
+    }
+
+    /**
+     * Determines if anything in the select is selected
+     *
+     * @return Boolean: is at least one option selected
+     */
+    public boolean somethingSelected() {
+        return selected.contains(true);
+    }
+
+    /**
+     * Filters the provided option attributes down to only the ones which are
+     * selected
+     *
+     * @param attributes - the texts or values of all of the options
+     * @return List: the texts or values of only the selected options
+     */
+    private List<String> getSelected(List<String> attributes) {
+        List<String> selectedAttributes = new ArrayList<>();
+        for (int i = 0; i < attributes.size() && i < selected.size(); i++) {
+            if (selected.get(i)) {
+                selectedAttributes.add(attributes.get(i));
+            }
+        }
+        return selectedAttributes;
+    }
+}
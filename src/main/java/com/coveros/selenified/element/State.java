@@ -71,6 +71,22 @@ public class State extends Assert {
         file.recordActual(element.prettyOutputStart() + PRESENT, Success.PASS);
     }
 
+    /**
+     * Verifies that the element is present, based on a previously retrieved
+     * state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. This information
+     * will be logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void present(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + PRESENT)) {
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + PRESENT, Success.PASS);
+    }
+
     /**
      * Verifies that the element is not present. If the element is present, it
      * waits up to the default time (5 seconds) for the element to be removed,
@@ -91,6 +107,25 @@ public class State extends Assert {
         file.recordActual(element.prettyOutputStart() + NOTPRESENT, Success.PASS);
     }
 
+    /**
+     * Verifies that the element is not present, based on a previously retrieved
+     * state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. This information
+     * will be logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void notPresent(ElementState state) {
+        file.recordExpected(EXPECTED + element.prettyOutput() + NOTPRESENT);
+        if (state != null && state.present()) {
+            file.recordActual(element.prettyOutputStart() + PRESENT, Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + NOTPRESENT, Success.PASS);
+    }
+
     /**
      * Verifies that the element is displayed. If the element isn't present, it
      * waits up to the default time (5 seconds) for the element, before marking
@@ -113,6 +148,28 @@ public class State extends Assert {
         file.recordActual(element.prettyOutputStart() + DISPLAYED, Success.PASS);
     }
 
+    /**
+     * Verifies that the element is displayed, based on a previously retrieved
+     * state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. If the element
+     * wasn't present, this will constitute a failure. This information will be
+     * logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void displayed(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + DISPLAYED)) {
+            return;
+        }
+        if (!state.displayed()) {
+            file.recordActual(element.prettyOutputStart() + NOTDISPLAYED, Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + DISPLAYED, Success.PASS);
+    }
+
     /**
      * Verifies that the element is not displayed. If the element isn't present,
      * it waits up to the default time (5 seconds) for the element, before
@@ -136,6 +193,28 @@ public class State extends Assert {
         file.recordActual(element.prettyOutputStart() + NOTDISPLAYED, Success.PASS);
     }
 
+    /**
+     * Verifies that the element is not displayed, based on a previously
+     * retrieved state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. If the element
+     * wasn't present, this will constitute a failure. This information will be
+     * logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void notDisplayed(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + NOTDISPLAYED)) {
+            return;
+        }
+        if (state.displayed()) {
+            file.recordActual(element.prettyOutputStart() + DISPLAYED, Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + NOTDISPLAYED, Success.PASS);
+    }
+
     /**
      * Verifies that the element is editable. If the element isn't an input,
      * this will constitute a failure, same as it not being editable. This
@@ -201,6 +280,28 @@ public class State extends Assert {
         file.recordActual(element.prettyOutputStart() + CHECKED, Success.PASS);
     }
 
+    /**
+     * Verifies that the element is checked, based on a previously retrieved
+     * state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. If the element
+     * wasn't present, this will constitute a failure. This information will be
+     * logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void checked(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + CHECKED)) {
+            return;
+        }
+        if (!state.checked()) {
+            file.recordActual(element.prettyOutputStart() + NOTCHECKED, Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + CHECKED, Success.PASS);
+    }
+
     /**
      * Verifies that the element is not checked. If the element isn't present,
      * it waits up to the default time (5 seconds) for the element, before
@@ -224,6 +325,28 @@ public class State extends Assert {
         file.recordActual(element.prettyOutputStart() + NOTCHECKED, Success.PASS);
     }
 
+    /**
+     * Verifies that the element is not checked, based on a previously retrieved
+     * state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. If the element
+     * wasn't present, this will constitute a failure. This information will be
+     * logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void notChecked(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + NOTCHECKED)) {
+            return;
+        }
+        if (state.checked()) {
+            file.recordActual(element.prettyOutputStart() + CHECKED, Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + NOTCHECKED, Success.PASS);
+    }
+
     /**
      * Verifies that the element is displayed and checked. If the element isn't
      * present, it waits up to the default time (5 seconds) for the element,
@@ -300,6 +423,28 @@ public class State extends Assert {
         editable("present");
     }
 
+    /**
+     * Verifies that the element is editable, based on a previously retrieved
+     * state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. If the element
+     * wasn't present, this will constitute a failure. This information will be
+     * logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void editable(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + " editable on the page")) {
+            return;
+        }
+        if (!state.input() || !state.enabled()) {
+            file.recordActual(element.prettyOutputStart() + " is present but not editable on the page", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + " is present and editable on the page", Success.PASS);
+    }
+
     /**
      * Verifies that the element is not editable. If the element isn't present,
      * it waits up to the default time (5 seconds) for the element, before
@@ -318,6 +463,28 @@ public class State extends Assert {
         notEditable("present");
     }
 
+    /**
+     * Verifies that the element is not editable, based on a previously
+     * retrieved state. As the state is a snapshot, obtained from App's
+     * get().elementStates, this doesn't wait for the element. If the element
+     * wasn't present, this will constitute a failure. This information will be
+     * logged and recorded, with a screenshot for traceability and added
+     * debugging support.
+     *
+     * @param state - the previously retrieved state of the element
+     */
+    public void notEditable(ElementState state) {
+        if (!isPresent(state, EXPECTED + element.prettyOutput() + " not editable on the page")) {
+            return;
+        }
+        if (state.input() && state.enabled()) {
+            file.recordActual(element.prettyOutputStart() + " is present but editable on the page", Success.FAIL);
+            file.addError();
+            return;
+        }
+        file.recordActual(element.prettyOutputStart() + " is present and not editable on the page", Success.PASS);
+    }
+
     /**
      * Verifies that the element is displayed and editable. If the element isn't
      * present, it waits up to the default time (5 seconds) for the element,
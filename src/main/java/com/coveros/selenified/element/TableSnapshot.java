@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.element;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TableSnapshot holds the contents of a table element, as it was read from the
+ * page in a single javascript call. Each row is a list of the cell texts, and
+ * optionally, each cell also carries the values of any requested attributes.
+ * As this is a snapshot, it will not reflect any changes made to the table
+ * after it was taken
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class TableSnapshot {
+
+    private final List<List<String>> cells;
+    private final List<List<Map<String, String>>> attributes;
+
+    /**
+     * Creates a new snapshot of the table, based on the cell texts, and any
+     * cell attributes, that were retrieved
+     *
+     * @param cells      - the text of each cell, row by row
+     * @param attributes - the requested attributes of each cell, row by row. This can be
+     *                   null if no attributes were requested
+     */
+    public TableSnapshot(List<List<String>> cells, List<List<Map<String, String>>> attributes) {
+        this.cells = cells;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Retrieves the number of rows in the table
+     *
+     * @return Integer: the number of rows the table has
+     */
+    public int numOfRows() {
+        return cells.size();
+    }
+
+    /**
+     * Retrieves the number of columns in the table. Similar to the
+     * Get.numOfTableColumns method, this is determined from the first row
+     * following the header, or the header itself if that is the only row
+     *
+     * @return Integer: the number of columns the table has
+     */
+    public int numOfColumns() {
+        if (cells.isEmpty()) {
+            return 0;
+        }
+        if (cells.size() == 1) {
+            return cells.get(0).size();
+        }
+        return cells.get(1).size();
+    }
+
+    /**
+     * Retrieves the text of all cells in the table, row by row
+     *
+     * @return List: a list of rows, each a list of the cell texts
+     */
+    public List<List<String>> rows() {
+        return Collections.unmodifiableList(cells);
+    }
+
+    /**
+     * Retrieves the text of the cells in a specific row. If the specified row
+     * is out of range, an empty list is returned
+     *
+     * @param rowNum - the row number of the table to obtain - note, row numbering
+     *               starts at 0, which is typically the header
+     * @return List: a list of the table cell texts in the row
+     */
+    public List<String> row(int rowNum) {
+        if (rowNum < 0 || cells.size() <= rowNum) {
+            return new ArrayList<>();
+        }
+        return Collections.unmodifiableList(cells.get(rowNum));
+    }
+
+    /**
+     * Retrieves the text of the cells in a specific column. If the specified
+     * column is out of range, an empty list is returned. Rows which don't have
+     * enough cells are skipped
+     *
+     * @param colNum - the column number of the table to obtain - note, column
+     *               numbering starts at 0
+     * @return List: a list of the table cell texts in the column
+     */
+    public List<String> column(int colNum) {
+        List<String> column = new ArrayList<>();
+        if (colNum < 0 || numOfColumns() <= colNum) {
+            return column;
+        }
+        for (List<String> row : cells) {
+            if (row.size() > colNum) {
+                column.add(row.get(colNum));
+            }
+        }
+        return column;
+    }
+
+    /**
+     * Retrieves the text of a specific cell. If the row and cell combination
+     * doesn't exist, a null value will be returned.
+     *
+     * @param rowNum - the number of the row in the table - note, row numbering
+     *               starts at 0, which is typically the header
+     * @param colNum - the number of the column in the table - note, column
+     *               numbering starts at 0
+     * @return String: the text of the cell
+     */
+    public String cell(int rowNum, int colNum) {
+        List<String> row = row(rowNum);
+        if (colNum < 0 || row.size() <= colNum) {
+            return null;
+        }
+        return row.get(colNum);
+    }
+
+    /**
+     * Retrieves the value of an attribute of a specific cell. If the row and
+     * cell combination doesn't exist, or the attribute wasn't requested when
+     * the snapshot was taken, a null value will be returned.
+     *
+     * @param rowNum    - the number of the row in the table - note, row numbering
+     *                  starts at 0, which is typically the header
+     * @param colNum    - the number of the column in the table - note, column
+     *                  numbering starts at 0
+     * @param attribute - the attribute to be returned
+     * @return String: the value of the attribute
+     */
+    public String cellAttribute(int rowNum, int colNum, String attribute) {
+        Map<String, String> cellAttributes = cellAttributes(rowNum, colNum);
+        return cellAttributes.get(attribute);
+    }
+
+    /**
+     * Retrieves all of the requested attributes of a specific cell. If the row
+     * and cell combination doesn't exist, or no attributes were requested when
+     * the snapshot was taken, an empty map will be returned.
+     *
+     * @param rowNum - the number of the row in the table - note, row numbering
+     *               starts at 0, which is typically the header
+     * @param colNum - the number of the column in the table - note, column
+     *               numbering starts at 0
+     * @return Map: the requested attributes, and their values
+     */
+    public Map<String, String> cellAttributes(int rowNum, int colNum) {
+        if (attributes == null || rowNum < 0 || attributes.size() <= rowNum || colNum < 0 ||
+                attributes.get(rowNum).size() <= colNum) {
+            return new HashMap<>();
+        }
+        return Collections.unmodifiableMap(attributes.get(rowNum).get(colNum));
+    }
+}
@@ -22,16 +22,30 @@ package com.coveros.selenified.element;
 
 import com.coveros.selenified.OutputFile;
 import com.coveros.selenified.OutputFile.Result;
+import com.coveros.selenified.utilities.Poller;
+import com.coveros.selenified.utilities.WaitHistory;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.testng.log4testng.Logger;
 
+import java.util.function.BooleanSupplier;
+
 /**
  * WaitFor performs dynamic waits on a particular element, until a particular
  * condition is met. Nothing is ever returned. The default wait is 5 seconds,
  * but can be overridden. If the condition is not met in the allotted time,
- * still nothing is returned, but an error is logged
+ * still nothing is returned, but an error is logged. Where the browser
+ * supports it, the wait is performed within the page itself, in a single
+ * asynchronous script call, instead of repeatedly polling the browser. If a
+ * wait history is being kept (see WaitHistory), waits without a specified
+ * time use a timeout learned from how long they took in previous runs. All
+ * waits count against the test's wait budget, if it has one (see
+ * OutputFile.setWaitBudget), and stop waiting once it is used up. If the test
+ * fails fast (see OutputFile.setFailFast), once the element couldn't be found,
+ * it isn't waited for again until the page changes
  *
  * @author Max Saperstone
  * @version 3.0.0
@@ -58,6 +72,10 @@ public class WaitFor {
     private static final String ENABLED = " to be enabled";
 
     private double defaultWait = 5.0;
+    // once the default wait is changed, it is always used instead of any wait history
+    private boolean customWait = false;
+    // the page the element couldn't be found on, if failing fast
+    private String missingOn = null;
 
     public WaitFor(Element element, OutputFile file) {
         this.element = element;
@@ -72,6 +90,100 @@ public class WaitFor {
      */
     public void changeDefaultWait(double seconds) {
         defaultWait = seconds;
+        customWait = true;
+    }
+
+    /**
+     * Determines how long to wait for a condition when no time is specified.
+     * If a wait history is being kept, and the default wait hasn't been
+     * changed, the time is based on how long this wait has previously taken,
+     * otherwise the default wait is used
+     *
+     * @param condition - the condition being waited for
+     * @return Double: the number of seconds to wait
+     */
+    private double getDefaultWait(String condition) {
+        WaitHistory history = WaitHistory.getHistory();
+        if (customWait || history == null || file == null) {
+            return defaultWait;
+        }
+        return history.timeout(getHistoryKey(condition), defaultWait);
+    }
+
+    /**
+     * Records how long a successful wait took, if a wait history is being kept
+     *
+     * @param condition - the condition which was waited for
+     * @param seconds   - how long the wait took
+     */
+    private void recordWait(String condition, double seconds) {
+        WaitHistory history = WaitHistory.getHistory();
+        if (history != null && file != null) {
+            history.record(getHistoryKey(condition), seconds);
+        }
+    }
+
+    /**
+     * Records a wait which timed out, if a wait history is being kept, so the
+     * wait is given longer next time. A wait cut short by the test's wait
+     * budget, or skipped as the element is already known to be missing, never
+     * got its full time, so isn't recorded
+     *
+     * @param condition - the condition which was waited for
+     * @param seconds   - how long the wait was given
+     */
+    private void recordTimeout(String condition, double seconds) {
+        WaitHistory history = WaitHistory.getHistory();
+        if (history == null || file == null || file.isWaitBudgetExhausted() ||
+                (missingOn != null && file.isFailFast())) {
+            return;
+        }
+        history.recordTimeout(getHistoryKey(condition), seconds);
+    }
+
+    /**
+     * Identifies the page the test is currently on, from the number of
+     * navigations performed, and the current url. If the url can't be
+     * determined, null is returned
+     *
+     * @return String: the current page
+     */
+    private String getPageState() {
+        try {
+            return file.getNavigations() + ":" + element.getDriver().getCurrentUrl();
+        } catch (Exception e) {
+            log.info(e);
+            return null;
+        }
+    }
+
+    /**
+     * Determines if the element already couldn't be found on the current
+     * page, and so shouldn't be waited for again. This is only ever true if
+     * the test is failing fast, and the element still isn't present
+     *
+     * @return Boolean: whether the element is known to be missing
+     */
+    private boolean isKnownMissing() {
+        if (missingOn == null || file == null || !file.isFailFast()) {
+            return false;
+        }
+        if (!missingOn.equals(getPageState()) || element.is().present()) {
+            missingOn = null;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Builds the key this element's wait is kept in the wait history under
+     *
+     * @param condition - the condition being waited for
+     * @return String: the key of the wait
+     */
+    private String getHistoryKey(String condition) {
+        return WaitHistory.key(file.getTestName(),
+                element.getType() + "=" + element.getLocator() + "[" + element.getMatch() + "]", condition);
     }
 
     // ///////////////////////////////////////
@@ -82,21 +194,21 @@ public class WaitFor {
      * Wait up to the default time (5 seconds) for the element to be present
      */
     public void present() {
-        present(defaultWait);
+        present(getDefaultWait(ElementScripts.PRESENT));
     }
 
     /**
      * Wait up to the default time (5 seconds) for the element to not be present
      */
     public void notPresent() {
-        notPresent(defaultWait);
+        notPresent(getDefaultWait(ElementScripts.NOT_PRESENT));
     }
 
     /**
      * Wait up to the default time (5 seconds) for the element to be displayed
      */
     public void displayed() {
-        displayed(defaultWait);
+        displayed(getDefaultWait(ElementScripts.DISPLAYED));
     }
 
     /**
@@ -104,27 +216,85 @@ public class WaitFor {
      * displayed
      */
     public void notDisplayed() {
-        notDisplayed(defaultWait);
+        notDisplayed(getDefaultWait(ElementScripts.NOT_DISPLAYED));
     }
 
     /**
      * Wait up to the default time (5 seconds) for the element to be enabled
      */
     public void enabled() {
-        enabled(defaultWait);
+        enabled(getDefaultWait(ElementScripts.ENABLED));
     }
 
     /**
      * Wait up to the default time (5 seconds) for the element to not be enabled
      */
     public void notEnabled() {
-        notEnabled(defaultWait);
+        notEnabled(getDefaultWait(ElementScripts.NOT_ENABLED));
     }
 
     ///////////////////////////////////////////////////
     // Our actual full implementation of the above overloaded methods
     ///////////////////////////////////////////////////
 
+    /**
+     * Waits within the page itself, up to a specified time, for the element to
+     * meet the provided condition. This is a single asynchronous script call,
+     * which resolves as soon as the page changes to meet the condition, so the
+     * browser isn't continually polled. The script bounds the wait itself,
+     * and the driver's script timeout is left as it is. If the browser doesn't
+     * support asynchronous scripts, or the script fails, for example because
+     * the page navigated away, or the script timeout is shorter than the wait,
+     * null is returned, and the caller should fall back to polling
+     *
+     * @param condition - the condition to wait for
+     * @param seconds   - the number of seconds to wait
+     * @return Boolean: whether the condition was met in time, or null if the
+     * wait couldn't be performed within the page
+     */
+    private Boolean waitInPage(String condition, double seconds) {
+        long start = System.nanoTime();
+        long millis = (long) (Math.min(seconds, file.getRemainingWaitBudget()) * 1000);
+        try {
+            WebDriver driver = element.getDriver();
+            Object met = ((JavascriptExecutor) driver)
+                    .executeAsyncScript(ElementScripts.WAIT_FOR, ElementScripts.query(element), condition, millis);
+            return Boolean.TRUE.equals(met);
+        } catch (Exception e) {
+            log.info(e);
+            return null; // NOSONAR - null indicates the in page wait is unavailable
+        } finally {
+            file.addWaitTime(Poller.secondsSince(start));
+        }
+    }
+
+    /**
+     * Determines how much of a wait is left
+     *
+     * @param start   - when the wait started, from System.nanoTime
+     * @param seconds - the number of seconds to wait in total
+     * @return Double: the number of seconds left to wait, never below 0
+     */
+    private static double remaining(long start, double seconds) {
+        return Math.max(0, seconds - Poller.secondsSince(start));
+    }
+
+    /**
+     * Polls up to a specified time for the provided condition to be met. The
+     * time spent is counted against the test's wait budget, and the wait is
+     * cut short if the budget runs out
+     *
+     * @param seconds   - the number of seconds to wait
+     * @param condition - the condition to wait for
+     * @return Boolean: whether the condition was met in time
+     */
+    private boolean poll(double seconds, BooleanSupplier condition) {
+        Poller poller = new Poller();
+        boolean met = poller.until(Math.min(seconds, file.getRemainingWaitBudget()), condition);
+        file.addWaitTime(poller.getSecondsTaken());
+        return met;
+    }
+
     /**
      * Wait up to a specified time for the element to be present
      *
@@ -133,27 +303,41 @@ public class WaitFor {
     public void present(double seconds) {
         String action = UPTO + seconds + SECONDS_FOR + element.prettyOutput() + PRESENT;
         String expected = element.prettyOutputStart() + " is present";
+        if (isKnownMissing()) {
+            file.recordAction(action, expected, element.prettyOutputStart() +
+                    " was already not found on this page, so it was not waited for again", Result.FAILURE);
+            file.addError();
+            return;
+        }
         // wait for up to XX seconds for the error message
-        double end = System.currentTimeMillis() + (seconds * 1000);
-        while (System.currentTimeMillis() < end) {
-            try { // If results have been returned, the results are displayed in
-                // a drop down.
-                element.getWebElement().getText();
-                break;
-            } catch (NoSuchElementException | StaleElementReferenceException e) {
-                log.info(e);
-            }
+        long start = System.nanoTime();
+        if (waitInPage(ElementScripts.PRESENT, remaining(start, seconds)) == null) {
+            poll(remaining(start, seconds), () -> {
+                try { // If results have been returned, the results are displayed in
+                    // a drop down.
+                    element.getWebElement().getText();
+                    return true;
+                } catch (NoSuchElementException | StaleElementReferenceException e) {
+                    log.info(e);
+                    return false;
+                }
+            });
         }
-        double timetook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000);
-        timetook = timetook / 1000;
+        double timetook = Poller.secondsSince(start);
         if (!element.is().present()) {
             file.recordAction(action, expected,
-                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is not present", Result.FAILURE);
+                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is not present" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
+            recordTimeout(ElementScripts.PRESENT, seconds);
+            if (file.isFailFast()) {
+                missingOn = getPageState();
+            }
             return;
         }
         file.recordAction(action, expected, WAITED + timetook + SECONDS_FOR + element.prettyOutput() + PRESENT,
                 Result.SUCCESS);
+        recordWait(ElementScripts.PRESENT, timetook);
     }
 
     /**
@@ -165,22 +349,22 @@ public class WaitFor {
         String action = UPTO + seconds + SECONDS_FOR + element.prettyOutput() + " to not be present";
         String expected = element.prettyOutputStart() + " is not present";
         // wait for up to XX seconds for the error message
-        double end = System.currentTimeMillis() + (seconds * 1000);
-        while (System.currentTimeMillis() < end) {
-            if (!element.is().present()) {
-                break;
-            }
+        long start = System.nanoTime();
+        if (waitInPage(ElementScripts.NOT_PRESENT, remaining(start, seconds)) == null) {
+            poll(remaining(start, seconds), () -> !element.is().present());
         }
-        double timetook = Math.min((seconds * 1000) - (end - System.currentTimeMillis()), seconds * 1000);
-        timetook = timetook / 1000;
+        double timetook = Poller.secondsSince(start);
         if (element.is().present()) {
             file.recordAction(action, expected,
-                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is still present", Result.FAILURE);
+                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is still present" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
+            recordTimeout(ElementScripts.NOT_PRESENT, seconds);
             return;
         }
         file.recordAction(action, expected,
                 WAITED + timetook + SECONDS_FOR + element.prettyOutput() + " to not be present", Result.SUCCESS);
+        recordWait(ElementScripts.NOT_PRESENT, timetook);
     }
 
     /**
@@ -191,7 +375,7 @@ public class WaitFor {
     public void displayed(double seconds) {
         String action = UPTO + seconds + SECONDS_FOR + element.prettyOutput() + DISPLAYED;
         String expected = element.prettyOutputStart() + " is displayed";
-        double start = System.currentTimeMillis();
+        long start = System.nanoTime();
         if (!element.is().present()) {
             present(seconds);
             if (!element.is().present()) {
@@ -200,23 +384,25 @@ public class WaitFor {
         }
         WebElement webElement = element.getWebElement();
         if (!webElement.isDisplayed()) {
-            // wait for up to XX seconds
-            double end = System.currentTimeMillis() + (seconds * 1000);
-            while (System.currentTimeMillis() < end) {
-                if (webElement.isDisplayed()) {
-                    break;
-                }
+            Boolean met = waitInPage(ElementScripts.DISPLAYED, remaining(start, seconds));
+            // the page only checks styling, so it can see an element with no size, or clipped, as displayed
+            if (met == null || (met && !webElement.isDisplayed())) {
+                // wait for up to XX seconds
+                poll(remaining(start, seconds), webElement::isDisplayed);
             }
         }
-        double timetook = (System.currentTimeMillis() - start) / 1000;
+        double timetook = Poller.secondsSince(start);
         if (!webElement.isDisplayed()) {
             file.recordAction(action, expected,
-                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is not displayed", Result.FAILURE);
+                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is not displayed" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
+            recordTimeout(ElementScripts.DISPLAYED, seconds);
             return;
         }
         file.recordAction(action, expected, WAITED + timetook + SECONDS_FOR + element.prettyOutput() + DISPLAYED,
                 Result.SUCCESS);
+        recordWait(ElementScripts.DISPLAYED, timetook);
     }
 
     /**
@@ -234,12 +420,19 @@ public class WaitFor {
                     Result.SUCCESS);
             return;
         }
-        double start = System.currentTimeMillis();
+        long start = System.nanoTime();
         WebElement webElement = element.getWebElement();
         // wait for up to XX seconds
-        double end = System.currentTimeMillis() + (seconds * 1000);
+        boolean isDisplayed;
         try {
-            while (webElement.isDisplayed() && System.currentTimeMillis() < end);
+            if (webElement.isDisplayed()) {
+                Boolean met = waitInPage(ElementScripts.NOT_DISPLAYED, remaining(start, seconds));
+                // as the page only checks styling, the driver is asked again before trusting it
+                if (met == null || (met && webElement.isDisplayed())) {
+                    poll(remaining(start, seconds), () -> !webElement.isDisplayed());
+                }
+            }
+            isDisplayed = webElement.isDisplayed();
         } catch (StaleElementReferenceException e) {
             log.info(e);
             file.recordAction(action, expected,
@@ -247,15 +440,18 @@ public class WaitFor {
                     Result.SUCCESS);
             return;
         }
-        double timetook = (System.currentTimeMillis() - start) / 1000;
-        if (webElement.isDisplayed()) {
+        double timetook = Poller.secondsSince(start);
+        if (isDisplayed) {
             file.recordAction(action, expected,
-                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is still displayed", Result.FAILURE);
+                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is still displayed" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
+            recordTimeout(ElementScripts.NOT_DISPLAYED, seconds);
             return;
         }
         file.recordAction(action, expected,
                 WAITED + timetook + SECONDS_FOR + element.prettyOutput() + " to not be displayed", Result.SUCCESS);
+        recordWait(ElementScripts.NOT_DISPLAYED, timetook);
     }
 
     /**
@@ -266,31 +462,34 @@ public class WaitFor {
     public void enabled(double seconds) {
         String action = UPTO + seconds + SECONDS_FOR + element.prettyOutput() + ENABLED;
         String expected = element.prettyOutputStart() + " is enabled";
-        double start = System.currentTimeMillis();
+        long start = System.nanoTime();
         if (!element.is().present()) {
             present(seconds);
+            if (!element.is().present()) {
+                return;
+            }
         }
         if (!element.is().enabled()) {
+            Boolean met = waitInPage(ElementScripts.ENABLED, remaining(start, seconds));
             WebElement webElement = element.getWebElement();
-            // wait for up to XX seconds for the error message
-            double end = System.currentTimeMillis() + (seconds * 1000);
-            while (System.currentTimeMillis() < end) {
-                // If results have been returned, the results are displayed
-                // in a drop down.
-                if (webElement.isEnabled()) {
-                    break;
-                }
+            // the page only checks the element's own disabled flag, not a disabled fieldset or optgroup around it
+            if (met == null || met != webElement.isEnabled()) {
+                // wait for up to XX seconds for the error message
+                poll(remaining(start, seconds), webElement::isEnabled);
             }
         }
-        double timetook = (System.currentTimeMillis() - start) / 1000;
+        double timetook = Poller.secondsSince(start);
         if (!element.is().enabled()) {
             file.recordAction(action, expected,
-                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is not enabled", Result.FAILURE);
+                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is not enabled" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
+            recordTimeout(ElementScripts.ENABLED, seconds);
             return;
         }
         file.recordAction(action, expected, WAITED + timetook + SECONDS_FOR + element.prettyOutput() + ENABLED,
                 Result.SUCCESS);
+        recordWait(ElementScripts.ENABLED, timetook);
     }
 
     /**
@@ -308,12 +507,19 @@ public class WaitFor {
                     Result.SUCCESS);
             return;
         }
-        double start = System.currentTimeMillis();
+        long start = System.nanoTime();
         WebElement webElement = element.getWebElement();
         // wait for up to XX seconds
-        double end = System.currentTimeMillis() + (seconds * 1000);
+        boolean isEnabled;
         try {
-            while (webElement.isEnabled() && System.currentTimeMillis() < end);
+            if (webElement.isEnabled()) {
+                Boolean met = waitInPage(ElementScripts.NOT_ENABLED, remaining(start, seconds));
+                // as the page can miss a disabled ancestor, the driver is asked again before trusting it
+                if (met == null || met == webElement.isEnabled()) {
+                    poll(remaining(start, seconds), () -> !webElement.isEnabled());
+                }
+            }
+            isEnabled = webElement.isEnabled();
         } catch (StaleElementReferenceException e) {
             log.info(e);
             file.recordAction(action, expected,
@@ -321,14 +527,17 @@ public class WaitFor {
                     Result.SUCCESS);
             return;
         }
-        double timetook = (System.currentTimeMillis() - start) / 1000;
-        if (webElement.isEnabled()) {
+        double timetook = Poller.secondsSince(start);
+        if (isEnabled) {
             file.recordAction(action, expected,
-                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is still enabled", Result.FAILURE);
+                    WAITING + timetook + SECONDS_FOR + element.prettyOutput() + " is still enabled" +
+                            file.getWaitBudgetNote(), Result.FAILURE);
             file.addError();
+            recordTimeout(ElementScripts.NOT_ENABLED, seconds);
             return;
         }
         file.recordAction(action, expected,
                 WAITED + timetook + SECONDS_FOR + element.prettyOutput() + " to not be enabled", Result.SUCCESS);
+        recordWait(ElementScripts.NOT_ENABLED, timetook);
     }
 }
\ No newline at end of file
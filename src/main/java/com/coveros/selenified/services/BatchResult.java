@@ -0,0 +1,257 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.OutputFile.Success;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A class designed to hold the outcome of a batch of calls made through
+ * Call.batch. Rather than each call being written out to the output file on
+ * its own, the whole batch is summarized in a single step, with the outcome
+ * of each call available in a collapsible section. Checks can be made on
+ * every response in the batch at once, with only the calls which didn't meet
+ * the expectation listed out. A call is considered to have failed if no
+ * response was received, or if the response code was 400 or above.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class BatchResult {
+
+    private final List<String> items;
+    private final Response[] responses;
+    private double seconds = 0;
+
+    // this will be the name of the file we write all commands out to
+    private final OutputFile file;
+
+    // constants
+    private static final String EXPECTED = "Expected to find ";
+    private static final String FOUND = "Found ";
+
+    public BatchResult(OutputFile file, List<String> items) {
+        this.file = file;
+        this.items = new ArrayList<>(items);
+        this.responses = new Response[items.size()];
+    }
+
+    /**
+     * Records the response to a single call made in the batch. If no response
+     * was received, an empty response is recorded in its place
+     *
+     * @param item     - the position of the call in the batch
+     * @param response - the response provided from the http call
+     */
+    public void record(int item, Response response) {
+        Response recorded = response == null ? new Response(0) : response;
+        recorded.setOutputFile(file);
+        responses[item] = recorded;
+    }
+
+    public void setSeconds(double seconds) {
+        this.seconds = seconds;
+    }
+
+    public double getSeconds() {
+        return seconds;
+    }
+
+    public int getCalls() {
+        return items.size();
+    }
+
+    /**
+     * Retrieves the responses to each call made in the batch, in the order the
+     * calls were provided, regardless of the order they completed in
+     *
+     * @return List: the responses to the calls
+     */
+    public List<Response> getResponses() {
+        return Collections.unmodifiableList(Arrays.asList(responses));
+    }
+
+    /**
+     * Retrieves the response to a single call made in the batch
+     *
+     * @param item - the position of the call in the batch
+     * @return Response: the response provided from the http call
+     */
+    public Response getResponse(int item) {
+        return responses[item];
+    }
+
+    /**
+     * Retrieves how many of the calls in the batch failed
+     *
+     * @return Integer: the number of calls which failed
+     */
+    public int getErrors() {
+        int errors = 0;
+        for (Response response : responses) {
+            if (isFailed(response)) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Retrieves how many calls were completed each second, on average, over
+     * the whole batch
+     *
+     * @return Double: the number of calls per second
+     */
+    public double getThroughput() {
+        if (seconds <= 0) {
+            return 0;
+        }
+        return getCalls() / seconds;
+    }
+
+    /**
+     * Builds an HTML formatted summary of the batch, to be written out to the
+     * output file. The outcome of each call is listed in a collapsible
+     * section, which is opened if any of the calls failed
+     *
+     * @return String: the summary of the batch
+     */
+    public String getSummary() {
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < getCalls(); i++) {
+            all.add(i);
+        }
+        return "Made <b>" + getCalls() + "</b> calls in <b>" + LoadResult.format(seconds) + "</b> seconds (<b>" +
+                LoadResult.format(getThroughput()) + "</b> calls/sec), with <b>" + getErrors() + "</b> errors" +
+                getDetails("Each call", all, getErrors() > 0);
+    }
+
+    ///////////////////////////////////////////////////////////////////
+    // some comparisons for our batch
+    ///////////////////////////////////////////////////////////////////
+
+    /**
+     * Verifies every response in the batch has the expected response code,
+     * and writes that out to the output file. Any calls with a different
+     * response code are listed
+     *
+     * @param expectedCode - the expected response code
+     */
+    public void assertEachCode(int expectedCode) {
+        assertEach("have a response code of <b>" + expectedCode + "</b>",
+                response -> response.getCode() == expectedCode);
+    }
+
+    /**
+     * Verifies every call in the batch succeeded, that is a response was
+     * received with a response code below 400, and writes that out to the
+     * output file. Any failed calls are listed
+     */
+    public void assertEachSucceeded() {
+        assertEach("have succeeded", response -> !isFailed(response));
+    }
+
+    /**
+     * Verifies every response in the batch meets the provided expectation,
+     * and writes that out to the output file. Any responses which don't meet
+     * the expectation are listed
+     *
+     * @param expectation - a description of the expectation, for the output file,
+     *                    completing 'expected each response to'
+     * @param check       - the check each response should pass
+     */
+    public void assertEach(String expectation, Predicate<Response> check) {
+        List<Integer> unmatched = new ArrayList<>();
+        for (int i = 0; i < getCalls(); i++) {
+            if (!check.test(responses[i])) {
+                unmatched.add(i);
+            }
+        }
+        Success success = (getCalls() > 0 && unmatched.isEmpty()) ? Success.PASS : Success.FAIL;
+        String actual = FOUND + "<b>" + (getCalls() - unmatched.size()) + "</b> of <b>" + getCalls() +
+                "</b> responses did";
+        if (!unmatched.isEmpty()) {
+            actual += getDetails("Responses which did not", unmatched, false);
+        }
+        record(EXPECTED + "each of the <b>" + getCalls() + "</b> responses to " + expectation, actual, success);
+    }
+
+    /**
+     * Builds a collapsible section, listing out the outcome of the provided
+     * calls
+     *
+     * @param summary - the title of the section, shown while it is collapsed
+     * @param calls   - the positions of the calls in the batch to list
+     * @param open    - should the section start out expanded
+     * @return String: the HTML formatted section
+     */
+    private String getDetails(String summary, List<Integer> calls, boolean open) {
+        StringBuilder details = new StringBuilder();
+        details.append("<details").append(open ? " open" : "").append("><summary>").append(summary);
+        details.append(" (<b>").append(calls.size()).append("</b>)</summary>");
+        for (int call : calls) {
+            Response response = responses[call];
+            details.append("<div>").append(items.get(call)).append(" : ");
+            if (response.getCode() == 0) {
+                details.append("no response was received");
+            } else {
+                details.append("<b>").append(response.getCode()).append("</b> in <b>");
+                details.append(LoadResult.format(response.getResponseTime())).append("ms</b>");
+            }
+            details.append("</div>");
+        }
+        details.append("</details>");
+        return details.toString();
+    }
+
+    /**
+     * Determines if a call failed, based on its response
+     *
+     * @param response - the response provided from the http call
+     * @return Boolean: did the call fail
+     */
+    private static boolean isFailed(Response response) {
+        return response == null || response.getCode() == 0 || response.getCode() >= 400;
+    }
+
+    /**
+     * Writes the expected and actual outcome of a check out to the output file,
+     * along with any resulting errors
+     *
+     * @param expected - what the expected outcome is
+     * @param actual   - what the actual outcome was
+     * @param success  - whether this result is a pass or a failure
+     */
+    private void record(String expected, String actual, Success success) {
+        synchronized (file) {
+            file.recordExpected(expected);
+            file.recordActual(actual, success);
+            file.addErrors(success.getErrors());
+        }
+    }
+}
@@ -22,14 +22,35 @@ package com.coveros.selenified.services;
 
 import com.coveros.selenified.OutputFile;
 import com.coveros.selenified.OutputFile.Result;
+import com.coveros.selenified.OutputFile.Success;
+import com.coveros.selenified.utilities.Histogram;
+import com.coveros.selenified.utilities.Poller;
 import org.testng.log4testng.Logger;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Performs the general web service method calls, and provides a simple access
- * to the HTTP class
+ * to the HTTP class. Each call can also be made asynchronously, returning a
+ * CompletableFuture, so that many independent calls can be made at once, or
+ * run as a load, to measure the latency and throughput of an endpoint. The
+ * response time of every call made is kept, so that checks can be made on
+ * them across all calls. Many calls can also be made as a batch, which is
+ * summarized in a single step of the output file (see BatchResult). If the
+ * HTTP session provided is shared with other tests (see HTTP.getSession),
+ * calls are made with a copy of it, so any settings changed, or custom
+ * headers added, only apply to this test
  *
  * @author Max Saperstone
  * @version 3.0.0
@@ -44,34 +65,67 @@ public class Call {
     // what services will we be interacting with
     private final HTTP http;
 
+    // the custom headers to send with each call
+    private final Map<String, String> headers = new HashMap<>();
+
     // constants
     private static final String GET = "GET";
     private static final String POST = "POST";
     private static final String PUT = "PUT";
     private static final String PATCH = "PATCH";
     private static final String DELETE = "DELETE";
+    private static final String HEAD = "HEAD";
+    private static final String OPTIONS = "OPTIONS";
+
+    // how long each call made took
+    private final Histogram responseTimes = new Histogram();
+
+    // the last asynchronous call made, which completes once it is written out
+    private CompletableFuture<Response> lastAsync = CompletableFuture.completedFuture(null);
 
     public Call(HTTP http, OutputFile file, Map<String, String> headers) {
-        this.http = http;
+        // a shared session can't be changed, so this test is given its own copy of it
+        this.http = http.isShared() ? http.copy() : http;
         this.file = file;
         addHeaders(headers);
     }
 
     /**
      * Adds the desired headers via a map. These should just be key-value pairs, as many as are desired to set.
-     * Content-length, Content-Type, and accept are already set, but can be overridden with these values
+     * Content-Type and accept are already set, but can be overridden with these values. Content-length is always
+     * determined from the data being sent
      *
      * @param headers - the key-value pair of headers to set
      */
     public void addHeaders(Map<String, String> headers) {
-        http.addHeaders(headers);
+        this.headers.putAll(headers);
     }
 
     /**
      * Clears out any custom set headers
      */
     public void resetHeaders() {
-        http.resetHeaders();
+        this.headers.clear();
+    }
+
+    /**
+     * Sets how failed calls are retried (see RetryPolicy). Any failed attempts
+     * are noted in the output file, along with the final outcome of the call
+     *
+     * @param retryPolicy - how failed calls should be retried
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        http.setRetryPolicy(retryPolicy);
+    }
+
+    /**
+     * Turns caching of GET calls on or off (see ResponseCache). Responses
+     * provided from the cache are noted as such in the output file
+     *
+     * @param caching - should GET calls be cached
+     */
+    public void setCaching(boolean caching) {
+        http.setCaching(caching);
     }
 
     ///////////////////////////////////////////////////////////////////
@@ -154,6 +208,281 @@ public class Call {
         return call(DELETE, endpoint, params);
     }
 
+    /**
+     * Performs a head http call and writes the call and response information
+     * to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String endpoint) {
+        return call(HEAD, endpoint, null);
+    }
+
+    /**
+     * Performs a head http call and writes the call and response information
+     * to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String endpoint, Request params) {
+        return call(HEAD, endpoint, params);
+    }
+
+    /**
+     * Performs an options http call and writes the call and response
+     * information to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String endpoint) {
+        return call(OPTIONS, endpoint, null);
+    }
+
+    /**
+     * Performs an options http call and writes the call and response
+     * information to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String endpoint, Request params) {
+        return call(OPTIONS, endpoint, params);
+    }
+
+    /**
+     * Performs a get http call, downloading the body of the response straight
+     * to a file, rather than holding it in memory (see HTTP.download), and
+     * writes the call and response information to the output file. The size,
+     * SHA-256 digest and content type of the download can then be checked
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - the file to download the body to, or null to only digest it
+     * @return Response: the response provided from the http call
+     */
+    public Response download(String endpoint, Request params, File file) {
+        String action = getAction(GET, endpoint, params) +
+                (file == null ? "<br/>only digesting the download" : "<br/>downloading to <i>" + file + "</i>");
+        List<String> attempts = new ArrayList<>();
+        Response response;
+        try {
+            response = http.download(endpoint, params, file, http.withHeaders(headers), attempts);
+        } catch (Exception e) {
+            log.warn(e);
+            return recordCall(GET, action, null, e, attempts);
+        }
+        return recordCall(GET, action, response, null, attempts);
+    }
+
+    /**
+     * Performs an asynchronous get http call. Once the call completes, the call
+     * and response information are written to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> getAsync(String endpoint) {
+        return callAsync(GET, endpoint, null);
+    }
+
+    /**
+     * Performs an asynchronous get http call. Once the call completes, the call
+     * and response information are written to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> getAsync(String endpoint, Request params) {
+        return callAsync(GET, endpoint, params);
+    }
+
+    /**
+     * Performs an asynchronous post http call. Once the call completes, the
+     * call and response information are written to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> postAsync(String endpoint, Request params) {
+        return callAsync(POST, endpoint, params);
+    }
+
+    /**
+     * Performs an asynchronous put http call. Once the call completes, the call
+     * and response information are written to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> putAsync(String endpoint, Request params) {
+        return callAsync(PUT, endpoint, params);
+    }
+
+    /**
+     * Performs an asynchronous patch http call. Once the call completes, the
+     * call and response information are written to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> patchAsync(String endpoint, Request params) {
+        return callAsync(PATCH, endpoint, params);
+    }
+
+    /**
+     * Performs an asynchronous delete http call. Once the call completes, the
+     * call and response information are written to the output file
+     *
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> deleteAsync(String endpoint, Request params) {
+        return callAsync(DELETE, endpoint, params);
+    }
+
+    /**
+     * Runs a load against an endpoint, with the provided number of workers
+     * concurrently making the same call, until the requested number of calls
+     * have been made. The latency of each call is captured, and a summary of
+     * the run is written to the output file. Each worker needs its own
+     * connection, so httpMaxConnectionsPerHost (see ConnectionPool) should be
+     * at least the number of workers
+     *
+     * @param call     - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param workers  - how many calls to make at once
+     * @param requests - how many calls to make in total
+     * @return LoadResult: the latencies, errors and throughput of the load
+     */
+    public LoadResult load(String call, String endpoint, Request params, int workers, int requests) {
+        return runLoad(call, endpoint, params, workers, requests, 0);
+    }
+
+    /**
+     * Runs a load against an endpoint, with the provided number of workers
+     * concurrently making the same call, for the requested amount of time.
+     * The latency of each call is captured, and a summary of the run is
+     * written to the output file. Each worker needs its own connection, so
+     * httpMaxConnectionsPerHost (see ConnectionPool) should be at least the
+     * number of workers
+     *
+     * @param call     - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param workers  - how many calls to make at once
+     * @param seconds  - how many seconds to keep making calls for
+     * @return LoadResult: the latencies, errors and throughput of the load
+     */
+    public LoadResult loadFor(String call, String endpoint, Request params, int workers, double seconds) {
+        return runLoad(call, endpoint, params, workers, 0, seconds);
+    }
+
+    /**
+     * Makes the same call to each of the provided endpoints, with the provided
+     * number of workers concurrently making the calls. Rather than each call
+     * being written out on its own, the batch is summarized in a single step
+     * of the output file, with the outcome of each call available in a
+     * collapsible section. Checks can then be made on every response at once
+     * (see BatchResult)
+     *
+     * @param call      - what http method call is being made. should be in all caps
+     * @param endpoints - the endpoints of the service under test to call
+     * @param workers   - how many calls to make at once
+     * @return BatchResult: the responses to each of the calls
+     */
+    public BatchResult batch(String call, Collection<String> endpoints, int workers) {
+        List<String> allEndpoints = new ArrayList<>(endpoints);
+        String action = "Making <i>" + call + "</i> calls to <i>" + http.getServiceBaseUrl() + "</i> for <b>" +
+                allEndpoints.size() + "</b> endpoints" + appendCredentials();
+        return runBatch(call, action, allEndpoints, Collections.nCopies(allEndpoints.size(), null), workers);
+    }
+
+    /**
+     * Makes a call to an endpoint with each of the provided parameters, with
+     * the provided number of workers concurrently making the calls. Rather
+     * than each call being written out on its own, the batch is summarized in
+     * a single step of the output file, with the outcome of each call
+     * available in a collapsible section. Checks can then be made on every
+     * response at once (see BatchResult)
+     *
+     * @param call     - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param requests - the parameters to be passed to the endpoint for each call
+     * @param workers  - how many calls to make at once
+     * @return BatchResult: the responses to each of the calls
+     */
+    public BatchResult batch(String call, String endpoint, Collection<Request> requests, int workers) {
+        List<Request> allRequests = new ArrayList<>(requests);
+        String action = "Making <i>" + call + "</i> calls to <i>" + http.getServiceBaseUrl() + endpoint +
+                "</i> with <b>" + allRequests.size() + "</b> sets of parameters" + appendCredentials();
+        return runBatch(call, action, Collections.nCopies(allRequests.size(), endpoint), allRequests, workers);
+    }
+
+    /**
+     * Retrieves the response times, in milliseconds, of all of the calls
+     * successfully made so far
+     *
+     * @return Histogram: the response times of the calls made
+     */
+    public Histogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    /**
+     * Verifies the provided percentile of the response times of all calls
+     * made so far is below the expected time, and writes that out to the
+     * output file. For example, a percentile of 95 checks that 95% of calls
+     * were responded to in under the time. If no calls have been made, this
+     * check fails
+     *
+     * @param percentile - the percentile to check, between 0 and 100
+     * @param millis     - the time, in milliseconds, the percentile should be below
+     */
+    public void assertResponseTimePercentileBelow(double percentile, double millis) {
+        double actual = responseTimes.getPercentile(percentile);
+        Success success = (responseTimes.getCount() > 0 && actual < millis) ? Success.PASS : Success.FAIL;
+        synchronized (file) {
+            file.recordExpected("Expected to find a p" + LoadResult.format(percentile) + " response time below <b>" +
+                    LoadResult.format(millis) + "ms</b>");
+            file.recordActual("Found a p" + LoadResult.format(percentile) + " response time of <b>" +
+                    LoadResult.format(actual) + "ms</b> over <b>" + responseTimes.getCount() + "</b> calls", success);
+            file.addErrors(success.getErrors());
+        }
+    }
+
+    /**
+     * Waits for all of the asynchronous calls made so far to complete, and be
+     * written to the output file
+     */
+    public void awaitAsync() {
+        CompletableFuture<Response> last;
+        synchronized (this) {
+            last = lastAsync;
+        }
+        last.join();
+    }
+
     /**
      * Performs an http call and writes the call and response information to the
      * output file
@@ -165,6 +494,216 @@ public class Call {
      * @return Response: the response provided from the http call
      */
     private Response call(String call, String endpoint, Request params) {
+        String action = getAction(call, endpoint, params);
+        List<String> attempts = new ArrayList<>();
+        Response response;
+        try {
+            response = http.call(call, endpoint, params, http.withHeaders(headers), attempts);
+        } catch (Exception e) {
+            log.warn(e);
+            return recordCall(call, action, null, e, attempts);
+        }
+        return recordCall(call, action, response, null, attempts);
+    }
+
+    /**
+     * Performs an asynchronous http call. Once the call completes, the call and
+     * response information are written to the output file. Calls are always
+     * written out in the order they were made, regardless of the order they
+     * complete in, so the returned response is only provided once all
+     * previous asynchronous calls have also been written out
+     *
+     * @param call     - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    private CompletableFuture<Response> callAsync(String call, String endpoint, Request params) {
+        String action = getAction(call, endpoint, params);
+        List<String> attempts = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Response> sent =
+                http.callAsync(call, endpoint, params, http.withHeaders(headers), attempts);
+        synchronized (this) {
+            lastAsync = lastAsync.thenCompose(previous -> sent.handle((response, e) -> {
+                if (e != null) {
+                    log.warn(e);
+                }
+                // a call which can't be written out mustn't stop every later call from being written out
+                try {
+                    return recordCall(call, action, response, e == null ? null : e.getCause(), attempts);
+                } catch (RuntimeException recordError) {
+                    log.error(recordError);
+                    return response;
+                }
+            }));
+            return lastAsync;
+        }
+    }
+
+    /**
+     * Runs a load against an endpoint, either until the requested number of
+     * calls have been made, or until the time runs out, and writes a summary
+     * of the run out to the output file
+     *
+     * @param call     - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param workers  - how many calls to make at once
+     * @param requests - how many calls to make in total, or 0 to run for the time
+     * @param seconds  - how many seconds to keep making calls for, if no requests are set
+     * @return LoadResult: the latencies, errors and throughput of the load
+     */
+    private LoadResult runLoad(String call, String endpoint, Request params, int workers, int requests,
+                               double seconds) {
+        String action = getAction(call, endpoint, params) + "<br/>repeatedly as a load, with <b>" + workers +
+                "</b> workers, for <b>" + (requests > 0 ? requests + "</b> calls" : seconds + "</b> seconds");
+        String expected = "Load of <i>" + call + "</i> calls is completed";
+        LoadResult result = new LoadResult(file, Math.max(workers, 1));
+        AtomicInteger remaining = new AtomicInteger(requests);
+        Map<String, String> loadHeaders = http.withHeaders(headers);
+        long start = System.nanoTime();
+        long deadline = start + (long) (seconds * 1000000000);
+        ExecutorService executor = getLoadExecutor(result.getWorkers());
+        for (int i = 0; i < result.getWorkers(); i++) {
+            executor.execute(() -> {
+                while (requests > 0 ? remaining.getAndDecrement() > 0 : System.nanoTime() < deadline) {
+                    long callStart = System.nanoTime();
+                    boolean failed;
+                    try {
+                        Response response = http.call(call, endpoint, params, loadHeaders, null);
+                        failed = response == null || response.getCode() >= 400;
+                    } catch (Exception e) {
+                        log.debug(e);
+                        failed = true;
+                    }
+                    result.record((System.nanoTime() - callStart) / 1000000.0, failed);
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            log.warn(e);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        result.setSeconds(Poller.secondsSince(start));
+        file.recordAction(action, expected, result.getSummary(), Result.SUCCESS);
+        return result;
+    }
+
+    /**
+     * Makes each of the calls in a batch, with the workers taking the next
+     * call to make as they become free, and writes a summary of the batch out
+     * to the output file. If any of the calls failed, the summary is written
+     * out as a warning, with the checks made on the batch determining if the
+     * test fails
+     *
+     * @param call      - what http method call is being made. should be in all caps
+     * @param action    - the description of the batch
+     * @param endpoints - the endpoint of the service under test for each call
+     * @param requests  - the parameters to be passed to the endpoint for each call
+     * @param workers   - how many calls to make at once
+     * @return BatchResult: the responses to each of the calls
+     */
+    private BatchResult runBatch(String call, String action, List<String> endpoints, List<Request> requests,
+                                 int workers) {
+        String expected = "Batch of <i>" + call + "</i> calls is completed";
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            items.add("<i>" + endpoints.get(i) + "</i>" + describeRequest(requests.get(i)));
+        }
+        BatchResult result = new BatchResult(file, items);
+        AtomicInteger next = new AtomicInteger();
+        Map<String, String> batchHeaders = http.withHeaders(headers);
+        long start = System.nanoTime();
+        int batchWorkers = Math.max(1, Math.min(workers, items.size()));
+        ExecutorService executor = getLoadExecutor(batchWorkers);
+        for (int i = 0; i < batchWorkers; i++) {
+            executor.execute(() -> {
+                int item;
+                while ((item = next.getAndIncrement()) < items.size()) {
+                    Response response = null;
+                    try {
+                        response = http.call(call, endpoints.get(item), requests.get(item), batchHeaders, null);
+                    } catch (Exception e) {
+                        log.debug(e);
+                    }
+                    result.record(item, response);
+                }
+            });
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            log.warn(e);
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        result.setSeconds(Poller.secondsSince(start));
+        for (Response response : result.getResponses()) {
+            if (response != null && response.getResponseTime() > 0) {
+                responseTimes.record(response.getResponseTime());
+            }
+        }
+        file.recordAction(action, expected, result.getSummary(),
+                result.getErrors() > 0 ? Result.WARNING : Result.SUCCESS);
+        return result;
+    }
+
+    /**
+     * Builds a short, single line, description of the parameters of a call
+     * made in a batch
+     *
+     * @param params - the parameters to be passed to the endpoint for the service
+     *               call
+     * @return String: the description of the parameters
+     */
+    private static String describeRequest(Request params) {
+        if (params == null) {
+            return "";
+        }
+        StringBuilder description = new StringBuilder();
+        if (params.getParams() != null) {
+            description.append(" ").append(params.getParams());
+        }
+        if (params.getData() != null) {
+            description.append(" ").append(params.getData());
+        }
+        return description.toString();
+    }
+
+    /**
+     * Creates the executor to run a load's, or batch's, workers on. Where the JVM supports
+     * virtual threads, each worker is given one, otherwise a pool with a
+     * thread for each worker is used
+     *
+     * @param workers - how many workers will be run
+     * @return ExecutorService: the executor to run the workers on
+     */
+    private static ExecutorService getLoadExecutor(int workers) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            log.debug(e);
+            return Executors.newFixedThreadPool(workers);
+        }
+    }
+
+    /**
+     * Builds the description of the http call to write out to the output file
+     *
+     * @param call     - what http method call is being made. should be in all caps
+     * @param endpoint - the endpoint of the service under test
+     * @param params   - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @return String: an HTML formatted description of the call
+     */
+    private String getAction(String call, String endpoint, Request params) {
         StringBuilder action = new StringBuilder();
         action.append("Making <i>");
         action.append(call);
@@ -173,39 +712,56 @@ public class Call {
         action.append(endpoint).append("</i>");
         action.append(appendCredentials());
         action.append(file.outputRequestProperties(params));
+        return action.toString();
+    }
+
+    /**
+     * Writes the outcome of an http call out to the output file. If the call
+     * failed, or no response was returned, an error is recorded, and an empty
+     * response is returned instead
+     *
+     * @param call     - what http method call was made
+     * @param action   - the description of the call
+     * @param response - the response provided from the http call
+     * @param error    - what went wrong with the call, or null if nothing did
+     * @param attempts - any failed attempts made before the final one
+     * @return Response: the response provided from the http call
+     */
+    private Response recordCall(String call, String action, Response response, Throwable error,
+                                List<String> attempts) {
         String expected = "<i>" + call + "</i> call was made successfully";
-        Response response = new Response(file);
-        try {
-            switch (call) {
-                case GET:
-                    response = http.get(endpoint, params);
-                    break;
-                case POST:
-                    response = http.post(endpoint, params);
-                    break;
-                case PUT:
-                    response = http.put(endpoint, params);
-                    break;
-                case PATCH:
-                    response = http.patch(endpoint, params);
-                    break;
-                case DELETE:
-                    response = http.delete(endpoint, params);
-                    break;
-                default:
-                    log.error("Unknown method call named");
+        StringBuilder retries = new StringBuilder();
+        synchronized (attempts) {
+            for (String attempt : attempts) {
+                retries.append("<br/>").append(attempt);
             }
-            response.setOutputFile(file);
-            file.recordAction(action.toString(), expected, expected, Result.SUCCESS);
-        } catch (Exception e) {
-            file.recordAction(action.toString(), expected, "<i>" + call + "</i> call failed. " + e.getMessage(),
+        }
+        if (error != null || response == null) {
+            String reason = error == null ? "No response was received" : error.getMessage();
+            file.recordAction(action, expected, "<i>" + call + "</i> call failed. " + reason + retries,
                     Result.FAILURE);
             file.addError();
-            log.warn(e);
-            response = new Response(0);
-            response.setOutputFile(file);
-            return response;
+            Response failed = new Response(0);
+            failed.setOutputFile(file);
+            return failed;
+        }
+        response.setOutputFile(file);
+        if (response.getResponseTime() > 0) {
+            responseTimes.record(response.getResponseTime());
+        }
+        String source = "";
+        if (response.getCacheStatus() == ResponseCache.Status.HIT) {
+            source = ", from the cache";
+        } else if (response.getCacheStatus() == ResponseCache.Status.REVALIDATED) {
+            source = ", from the cache, after checking it was still current";
+        } else if (response.isReplayed()) {
+            source = ", from a recording";
+        }
+        if (response.isDownload()) {
+            source += ", downloading <b>" + response.getSize() + "</b> bytes";
         }
+        file.recordAction(action, expected,
+                expected + " in <b>" + response.getResponseTime() + "ms</b>" + source + retries, Result.SUCCESS);
         return response;
     }
 
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import org.testng.log4testng.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CircuitBreaker stops services calls from being made to a host which appears
+ * to be down, so that a suite fails fast, rather than waiting on, and
+ * retrying, every call. Each host has its own breaker, shared by all HTTP
+ * sessions. A call fails if no response was received, or the service
+ * responded that it is unavailable (see RetryPolicy). Once enough calls in a
+ * row have failed, the breaker opens, and calls to the host fail immediately
+ * without being made. After a cool down, a single trial call is let through:
+ * if it succeeds the breaker closes again, otherwise it stays open for
+ * another cool down. The breakers are set with the below system properties,
+ * which are read when a host is first called:
+ * <ul>
+ * <li>httpBreakerThreshold - how many calls in a row must fail to open the
+ * breaker, defaults to 0, which never opens it</li>
+ * <li>httpBreakerCooldown - how many milliseconds the breaker stays open
+ * for, before a trial call is let through, defaults to 30000</li>
+ * </ul>
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = Logger.getLogger(CircuitBreaker.class);
+
+    public static final String BREAKER_THRESHOLD = "httpBreakerThreshold";
+    public static final String BREAKER_COOLDOWN = "httpBreakerCooldown";
+
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    /**
+     * Whether calls are being let through the breaker
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String host;
+    private final int threshold;
+    private final long cooldown;
+    private State state = State.CLOSED;
+    private int failures = 0;
+    private long openedAt = 0;
+    private boolean trialInFlight = false;
+
+    /**
+     * Creates a new circuit breaker
+     *
+     * @param host      - the host the breaker guards
+     * @param threshold - how many calls in a row must fail to open the breaker, or 0
+     *                  to never open it
+     * @param cooldown  - how many milliseconds the breaker stays open for
+     */
+    public CircuitBreaker(String host, int threshold, long cooldown) {
+        this.host = host;
+        this.threshold = threshold;
+        this.cooldown = cooldown;
+    }
+
+    /**
+     * Retrieves the breaker of a host, creating it from the
+     * httpBreakerThreshold and httpBreakerCooldown system properties if the
+     * host hasn't been called before
+     *
+     * @param host - the host being called
+     * @return CircuitBreaker: the breaker of the host
+     */
+    public static CircuitBreaker forHost(String host) {
+        return breakers.computeIfAbsent(host, k -> new CircuitBreaker(k, Property.getInt(BREAKER_THRESHOLD, 0),
+                Property.getInt(BREAKER_COOLDOWN, 30000)));
+    }
+
+    /**
+     * Removes the breakers of all hosts, so they are recreated, closed, the
+     * next time each host is called
+     */
+    public static void reset() {
+        breakers.clear();
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Retrieves whether calls are being let through the breaker. An open
+     * breaker whose cool down has passed is reported as half open
+     *
+     * @return State: the state of the breaker
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= cooldown * 1000000) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * Determines whether a call can be made. While the breaker is open, no
+     * calls are let through, until its cool down has passed, after which a
+     * single trial call is let through
+     *
+     * @return Boolean: can the call be made
+     */
+    public synchronized boolean allowCall() {
+        if (threshold <= 0 || state == State.CLOSED) {
+            return true;
+        }
+        if (getState() == State.HALF_OPEN && !trialInFlight) {
+            state = State.HALF_OPEN;
+            trialInFlight = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Records a call which succeeded, closing the breaker
+     */
+    public synchronized void recordSuccess() {
+        failures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Records a call which failed. If too many calls in a row have failed, or
+     * the trial call failed, the breaker is opened
+     */
+    public synchronized void recordFailure() {
+        failures++;
+        // calls already in flight when the breaker opened don't extend its cool down
+        if (threshold > 0 && state != State.OPEN && (state == State.HALF_OPEN || failures >= threshold)) {
+            log.warn("Circuit breaker for " + host + " opened after " + failures + " failed calls");
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            trialInFlight = false;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+import org.testng.log4testng.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionPool holds the single http client shared by all HTTP sessions.
+ * Connections are kept alive and reused between calls, instead of opening a
+ * new connection (and performing a new TLS handshake) for each call. The pool
+ * can be tuned using the below system properties, which are read when the
+ * client is first used:
+ * <ul>
+ * <li>httpMaxConnections - the total number of connections which can be open
+ * at once, defaults to 200</li>
+ * <li>httpMaxConnectionsPerHost - the number of connections which can be open
+ * to any one host at once, defaults to 20</li>
+ * <li>httpIdleTimeout - how many seconds a connection can sit unused before
+ * it is closed, defaults to 30</li>
+ * <li>httpConnectTimeout - how many seconds to wait to connect to a host, or
+ * to obtain a connection from the pool, defaults to 30</li>
+ * <li>httpReadTimeout - how many seconds to wait for data to be returned,
+ * defaults to 0, which waits indefinitely</li>
+ * <li>httpAsyncThreads - how many asynchronous calls can be in flight at
+ * once, defaults to 20</li>
+ * </ul>
+ * The client also times each call, recording in the call's context how long
+ * was spent connecting, and when the first byte of the response arrived. It
+ * advertises that it accepts gzip and deflate encoded responses, and any
+ * compressed response is decompressed as its body is read.
+ * <p>
+ * As with a plain HttpURLConnection, the standard java networking system
+ * properties are honoured: calls are routed through any proxy set by
+ * http.proxyHost, https.proxyHost and http.nonProxyHosts, and secure
+ * connections use the javax.net.ssl trust and key stores. No cookies are
+ * kept, so a cookie set on one call is never sent on any other.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class ConnectionPool {
+
+    private static final Logger log = Logger.getLogger(ConnectionPool.class);
+
+    public static final String MAX_CONNECTIONS = "httpMaxConnections";
+    public static final String MAX_CONNECTIONS_PER_HOST = "httpMaxConnectionsPerHost";
+    public static final String IDLE_TIMEOUT = "httpIdleTimeout";
+    public static final String CONNECT_TIMEOUT = "httpConnectTimeout";
+    public static final String READ_TIMEOUT = "httpReadTimeout";
+    public static final String ASYNC_THREADS = "httpAsyncThreads";
+
+    // where the timings of each call are kept in its context, in nanoseconds
+    public static final String CONNECT_NANOS = "selenified.connect";
+    public static final String FIRST_BYTE_NANOS = "selenified.firstByte";
+
+    // sends requests over whichever shared client is current
+    private static final Transport transport = (request, context) -> getClient().execute(request, context);
+
+    private static PoolingHttpClientConnectionManager manager = null;
+    private static CloseableHttpClient client = null;
+    private static ExecutorService executor = null;
+
+    private ConnectionPool() {
+    }
+
+    /**
+     * Retrieves the shared http client, creating it, and its pool of
+     * connections, if it hasn't been yet
+     *
+     * @return CloseableHttpClient: the shared http client
+     */
+    public static synchronized CloseableHttpClient getClient() {
+        if (client == null) {
+            Registry<ConnectionSocketFactory> sockets = RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory())
+                    .register("https", SSLConnectionSocketFactory.getSystemSocketFactory()).build();
+            manager = new TimedConnectionManager(sockets);
+            manager.setMaxTotal(Property.getInt(MAX_CONNECTIONS, 200));
+            manager.setDefaultMaxPerRoute(Property.getInt(MAX_CONNECTIONS_PER_HOST, 20));
+            int connectTimeout = Property.getInt(CONNECT_TIMEOUT, 30) * 1000;
+            RequestConfig config = RequestConfig.custom().setConnectTimeout(connectTimeout)
+                    .setConnectionRequestTimeout(connectTimeout)
+                    .setSocketTimeout(Property.getInt(READ_TIMEOUT, 0) * 1000).build();
+            client = HttpClients.custom().setConnectionManager(manager).setRequestExecutor(new TimedRequestExecutor())
+                    .setDefaultRequestConfig(config).evictExpiredConnections()
+                    .evictIdleConnections(Property.getInt(IDLE_TIMEOUT, 30), TimeUnit.SECONDS).useSystemProperties()
+                    .disableCookieManagement().build();
+        }
+        return client;
+    }
+
+    /**
+     * Retrieves the transport which sends requests over the shared http
+     * client. This is the transport every HTTP session uses by default
+     *
+     * @return Transport: the transport over the pooled connections
+     */
+    public static Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Retrieves the shared executor asynchronous calls are made on, creating
+     * it if it hasn't been yet. Its threads are daemons, so they never keep
+     * the tests from finishing
+     *
+     * @return ExecutorService: the executor to make asynchronous calls on
+     */
+    public static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            int threads = Property.getInt(ASYNC_THREADS, 20);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "selenified-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+        return executor;
+    }
+
+    /**
+     * Retrieves the current statistics of the pool, such as how many
+     * connections are in use, and how many are open but available. If the
+     * client hasn't been created yet, null is returned
+     *
+     * @return PoolStats: the statistics of the pool
+     */
+    public static synchronized PoolStats getStats() {
+        if (manager == null) {
+            return null;
+        }
+        return manager.getTotalStats();
+    }
+
+    /**
+     * Closes the shared http client, and all of its connections, along with
+     * the executor used for asynchronous calls. The next call made will create
+     * a new client, re-reading the pool's settings
+     */
+    public static synchronized void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        if (client == null) {
+            return;
+        }
+        try {
+            client.close();
+        } catch (IOException e) {
+            log.warn(e);
+        }
+        client = null;
+        manager = null;
+    }
+
+    /**
+     * A connection manager which records in the call's context how long was
+     * spent opening a new connection. If a pooled connection is reused, no
+     * time is recorded
+     */
+    private static class TimedConnectionManager extends PoolingHttpClientConnectionManager {
+        TimedConnectionManager(Registry<ConnectionSocketFactory> sockets) {
+            super(sockets);
+        }
+
+        @Override
+        public void connect(HttpClientConnection managedConn, HttpRoute route, int connectTimeout,
+                            HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.connect(managedConn, route, connectTimeout, context);
+            } finally {
+                Object previous = context.getAttribute(CONNECT_NANOS);
+                long spent = System.nanoTime() - start;
+                context.setAttribute(CONNECT_NANOS, previous instanceof Long ? (Long) previous + spent : spent);
+            }
+        }
+    }
+
+    /**
+     * A request executor which records in the call's context when the
+     * response headers started to arrive
+     */
+    private static class TimedRequestExecutor extends HttpRequestExecutor {
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn,
+                                                 HttpContext context) throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn, context);
+            if (context.getAttribute(FIRST_BYTE_NANOS) == null) {
+                context.setAttribute(FIRST_BYTE_NANOS, System.nanoTime());
+            }
+            return response;
+        }
+    }
+}
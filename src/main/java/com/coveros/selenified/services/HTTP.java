@@ -20,25 +20,55 @@
 
 package com.coveros.selenified.services;
 
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.coveros.selenified.utilities.Property;
 import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.FileEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
+import org.apache.http.util.EntityUtils;
 import org.testng.log4testng.Logger;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
-import java.net.HttpURLConnection;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * A class designed to make HTTP calls. This is wrapped by the Action and Assert
  * classes to ensure calls are properly written to logs, and data can be easily
- * accessed
+ * accessed. By default, calls are made over pooled connections, which are kept
+ * alive and shared between all HTTP sessions (see ConnectionPool), though any
+ * other client can be plugged in instead (see Transport). GET calls can
+ * optionally be cached (see ResponseCache), and calls can be recorded, and
+ * later replayed without a backend (see Recordings). Failed calls can be
+ * retried (see RetryPolicy), and calls to a host which appears to be down are
+ * stopped (see CircuitBreaker). Sessions can be shared between all tests
+ * calling the same service with the same credentials (see getSession), in
+ * which case their settings can't be changed
  *
  * @author Max Saperstone
  * @version 3.0.0
@@ -48,12 +78,29 @@ public class HTTP {
 
     private static final Logger log = Logger.getLogger(HTTP.class);
 
+    public static final String COMPRESS_REQUESTS_OVER = "httpCompressRequestsOver";
+    public static final String PATCH_OVERRIDE = "httpPatchOverride";
+
+    private static final String GET = "GET";
     private static final String PATCH = "PATCH";
+    private static final String HEAD = "HEAD";
+    private static final String OPTIONS = "OPTIONS";
+    // the calls which change the endpoint, and so its cached responses
+    private static final List<String> CHANGING_CALLS = Arrays.asList("POST", "PUT", PATCH, "DELETE");
+
+    // the sessions shared between tests, by base url and credentials
+    private static final Map<List<String>, HTTP> sessions = new ConcurrentHashMap<>();
 
     private final String serviceBaseUrl;
-    private String user = "";
-    private String pass = "";
+    private final String user;
+    private final String pass;
+    private final String authorization;
+    private final boolean shared;
     private Map<String, String> extraHeaders = new HashMap<>();
+    private boolean caching = ResponseCache.isEnabled();
+    private RetryPolicy retryPolicy = RetryPolicy.fromProperties();
+    private Transport transport = ConnectionPool.getTransport();
+    private boolean patchOverride = Boolean.parseBoolean(System.getProperty(PATCH_OVERRIDE));
 
     /**
      * Instantiates a HTTP session for making web service calls without any
@@ -62,7 +109,7 @@ public class HTTP {
      * @param serviceBaseUrl - the base url of the services location
      */
     public HTTP(String serviceBaseUrl) {
-        this.serviceBaseUrl = serviceBaseUrl;
+        this(serviceBaseUrl, "", "");
     }
 
     /**
@@ -75,27 +122,205 @@ public class HTTP {
      */
     public HTTP(String serviceBaseUrl, String user, String pass) {
         this.serviceBaseUrl = serviceBaseUrl;
-        this.user = user;
-        this.pass = pass;
+        this.user = user == null ? "" : user;
+        this.pass = pass == null ? "" : pass;
+        // the credentials never change, so they are only encoded once
+        if (useCredentials()) {
+            byte[] userpass = (this.user + ":" + this.pass).getBytes(StandardCharsets.UTF_8);
+            this.authorization = "Basic " + Base64.encodeBase64String(userpass);
+        } else {
+            this.authorization = null;
+        }
+        this.shared = false;
+    }
+
+    /**
+     * Instantiates a HTTP session with the same base url, credentials and
+     * settings as another session
+     *
+     * @param session - the session to copy
+     * @param shared  - can the settings of the new session no longer be changed
+     */
+    private HTTP(HTTP session, boolean shared) {
+        this.serviceBaseUrl = session.serviceBaseUrl;
+        this.user = session.user;
+        this.pass = session.pass;
+        this.authorization = session.authorization;
+        this.shared = shared;
+        this.extraHeaders = new HashMap<>(session.extraHeaders);
+        this.caching = session.caching;
+        this.retryPolicy = session.retryPolicy;
+        this.transport = session.transport;
+        this.patchOverride = session.patchOverride;
+    }
+
+    /**
+     * Retrieves the HTTP session shared by all tests calling the services at
+     * the base url with the provided credentials, creating it on first use.
+     * As the connections (and TLS sessions) are pooled per client, sharing a
+     * session lets every test in a suite reuse them. As it is shared, none of
+     * the settings of the session can be changed. Instead, a copy of it should
+     * be made, and changed, which Call does for each test
+     *
+     * @param serviceBaseUrl - the base url of the services location
+     * @param user           - the username required for authentication
+     * @param pass           - the password required for authentication
+     * @return HTTP: the shared session
+     */
+    public static HTTP getSession(String serviceBaseUrl, String user, String pass) {
+        return sessions.computeIfAbsent(Arrays.asList(serviceBaseUrl, user, pass),
+                key -> new HTTP(new HTTP(serviceBaseUrl, user, pass), true));
+    }
+
+    /**
+     * Creates a new session, with the same base url, credentials and settings
+     * as this one. The settings of the new session can be changed, without
+     * affecting this one, even if this session is shared
+     *
+     * @return HTTP: the copy of this session
+     */
+    public HTTP copy() {
+        return new HTTP(this, false);
+    }
+
+    /**
+     * Determines whether this session is shared between tests (see
+     * getSession), in which case its settings can't be changed
+     *
+     * @return Boolean: is this session shared
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Ensures the settings of this session can be changed
+     *
+     * @throws UnsupportedOperationException - if this session is shared
+     */
+    private void checkNotShared() {
+        if (shared) {
+            throw new UnsupportedOperationException("The settings of the shared session for " + serviceBaseUrl +
+                    " can't be changed, a copy of it should be changed instead");
+        }
+    }
+
+    /**
+     * Removes all of the shared sessions, so new ones are created as they are
+     * next requested
+     */
+    public static void clearSessions() {
+        sessions.clear();
     }
 
     /**
      * Adds the desired headers via a map. These should just be key-value pairs, as many as are desired to set.
-     * Content-length, Content-Type, and accept are already set, but can be overridden with these values
+     * Content-Type and accept are already set, but can be overridden with these values. Content-length is always
+     * determined from the data being sent
      *
      * @param headers - the key-value pair of headers to set
+     * @throws UnsupportedOperationException - if this session is shared (see getSession)
      */
     public void addHeaders(Map<String, String> headers) {
+        checkNotShared();
         this.extraHeaders.putAll(headers);
     }
 
     /**
      * Clears out any custom set headers
+     *
+     * @throws UnsupportedOperationException - if this session is shared (see getSession)
      */
     public void resetHeaders() {
+        checkNotShared();
         this.extraHeaders = new HashMap<>();
     }
 
+    /**
+     * Combines the custom headers set for this session with the provided
+     * headers, which take precedence. The result is a copy, so is unaffected
+     * by any later changes to the headers
+     *
+     * @param headers - the additional headers to send with a call
+     * @return Map: the headers to send with the call
+     */
+    Map<String, String> withHeaders(Map<String, String> headers) {
+        Map<String, String> combined = new HashMap<>(extraHeaders);
+        combined.putAll(headers);
+        return combined;
+    }
+
+    /**
+     * Turns caching of GET calls on or off for this session. By default, this
+     * is determined from the httpCache system property
+     *
+     * @param caching - should GET calls be cached
+     * @throws UnsupportedOperationException - if this session is shared (see getSession)
+     */
+    public void setCaching(boolean caching) {
+        checkNotShared();
+        this.caching = caching;
+    }
+
+    /**
+     * Determines whether GET calls made in this session are cached
+     *
+     * @return Boolean: are GET calls cached
+     */
+    public boolean isCaching() {
+        return caching;
+    }
+
+    /**
+     * Sets how failed calls made in this session are retried. By default, this
+     * is determined from system properties (see RetryPolicy)
+     *
+     * @param retryPolicy - how failed calls should be retried
+     * @throws UnsupportedOperationException - if this session is shared (see getSession)
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        checkNotShared();
+        this.retryPolicy = retryPolicy;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets what sends the requests made in this session. By default, they are
+     * sent over the shared pool of connections (see ConnectionPool)
+     *
+     * @param transport - what should send the requests
+     * @throws UnsupportedOperationException - if this session is shared (see getSession)
+     */
+    public void setTransport(Transport transport) {
+        checkNotShared();
+        this.transport = transport;
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Sets whether PATCH calls are sent as POST calls, with an
+     * X-HTTP-Method-Override header, for services which don't accept PATCH
+     * calls themselves. By default, this is determined from the
+     * httpPatchOverride system property, and PATCH calls are sent as is
+     *
+     * @param patchOverride - should PATCH calls be sent as POST calls
+     * @throws UnsupportedOperationException - if this session is shared (see getSession)
+     */
+    public void setPatchOverride(boolean patchOverride) {
+        checkNotShared();
+        this.patchOverride = patchOverride;
+    }
+
+    public boolean isPatchOverride() {
+        return patchOverride;
+    }
+
     /**
      * Retrieves the base url of the services location
      *
@@ -142,7 +367,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response get(String service) {
-        return call("GET", service, null);
+        return call(GET, service, null, extraHeaders, null);
     }
 
     /**
@@ -154,7 +379,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response get(String service, Request request) {
-        return call("GET", service, request);
+        return call(GET, service, request, extraHeaders, null);
     }
 
     /**
@@ -166,7 +391,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response post(String service, Request request) {
-        return call("POST", service, request);
+        return call("POST", service, request, extraHeaders, null);
     }
 
     /**
@@ -178,7 +403,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response put(String service, Request request) {
-        return call("PUT", service, request);
+        return call("PUT", service, request, extraHeaders, null);
     }
 
     /**
@@ -190,7 +415,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response patch(String service, Request request) {
-        return call(PATCH, service, request);
+        return call(PATCH, service, request, extraHeaders, null);
     }
 
     /**
@@ -200,7 +425,7 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response delete(String service) {
-        return call("DELETE", service, null);
+        return call("DELETE", service, null, extraHeaders, null);
     }
 
     /**
@@ -212,19 +437,382 @@ public class HTTP {
      * @return Response: the response provided from the http call
      */
     public Response delete(String service, Request request) {
-        return call("DELETE", service, request);
+        return call("DELETE", service, request, extraHeaders, null);
     }
 
     /**
-     * A basic generic http call
+     * A basic http head call
+     *
+     * @param service - the endpoint of the service under test
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String service) {
+        return call(HEAD, service, null, extraHeaders, null);
+    }
+
+    /**
+     * A basic http head call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return Response: the response provided from the http call
+     */
+    public Response head(String service, Request request) {
+        return call(HEAD, service, request, extraHeaders, null);
+    }
+
+    /**
+     * A basic http options call
+     *
+     * @param service - the endpoint of the service under test
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String service) {
+        return call(OPTIONS, service, null, extraHeaders, null);
+    }
+
+    /**
+     * A basic http options call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return Response: the response provided from the http call
+     */
+    public Response options(String service, Request request) {
+        return call(OPTIONS, service, request, extraHeaders, null);
+    }
+
+    /**
+     * A http get call, which downloads the response. Rather than being held in
+     * memory, the body is streamed straight to the file, while its size and
+     * SHA-256 digest are computed. If no file is provided, the body is only
+     * digested, and then discarded. Downloads are never cached or recorded.
+     * As they can't be replayed either, when replaying (see Recordings) no
+     * download is made, and null is returned
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @param file    - the file to download the body to, or null to only digest it
+     * @return Response: the response provided from the http call
+     */
+    public Response download(String service, Request request, File file) {
+        return download(service, request, file, extraHeaders, null);
+    }
+
+    /**
+     * A http get call, which downloads the response (see download), with the
+     * provided headers, noting any retries made
+     *
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param file     - the file to download the body to, or null to only digest it
+     * @param headers  - the custom headers to send with the call
+     * @param attempts - where to note any failed attempts, or null to not note them
+     * @return Response: the response provided from the http call
+     */
+    Response download(String service, Request request, File file, Map<String, String> headers,
+                      List<String> attempts) {
+        if (Recordings.getMode() == Recordings.Mode.REPLAY) {
+            note(attempts, "Downloads aren't recorded, so can't be replayed, and the call wasn't made");
+            return null;
+        }
+        return sendWithRetries(GET, service, request, headers, true, file, attempts);
+    }
+
+    /**
+     * A basic asynchronous http get call
+     *
+     * @param service - the endpoint of the service under test
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> getAsync(String service) {
+        return callAsync(GET, service, null);
+    }
+
+    /**
+     * A basic asynchronous http get call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> getAsync(String service, Request request) {
+        return callAsync(GET, service, request);
+    }
+
+    /**
+     * A basic asynchronous http post call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> postAsync(String service, Request request) {
+        return callAsync("POST", service, request);
+    }
+
+    /**
+     * A basic asynchronous http put call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> putAsync(String service, Request request) {
+        return callAsync("PUT", service, request);
+    }
+
+    /**
+     * A basic asynchronous http patch call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> patchAsync(String service, Request request) {
+        return callAsync(PATCH, service, request);
+    }
+
+    /**
+     * A basic asynchronous http delete call
+     *
+     * @param service - the endpoint of the service under test
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> deleteAsync(String service) {
+        return callAsync("DELETE", service, null);
+    }
+
+    /**
+     * A basic asynchronous http delete call
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    public CompletableFuture<Response> deleteAsync(String service, Request request) {
+        return callAsync("DELETE", service, request);
+    }
+
+    /**
+     * A basic generic asynchronous http call. The call is made on the shared
+     * executor (see ConnectionPool), with the headers as they are set when
+     * this is called, so the calling thread is free to carry on, or make
+     * other calls, while waiting for the response
      *
      * @param call    - what method are we calling
      * @param service - the endpoint of the service under test
      * @param request - the parameters to be passed to the endpoint for the service
      *                call
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    CompletableFuture<Response> callAsync(String call, String service, Request request) {
+        return callAsync(call, service, request, new HashMap<>(extraHeaders), null);
+    }
+
+    /**
+     * A basic generic asynchronous http call (see callAsync), with the
+     * provided headers, noting any retries made
+     *
+     * @param call     - what method are we calling
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param headers  - the custom headers to send with the call
+     * @param attempts - where to note any failed attempts, or null to not note them
+     * @return CompletableFuture: the response which will be provided from the http call
+     */
+    CompletableFuture<Response> callAsync(String call, String service, Request request, Map<String, String> headers,
+                                          List<String> attempts) {
+        return CompletableFuture.supplyAsync(() -> call(call, service, request, headers, attempts),
+                ConnectionPool.getExecutor());
+    }
+
+    /**
+     * A basic generic http call. When replaying (see Recordings), the recorded
+     * response is returned, without calling out at all. When recording, the
+     * call is made, and it and its response are written to the recordings.
+     * Calls streaming their body are neither recorded nor replayed
+     *
+     * @param call     - what method are we calling
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param headers  - the custom headers to send with the call
+     * @param attempts - where to note any failed attempts, or null to not note them
+     * @return Response: the response provided from the http call
+     */
+    Response call(String call, String service, Request request, Map<String, String> headers,
+                  List<String> attempts) {
+        Recordings.Mode mode = Recordings.getMode();
+        boolean streamed = request != null && request.getStream() != null;
+        if (mode == Recordings.Mode.REPLAY && streamed) {
+            note(attempts, "Streamed bodies aren't recorded, so can't be replayed, and the call wasn't made");
+            return null;
+        }
+        if (mode == Recordings.Mode.REPLAY) {
+            long start = System.nanoTime();
+            Response response = Recordings.replay(call, serviceBaseUrl, service, request);
+            if (response != null) {
+                response.setTimings(0, 0, toMillis(System.nanoTime() - start));
+            }
+            return response;
+        }
+        Response response = sendWithRetries(call, service, request, headers, false, null, attempts);
+        if (mode == Recordings.Mode.RECORD && !streamed && response != null) {
+            Recordings.record(call, serviceBaseUrl, service, request, response);
+        }
+        return response;
+    }
+
+    /**
+     * Sends a basic generic http call, guarded by the circuit breaker of the
+     * host (see CircuitBreaker), and retried according to the retry policy of
+     * this session (see RetryPolicy). Calls streaming their body can't be
+     * retried, as the stream can only be read once. Each failed attempt, and
+     * each call not made because the breaker is open, is noted. A fresh cached
+     * response is returned even while the breaker is open, and as no call is
+     * made for it, the breaker isn't told of it
+     *
+     * @param call     - what method are we calling
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param headers  - the custom headers to send with the call
+     * @param download - should the body be downloaded, rather than held in memory
+     * @param file     - the file to download the body to, or null to only digest it
+     * @param attempts - where to note any failed attempts, or null to not note them
      * @return Response: the response provided from the http call
      */
-    private Response call(String call, String service, Request request) {
+    private Response sendWithRetries(String call, String service, Request request, Map<String, String> headers,
+                                     boolean download, File file, List<String> attempts) {
+        Response fresh = getFresh(call, service, request, headers, download);
+        if (fresh != null) {
+            return fresh;
+        }
+        CircuitBreaker breaker = CircuitBreaker.forHost(getHost());
+        RetryPolicy policy = retryPolicy;
+        boolean retryable = policy.canRetry(call) && (request == null || request.getStream() == null);
+        for (int attempt = 1; ; attempt++) {
+            if (!breaker.allowCall()) {
+                note(attempts, "The circuit breaker for <i>" + breaker.getHost() +
+                        "</i> is open, so the call wasn't made");
+                return null;
+            }
+            Response response = null;
+            boolean failed = true;
+            try {
+                response = send(call, service, request, headers, download, file);
+                failed = policy.shouldRetry(response);
+            } finally {
+                // a call which threw is recorded as failed, so a trial call is never left in flight
+                if (failed) {
+                    breaker.recordFailure();
+                } else {
+                    breaker.recordSuccess();
+                }
+            }
+            if (!failed || !retryable || attempt >= policy.getMaxAttempts()) {
+                return response;
+            }
+            long delay = policy.getDelay(attempt);
+            note(attempts, "Attempt " + attempt + (response == null ? " received no response" :
+                    " received a response code of <b>" + response.getCode() + "</b>") + ", retrying in <b>" + delay +
+                    "ms</b>");
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                log.warn(e);
+                Thread.currentThread().interrupt();
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Notes something which happened while making a call, such as a failed
+     * attempt
+     *
+     * @param attempts - where to note it, or null to only log it
+     * @param note     - what happened
+     */
+    private static void note(List<String> attempts, String note) {
+        log.info(note);
+        if (attempts != null) {
+            attempts.add(note);
+        }
+    }
+
+    /**
+     * Determines the host calls are made to, from the base url of the
+     * services location, which is what circuit breakers are kept for
+     *
+     * @return String: the host and port calls are made to
+     */
+    private String getHost() {
+        try {
+            return new URL(serviceBaseUrl).getAuthority();
+        } catch (MalformedURLException e) {
+            log.debug(e);
+            return serviceBaseUrl;
+        }
+    }
+
+    /**
+     * Retrieves the fresh cached response of a GET call, if caching is turned
+     * on for this session (see ResponseCache), so it can be returned without
+     * calling out at all. Downloads are never cached
+     *
+     * @param call     - what method are we calling
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param headers  - the custom headers to send with the call
+     * @param download - should the body be downloaded, rather than held in memory
+     * @return Response: the cached response, or null if there is no fresh one
+     */
+    private Response getFresh(String call, String service, Request request, Map<String, String> headers,
+                              boolean download) {
+        if (!caching || !GET.equals(call) || download) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            ResponseCache.Entry cached = ResponseCache.get(ResponseCache.getKey(getUrl(service, request), headers,
+                    authorization));
+            if (cached == null || !cached.isFresh()) {
+                return null;
+            }
+            Response response = cached.toResponse(ResponseCache.Status.HIT);
+            response.setTimings(0, 0, toMillis(System.nanoTime() - start));
+            return response;
+        } catch (MalformedURLException e) {
+            // the call itself reports the bad url
+            log.debug(e);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the full url to call, from the base url of the services location,
+     * the endpoint, and any query parameters of the request
+     *
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return String: the full url to call
+     * @throws MalformedURLException - if the url isn't valid
+     */
+    private String getUrl(String service, Request request) throws MalformedURLException {
         StringBuilder params = new StringBuilder();
         if (request != null && request.getParams() != null) {
             params.append("?");
@@ -235,120 +823,259 @@ public class HTTP {
                 params.append("&");
             }
         }
-        HttpURLConnection connection = null;
+        return new URL(this.serviceBaseUrl + service + params.toString()).toString();
+    }
+
+    /**
+     * Sends a basic generic http call. The call is sent by the transport of
+     * this session, by default over a pooled, kept alive connection, shared
+     * between all HTTP sessions (see ConnectionPool). The
+     * time spent connecting, until the first byte of the response, and in
+     * total, is captured on the response. If caching is turned on, a cached
+     * response of a GET call is revalidated with the service. Any POST, PUT,
+     * PATCH or DELETE call removes the cached responses of the endpoint,
+     * whether or not this session caches.
+     * Fresh cached responses are returned before the call is sent (see
+     * getFresh)
+     *
+     * @param call     - what method are we calling
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters to be passed to the endpoint for the service
+     *                 call
+     * @param headers  - the custom headers to send with the call
+     * @param download - should the body be downloaded, rather than held in memory
+     * @param file     - the file to download the body to, or null to only digest it
+     * @return Response: the response provided from the http call
+     */
+    private Response send(String call, String service, Request request, Map<String, String> headers,
+                          boolean download, File file) {
         try {
-            URL url = new URL(this.serviceBaseUrl + service + params.toString());
-            connection = (HttpURLConnection) url.openConnection();
-            String method = call;
-            if (PATCH.equals(method)) {
-                connection.setRequestProperty("X-HTTP-Method-Override", PATCH);
-                method = "POST";
+            long start = System.nanoTime();
+            String url = getUrl(service, request);
+            String cacheKey = null;
+            ResponseCache.Entry cached = null;
+            if (caching && GET.equals(call) && !download) {
+                cacheKey = ResponseCache.getKey(url, headers, authorization);
+                cached = ResponseCache.get(cacheKey);
+            } else if (CHANGING_CALLS.contains(call) && ResponseCache.size() > 0) {
+                // the cache is shared, so a change made through any session makes its responses stale
+                ResponseCache.invalidate(this.serviceBaseUrl + service);
             }
-            connection.setRequestMethod(method);
-            connection.setRequestProperty("Content-length", "0");
-            connection.setRequestProperty("Accept", "application/json");
-            connection.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-            for (Map.Entry<String, String> entry : extraHeaders.entrySet()) {
-                connection.setRequestProperty(entry.getKey(), entry.getValue());
+            RequestBuilder builder = buildRequest(call, url, request, headers);
+            if (cached != null && cached.getEtag() != null) {
+                builder.setHeader("If-None-Match", cached.getEtag());
             }
-            connection.setDoOutput(true);
-            connection.setDoInput(true);
-            connection.setUseCaches(false);
-            connection.setAllowUserInteraction(false);
-            if (useCredentials()) {
-                String userpass = user + ":" + pass;
-                String encoding = new String(Base64.encodeBase64(userpass.getBytes()));
-                connection.setRequestProperty("Authorization", "Basic " + encoding);
+            if (cached != null && cached.getLastModified() != null) {
+                builder.setHeader("If-Modified-Since", cached.getLastModified());
             }
-            connection.connect();
-            if (request != null && request.getData() != null) {
-                writeDataRequest(connection, request);
+            HttpClientContext context = HttpClientContext.create();
+            try (CloseableHttpResponse httpResponse = transport.execute(builder.build(), context)) {
+                Response response;
+                if (cached != null && httpResponse.getStatusLine().getStatusCode() == 304) {
+                    ResponseCache.revalidate(cached, httpResponse);
+                    response = cached.toResponse(ResponseCache.Status.REVALIDATED);
+                } else {
+                    response = getResponse(httpResponse, download, file);
+                    if (cacheKey != null) {
+                        ResponseCache.put(cacheKey, this.serviceBaseUrl + service, httpResponse, response.getBody(),
+                                response.getCharset());
+                        response.setCacheStatus(ResponseCache.Status.MISS);
+                    }
+                }
+                Object connect = context.getAttribute(ConnectionPool.CONNECT_NANOS);
+                Object firstByte = context.getAttribute(ConnectionPool.FIRST_BYTE_NANOS);
+                response.setTimings(connect instanceof Long ? toMillis((Long) connect) : 0,
+                        firstByte instanceof Long ? toMillis((Long) firstByte - start) : 0,
+                        toMillis(System.nanoTime() - start));
+                return response;
             }
-            return getResponse(connection);
-        } catch (IOException e) {
+        } catch (IOException | IllegalArgumentException e) {
             log.error(e);
-        } finally {
-            if (connection != null) {
-                try {
-                    connection.disconnect();
-                } catch (Exception e) {
-                    log.error(e);
+        }
+        return null;
+    }
+
+    /**
+     * Builds the http request to be sent, setting the default and custom
+     * headers, any authentication, and the body to be sent (see getEntity)
+     *
+     * @param call    - what method are we calling
+     * @param url     - the full url to call, including any query parameters
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @param headers - the custom headers to send with the call
+     * @return RequestBuilder: the request, ready to be built and sent
+     * @throws IOException - if the data couldn't be compressed
+     */
+    private RequestBuilder buildRequest(String call, String url, Request request, Map<String, String> headers)
+            throws IOException {
+        RequestBuilder builder = RequestBuilder.create(call);
+        if (PATCH.equals(call) && patchOverride) {
+            builder = RequestBuilder.post().setHeader("X-HTTP-Method-Override", PATCH);
+        }
+        HttpEntity entity = getEntity(request);
+        builder.setUri(url);
+        builder.setHeader("Accept", "application/json");
+        if (entity != null && entity.getContentType() != null) {
+            builder.setHeader(entity.getContentType());
+        } else {
+            builder.setHeader("Content-Type", "application/json; charset=UTF-8");
+        }
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            // the content length is determined by the client from the data being sent
+            if (!"Content-Length".equalsIgnoreCase(entry.getKey())) {
+                builder.setHeader(entry.getKey(), entry.getValue());
+            }
+        }
+        if (authorization != null) {
+            builder.setHeader("Authorization", authorization);
+        }
+        builder.setEntity(entity);
+        return builder;
+    }
+
+    /**
+     * Builds the body to be sent with the request. Multipart form data, files
+     * and streams are written straight to the connection as the call is made,
+     * without being read into memory first. A stream of unknown length is sent
+     * chunked. Json data is sent as UTF-8, and gzip compressed if it is
+     * larger than the httpCompressRequestsOver system property
+     *
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return HttpEntity: the body to send, or null if there is none
+     * @throws IOException - if the data couldn't be compressed
+     */
+    private HttpEntity getEntity(Request request) throws IOException {
+        if (request == null) {
+            return null;
+        }
+        if (request.getMultipart() != null) {
+            MultipartEntityBuilder multipart = MultipartEntityBuilder.create().setCharset(StandardCharsets.UTF_8);
+            for (Map.Entry<String, Object> part : request.getMultipart().entrySet()) {
+                if (part.getValue() instanceof File) {
+                    multipart.addBinaryBody(part.getKey(), (File) part.getValue());
+                } else {
+                    multipart.addTextBody(part.getKey(), String.valueOf(part.getValue()),
+                            ContentType.create("text/plain", StandardCharsets.UTF_8));
                 }
             }
+            return multipart.build();
+        }
+        ContentType contentType = request.getContentType() == null ? ContentType.APPLICATION_OCTET_STREAM :
+                ContentType.parse(request.getContentType());
+        if (request.getFile() != null) {
+            return new FileEntity(request.getFile(), contentType);
+        }
+        if (request.getStream() != null) {
+            return new InputStreamEntity(request.getStream(), request.getStreamLength(), contentType);
+        }
+        if (request.getData() != null) {
+            byte[] data = request.getData().toString().getBytes(StandardCharsets.UTF_8);
+            // not every service accepts compressed requests, so only compress when asked to
+            int compressOver = Property.getInt(COMPRESS_REQUESTS_OVER, -1);
+            if (compressOver >= 0 && data.length > compressOver) {
+                ByteArrayEntity entity = new ByteArrayEntity(gzip(data));
+                entity.setContentEncoding("gzip");
+                return entity;
+            }
+            return new ByteArrayEntity(data);
         }
         return null;
     }
 
     /**
-     * Pushes request data to the open http connection
+     * Gzip compresses data to be sent
      *
-     * @param connection - the open connection of the http call
-     * @param request    - the parameters to be passed to the endpoint for the service
-     *                   call
+     * @param data - the data to compress
+     * @return byte[]: the compressed data
+     * @throws IOException - if the data couldn't be compressed
      */
-    private void writeDataRequest(HttpURLConnection connection, Request request) {
-        try (OutputStreamWriter wr = new OutputStreamWriter(connection.getOutputStream())) {
-            wr.write(request.getData().toString());
-            wr.flush();
-        } catch (IOException e) {
-            log.error(e);
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(data);
         }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Converts a duration from nanoseconds to milliseconds, keeping
+     * microsecond precision
+     *
+     * @param nanos - the duration in nanoseconds
+     * @return Double: the duration in milliseconds
+     */
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1000.0) / 1000.0;
     }
 
     /**
-     * Extracts the response data from the open http connection
+     * Extracts the response data from the http call. The body is streamed
+     * straight into a byte buffer, so that the connection can be returned to
+     * the pool to be reused. It is only decoded, or parsed as json, once the
+     * response is checked (see Response.setBody). If the body is being
+     * downloaded, it is instead streamed to the file (see writeDownload)
      *
-     * @param connection - the open connection of the http call
+     * @param httpResponse - the response of the http call
+     * @param download     - should the body be downloaded, rather than held in memory
+     * @param file         - the file to download the body to, or null to only digest it
      * @return Response: the response provided from the http call
+     * @throws IOException - if the body couldn't be read, or written to the file
      */
-    private Response getResponse(HttpURLConnection connection) {
-        int status;
-        try {
-            status = connection.getResponseCode();
-        } catch (IOException e) {
-            log.error(e);
-            return null;
+    private Response getResponse(HttpResponse httpResponse, boolean download, File file) throws IOException {
+        Response response = new Response(httpResponse.getStatusLine().getStatusCode());
+        HttpEntity entity = httpResponse.getEntity();
+        for (Header header : httpResponse.getAllHeaders()) {
+            response.addHeader(header.getName(), header.getValue());
+        }
+        if (entity != null && entity.getContentType() != null) {
+            response.setContentType(entity.getContentType().getValue());
+        }
+        if (download) {
+            writeDownload(entity, file, response);
+            return response;
+        }
+        byte[] body = new byte[0];
+        Charset charset = null;
+        if (entity != null) {
+            ContentType contentType = ContentType.get(entity);
+            charset = contentType == null ? null : contentType.getCharset();
+            body = EntityUtils.toByteArray(entity);
         }
-        Response response = new Response(status);
-        JsonObject object;
-        JsonArray array;
-        String data;
-        BufferedReader rd = null;
-        try { // NOSONAR - unable to use the try-with-resources block, as the rd
-            // needs to be read in the finally, and can't be closed
-            rd = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-        } catch (IOException e) {
-            log.warn(e);
-            rd = new BufferedReader(new InputStreamReader(connection.getErrorStream()));
-        } finally {
-            StringBuilder sb = new StringBuilder();
-            String line;
-            if (rd != null) {
-                try {
-                    while ((line = rd.readLine()) != null) {
-                        sb.append(line);
+        response.setBody(body, charset == null ? StandardCharsets.UTF_8 : charset);
+        return response;
+    }
+
+    /**
+     * Streams the body of the response to a file, a buffer at a time,
+     * computing its size and SHA-256 digest along the way, so the body is
+     * never held in memory as a whole. If no file is provided, the body is
+     * only digested
+     *
+     * @param entity   - the body of the response
+     * @param file     - the file to download the body to, or null to only digest it
+     * @param response - the response to set the download details on
+     * @throws IOException - if the body couldn't be read, or written to the file
+     */
+    private static void writeDownload(HttpEntity entity, File file, Response response) throws IOException {
+        MessageDigest digest = DigestUtils.getSha256Digest();
+        long size = 0;
+        try (OutputStream out = file == null ? null : new FileOutputStream(file)) {
+            if (entity != null) {
+                try (InputStream in = entity.getContent()) {
+                    byte[] buffer = new byte[64 * 1024];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                        if (out != null) {
+                            out.write(buffer, 0, read);
+                        }
+                        size += read;
                     }
-                } catch (IOException e) {
-                    log.error(e);
-                }
-                try {
-                    rd.close();
-                } catch (IOException e) {
-                    log.error(e);
-                }
-                data = sb.toString();
-                response.setMessage(data);
-                JsonParser parser = new JsonParser();
-                try {
-                    object = (JsonObject) parser.parse(data);
-                    response.setObjectData(object);
-                } catch (ClassCastException e) {
-                    log.debug(e);
-                    array = (JsonArray) parser.parse(data);
-                    response.setArrayData(array);
                 }
             }
         }
-        return response;
+        response.setDownload(file, size, Hex.encodeHexString(digest.digest()));
     }
-}
\ No newline at end of file
+}
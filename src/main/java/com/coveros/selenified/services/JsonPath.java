@@ -0,0 +1,283 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JsonPath is a compiled json path expression, which can be evaluated against
+ * a json tree to find the values it points to. Paths are compiled once, and
+ * cached, so repeatedly checking the same path only parses it the first
+ * time. The supported syntax is:
+ * <ul>
+ * <li>$ - the root of the json</li>
+ * <li>.name or ['name'] - the member of an object with that name</li>
+ * <li>[n] - the element of an array at that index, counting back from the
+ * end if negative</li>
+ * <li>.* or [*] - every member of an object, or every element of an array</li>
+ * <li>..name or ..* - a deep scan, matching at any depth below</li>
+ * </ul>
+ * For example, <i>$.store.books[*].author</i> or <i>$..id</i>
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class JsonPath {
+
+    private static final Map<String, JsonPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String path;
+    private final List<Segment> segments;
+
+    private JsonPath(String path) {
+        this.path = path;
+        this.segments = parse(path);
+    }
+
+    /**
+     * Compiles the provided json path, or retrieves it from the cache, if it
+     * has been compiled before
+     *
+     * @param path - the json path expression
+     * @return JsonPath: the compiled path
+     * @throws IllegalArgumentException - if the path isn't valid
+     */
+    public static JsonPath compile(String path) {
+        JsonPath compiled = CACHE.get(path);
+        if (compiled == null) {
+            compiled = new JsonPath(path);
+            CACHE.putIfAbsent(path, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Finds all of the values in the provided json which this path points to.
+     * If nothing matches, an empty list is returned
+     *
+     * @param root - the json to evaluate the path against
+     * @return List: the values the path points to, in document order
+     */
+    public List<JsonElement> evaluate(JsonElement root) {
+        List<JsonElement> current = new ArrayList<>();
+        if (root == null) {
+            return current;
+        }
+        current.add(root);
+        for (Segment segment : segments) {
+            List<JsonElement> next = new ArrayList<>();
+            for (JsonElement element : current) {
+                if (segment.deep) {
+                    for (JsonElement descendant : descendants(element)) {
+                        segment.select(descendant, next);
+                    }
+                } else {
+                    segment.select(element, next);
+                }
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * Collects an element, and every element nested anywhere below it
+     *
+     * @param element - the element to start from
+     * @return List: the element, and all of its descendants
+     */
+    private static List<JsonElement> descendants(JsonElement element) {
+        List<JsonElement> all = new ArrayList<>();
+        List<JsonElement> toVisit = new ArrayList<>(Collections.singletonList(element));
+        while (!toVisit.isEmpty()) {
+            JsonElement visiting = toVisit.remove(toVisit.size() - 1);
+            all.add(visiting);
+            List<JsonElement> children = new ArrayList<>();
+            if (visiting.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> entry : visiting.getAsJsonObject().entrySet()) {
+                    children.add(entry.getValue());
+                }
+            } else if (visiting.isJsonArray()) {
+                for (JsonElement child : visiting.getAsJsonArray()) {
+                    children.add(child);
+                }
+            }
+            // visit the children in document order
+            Collections.reverse(children);
+            toVisit.addAll(children);
+        }
+        return all;
+    }
+
+    /**
+     * Breaks the json path expression up into its segments
+     *
+     * @param path - the json path expression
+     * @return List: the segments of the path
+     * @throws IllegalArgumentException - if the path isn't valid
+     */
+    private static List<Segment> parse(String path) {
+        if (path == null || path.trim().isEmpty()) {
+            throw new IllegalArgumentException("No json path was provided");
+        }
+        String expression = path.trim();
+        if (expression.startsWith("$")) {
+            expression = expression.substring(1);
+        } else if (!expression.startsWith(".") && !expression.startsWith("[")) {
+            expression = "." + expression;
+        }
+        List<Segment> segments = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (c == '.') {
+                boolean deep = expression.startsWith("..", i);
+                i += deep ? 2 : 1;
+                if (i < expression.length() && expression.charAt(i) == '[') {
+                    i = parseBracket(path, expression, i, deep, segments);
+                    continue;
+                }
+                int end = i;
+                while (end < expression.length() && expression.charAt(end) != '.' && expression.charAt(end) != '[') {
+                    end++;
+                }
+                String name = expression.substring(i, end);
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Json path '" + path + "' has an empty member name");
+                }
+                segments.add("*".equals(name) ? Segment.wildcard(deep) : Segment.name(name, deep));
+                i = end;
+            } else if (c == '[') {
+                i = parseBracket(path, expression, i, false, segments);
+            } else {
+                throw new IllegalArgumentException("Json path '" + path + "' has an unexpected '" + c + "'");
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Parses a bracketed segment of the path, such as [0], [*] or ['name']
+     *
+     * @param path       - the full json path expression, for error messages
+     * @param expression - the expression being parsed
+     * @param start      - where the opening bracket is
+     * @param deep       - whether this segment is part of a deep scan
+     * @param segments   - the segments to add the parsed segment to
+     * @return Integer: where parsing should continue from
+     * @throws IllegalArgumentException - if the segment isn't valid
+     */
+    private static int parseBracket(String path, String expression, int start, boolean deep,
+                                    List<Segment> segments) {
+        int end = expression.indexOf(']', start);
+        if (end < 0) {
+            throw new IllegalArgumentException("Json path '" + path + "' has an unclosed '['");
+        }
+        String selector = expression.substring(start + 1, end).trim();
+        if ("*".equals(selector)) {
+            segments.add(Segment.wildcard(deep));
+        } else if (selector.length() >= 2 && (selector.charAt(0) == '\'' || selector.charAt(0) == '"') &&
+                selector.charAt(selector.length() - 1) == selector.charAt(0)) {
+            segments.add(Segment.name(selector.substring(1, selector.length() - 1), deep));
+        } else {
+            try {
+                segments.add(Segment.index(Integer.parseInt(selector), deep));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Json path '" + path + "' has an invalid selector [" + selector +
+                        "]", e);
+            }
+        }
+        return end + 1;
+    }
+
+    /**
+     * A single step of the path, selecting either a named member, an index,
+     * or everything, from each of the current values
+     */
+    private static final class Segment {
+        private final String name;
+        private final Integer index;
+        private final boolean deep;
+
+        private Segment(String name, Integer index, boolean deep) {
+            this.name = name;
+            this.index = index;
+            this.deep = deep;
+        }
+
+        static Segment name(String name, boolean deep) {
+            return new Segment(name, null, deep);
+        }
+
+        static Segment index(int index, boolean deep) {
+            return new Segment(null, index, deep);
+        }
+
+        static Segment wildcard(boolean deep) {
+            return new Segment(null, null, deep);
+        }
+
+        /**
+         * Adds the values this segment selects from the element to the results
+         *
+         * @param element - the element to select from
+         * @param results - where to add the selected values
+         */
+        void select(JsonElement element, List<JsonElement> results) {
+            if (name != null) {
+                if (element.isJsonObject() && element.getAsJsonObject().has(name)) {
+                    results.add(element.getAsJsonObject().get(name));
+                }
+            } else if (index != null) {
+                if (element.isJsonArray()) {
+                    JsonArray array = element.getAsJsonArray();
+                    int i = index < 0 ? array.size() + index : index;
+                    if (i >= 0 && i < array.size()) {
+                        results.add(array.get(i));
+                    }
+                }
+            } else if (element.isJsonObject()) {
+                JsonObject object = element.getAsJsonObject();
+                for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                    results.add(entry.getValue());
+                }
+            } else if (element.isJsonArray()) {
+                for (JsonElement child : element.getAsJsonArray()) {
+                    results.add(child);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,680 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * JsonSchema is a compiled json schema, which json can be validated against.
+ * Schemas are compiled once, and cached, so repeatedly validating against the
+ * same schema only compiles it the first time. A compiled schema is never
+ * changed, so it can be used by many threads at once. Json can either be
+ * validated as a tree, or streamed straight from a reader, so large arrays
+ * are checked as they are read, without ever being held in memory. The
+ * supported keywords are:
+ * <ul>
+ * <li>type - a single type, or an array of types</li>
+ * <li>properties, required, additionalProperties</li>
+ * <li>items (a single schema for every element), minItems, maxItems</li>
+ * <li>enum, const</li>
+ * <li>minimum, maximum, exclusiveMinimum, exclusiveMaximum</li>
+ * <li>minLength, maxLength, pattern</li>
+ * <li>allOf, anyOf, oneOf, not</li>
+ * <li>$ref - to another part of the same schema, such as
+ * <i>#/definitions/item</i></li>
+ * </ul>
+ * Any other keywords are ignored. Values checked by allOf, anyOf, oneOf, not,
+ * and by enum or const on objects and arrays, are read in full before being
+ * checked
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class JsonSchema {
+
+    private static final Map<String, JsonSchema> CACHE = new ConcurrentHashMap<>();
+    // reads json trees as strictly as the reader they're given, unlike JsonParser
+    private static final TypeAdapter<JsonElement> TREE = new Gson().getAdapter(JsonElement.class);
+    private static final List<String> TYPES =
+            Arrays.asList("object", "array", "string", "number", "integer", "boolean", "null");
+
+    private final JsonObject schema;
+    private final Map<String, Node> refs = new HashMap<>();
+    private final Node root;
+
+    // a schema which accepts anything, for properties with no schema of their own
+    private final Node anything = new Node(true);
+
+    private JsonSchema(JsonObject schema) {
+        this.schema = schema;
+        this.root = compileNode(schema, "#");
+        // compile each referenced part of the schema, including those only referenced by other references
+        boolean compiling = true;
+        while (compiling) {
+            compiling = false;
+            for (String ref : new ArrayList<>(refs.keySet())) {
+                if (refs.get(ref) == null) {
+                    refs.put(ref, compileNode(resolve(ref), ref));
+                    compiling = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Compiles the provided json schema, or retrieves it from the cache, if it
+     * has been compiled before
+     *
+     * @param schema - the json schema
+     * @return JsonSchema: the compiled schema
+     * @throws IllegalArgumentException - if the schema isn't valid
+     */
+    public static JsonSchema compile(JsonObject schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("No json schema was provided");
+        }
+        String key = schema.toString();
+        JsonSchema compiled = CACHE.get(key);
+        if (compiled == null) {
+            compiled = new JsonSchema(schema.deepCopy());
+            CACHE.putIfAbsent(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Loads and compiles the json schema held in the provided file, or
+     * retrieves it from the cache, if it has been compiled before. The file is
+     * only read again if it has been modified since it was last compiled
+     *
+     * @param file - the file holding the json schema
+     * @return JsonSchema: the compiled schema
+     * @throws IllegalArgumentException - if the file can't be read, or the schema isn't valid
+     */
+    public static JsonSchema load(File file) {
+        String key = "file:" + file.getAbsolutePath() + ":" + file.lastModified();
+        JsonSchema compiled = CACHE.get(key);
+        if (compiled == null) {
+            try (Reader reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8)) {
+                JsonElement schema = new JsonParser().parse(reader);
+                if (!schema.isJsonObject()) {
+                    throw new IllegalArgumentException("Json schema '" + file + "' is not a json object");
+                }
+                compiled = compile(schema.getAsJsonObject());
+            } catch (IOException | JsonParseException e) {
+                throw new IllegalArgumentException("Json schema '" + file + "' can't be read", e);
+            }
+            CACHE.putIfAbsent(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Retrieves the json schema which was compiled
+     *
+     * @return JsonObject: a copy of the json schema
+     */
+    public JsonObject getSchema() {
+        return schema.deepCopy();
+    }
+
+    /**
+     * Validates the provided json against the schema. If the json is valid, an
+     * empty list is returned
+     *
+     * @param json - the json to validate
+     * @return List: a description of each violation of the schema found, in document order
+     */
+    public List<String> validate(JsonElement json) {
+        List<String> violations = new ArrayList<>();
+        root.check(json == null ? JsonNull.INSTANCE : json, "$", violations);
+        return violations;
+    }
+
+    /**
+     * Validates the json read from the provided reader against the schema, as
+     * it is read, without building a json tree of it. If the json is valid, an
+     * empty list is returned. The json is read strictly, so if it isn't well
+     * formed, that is included as the last violation
+     *
+     * @param reader - where to read the json to validate from
+     * @return List: a description of each violation of the schema found, in document order
+     */
+    public List<String> validate(Reader reader) {
+        List<String> violations = new ArrayList<>();
+        try {
+            JsonReader json = new JsonReader(reader);
+            root.read(json, "$", violations);
+            if (json.peek() != JsonToken.END_DOCUMENT) {
+                violations.add("$: unexpected content after the json");
+            }
+        } catch (IOException | JsonParseException | IllegalStateException | NumberFormatException e) {
+            violations.add("$: is not valid json. " + e.getMessage());
+        }
+        return violations;
+    }
+
+    @Override
+    public String toString() {
+        return schema.toString();
+    }
+
+    /**
+     * Finds the part of the schema a reference points to. Only references
+     * within this schema, as a json pointer, are supported
+     *
+     * @param ref - the reference, such as #/definitions/item
+     * @return JsonElement: the part of the schema referenced
+     * @throws IllegalArgumentException - if the reference can't be resolved
+     */
+    private JsonElement resolve(String ref) {
+        if (!ref.startsWith("#")) {
+            throw new IllegalArgumentException("Json schema reference '" + ref + "' is not within the schema");
+        }
+        JsonElement current = schema;
+        for (String token : ref.substring(1).split("/")) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            String name = token.replace("~1", "/").replace("~0", "~");
+            if (current.isJsonObject() && current.getAsJsonObject().has(name)) {
+                current = current.getAsJsonObject().get(name);
+            } else if (current.isJsonArray() && name.matches("\\d+") &&
+                    Integer.parseInt(name) < current.getAsJsonArray().size()) {
+                current = current.getAsJsonArray().get(Integer.parseInt(name));
+            } else {
+                throw new IllegalArgumentException("Json schema reference '" + ref + "' can't be resolved");
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Compiles a part of the schema into a node, which can check json against
+     * it. Any references found are noted, to be compiled afterwards
+     *
+     * @param element  - the part of the schema to compile
+     * @param location - where in the schema this part is, for error messages
+     * @return Node: the compiled part of the schema
+     * @throws IllegalArgumentException - if the part of the schema isn't valid
+     */
+    private Node compileNode(JsonElement element, String location) {
+        if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isBoolean()) {
+            return new Node(element.getAsBoolean());
+        }
+        if (!element.isJsonObject()) {
+            throw new IllegalArgumentException("Json schema at '" + location + "' is not an object or boolean");
+        }
+        JsonObject object = element.getAsJsonObject();
+        Node node = new Node(true);
+        if (object.has("$ref")) {
+            node.ref = getString(object, "$ref", location);
+            refs.putIfAbsent(node.ref, null);
+            return node;
+        }
+        if (object.has("type")) {
+            node.types = new ArrayList<>();
+            JsonElement type = object.get("type");
+            Iterable<JsonElement> all = type.isJsonArray() ? type.getAsJsonArray() : Collections.singletonList(type);
+            for (JsonElement each : all) {
+                if (!each.isJsonPrimitive() || !TYPES.contains(each.getAsString())) {
+                    throw new IllegalArgumentException("Json schema at '" + location + "' has an unknown type " +
+                            each);
+                }
+                node.types.add(each.getAsString());
+            }
+        }
+        if (object.has("properties")) {
+            JsonElement properties = object.get("properties");
+            if (!properties.isJsonObject()) {
+                throw new IllegalArgumentException("Json schema at '" + location + "' has invalid properties");
+            }
+            node.properties = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonElement> property : properties.getAsJsonObject().entrySet()) {
+                node.properties.put(property.getKey(), compileNode(property.getValue(),
+                        location + "/properties/" + property.getKey()));
+            }
+        }
+        if (object.has("required")) {
+            node.required = new ArrayList<>();
+            for (JsonElement name : getArray(object, "required", location)) {
+                node.required.add(name.getAsString());
+            }
+        }
+        if (object.has("additionalProperties")) {
+            node.additionalProperties =
+                    compileNode(object.get("additionalProperties"), location + "/additionalProperties");
+        }
+        if (object.has("items")) {
+            node.items = compileNode(object.get("items"), location + "/items");
+        }
+        node.minItems = getNumber(object, "minItems", location);
+        node.maxItems = getNumber(object, "maxItems", location);
+        node.minLength = getNumber(object, "minLength", location);
+        node.maxLength = getNumber(object, "maxLength", location);
+        node.minimum = getNumber(object, "minimum", location);
+        node.maximum = getNumber(object, "maximum", location);
+        node.exclusiveMinimum = getNumber(object, "exclusiveMinimum", location);
+        node.exclusiveMaximum = getNumber(object, "exclusiveMaximum", location);
+        if (object.has("pattern")) {
+            try {
+                node.pattern = Pattern.compile(getString(object, "pattern", location));
+            } catch (PatternSyntaxException e) {
+                throw new IllegalArgumentException("Json schema at '" + location + "' has an invalid pattern", e);
+            }
+        }
+        if (object.has("enum")) {
+            node.allowed = new ArrayList<>();
+            for (JsonElement value : getArray(object, "enum", location)) {
+                node.allowed.add(value);
+            }
+        }
+        if (object.has("const")) {
+            node.allowed = Collections.singletonList(object.get("const"));
+        }
+        node.allOf = compileNodes(object, "allOf", location);
+        node.anyOf = compileNodes(object, "anyOf", location);
+        node.oneOf = compileNodes(object, "oneOf", location);
+        if (object.has("not")) {
+            node.not = compileNode(object.get("not"), location + "/not");
+        }
+        return node;
+    }
+
+    /**
+     * Compiles each of the schemas in an array keyword, such as anyOf
+     *
+     * @param object   - the part of the schema holding the keyword
+     * @param keyword  - the keyword to compile
+     * @param location - where in the schema this part is, for error messages
+     * @return List: the compiled schemas, or null if the keyword isn't present
+     */
+    private List<Node> compileNodes(JsonObject object, String keyword, String location) {
+        if (!object.has(keyword)) {
+            return null;    // NOSONAR - null indicates the keyword isn't used
+        }
+        List<Node> nodes = new ArrayList<>();
+        JsonArray schemas = getArray(object, keyword, location);
+        for (int i = 0; i < schemas.size(); i++) {
+            nodes.add(compileNode(schemas.get(i), location + "/" + keyword + "/" + i));
+        }
+        return nodes;
+    }
+
+    private static String getString(JsonObject object, String keyword, String location) {
+        JsonElement value = object.get(keyword);
+        if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString()) {
+            throw new IllegalArgumentException("Json schema at '" + location + "' has a non string " + keyword);
+        }
+        return value.getAsString();
+    }
+
+    private static JsonArray getArray(JsonObject object, String keyword, String location) {
+        JsonElement value = object.get(keyword);
+        if (!value.isJsonArray()) {
+            throw new IllegalArgumentException("Json schema at '" + location + "' has a non array " + keyword);
+        }
+        return value.getAsJsonArray();
+    }
+
+    private static BigDecimal getNumber(JsonObject object, String keyword, String location) {
+        if (!object.has(keyword)) {
+            return null;    // NOSONAR - null indicates the keyword isn't used
+        }
+        JsonElement value = object.get(keyword);
+        if (!value.isJsonPrimitive() || !value.getAsJsonPrimitive().isNumber()) {
+            throw new IllegalArgumentException("Json schema at '" + location + "' has a non numeric " + keyword);
+        }
+        return value.getAsBigDecimal();
+    }
+
+    /**
+     * Determines the schema type of a json value. Whole numbers are integers
+     *
+     * @param element - the json value
+     * @return String: the type of the value
+     */
+    private static String typeOf(JsonElement element) {
+        if (element.isJsonObject()) {
+            return "object";
+        }
+        if (element.isJsonArray()) {
+            return "array";
+        }
+        if (element.isJsonNull()) {
+            return "null";
+        }
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return "boolean";
+        }
+        if (primitive.isNumber()) {
+            BigDecimal number = primitive.getAsBigDecimal();
+            return number.signum() == 0 || number.stripTrailingZeros().scale() <= 0 ? "integer" : "number";
+        }
+        return "string";
+    }
+
+    /**
+     * A single compiled part of the schema, which checks a json value, and
+     * any values nested within it
+     */
+    private final class Node {
+        private final boolean accepts;
+        private String ref;
+        private List<String> types;
+        private Map<String, Node> properties;
+        private List<String> required;
+        private Node additionalProperties;
+        private Node items;
+        private BigDecimal minItems;
+        private BigDecimal maxItems;
+        private BigDecimal minLength;
+        private BigDecimal maxLength;
+        private BigDecimal minimum;
+        private BigDecimal maximum;
+        private BigDecimal exclusiveMinimum;
+        private BigDecimal exclusiveMaximum;
+        private Pattern pattern;
+        private List<JsonElement> allowed;
+        private List<Node> allOf;
+        private List<Node> anyOf;
+        private List<Node> oneOf;
+        private Node not;
+
+        private Node(boolean accepts) {
+            this.accepts = accepts;
+        }
+
+        /**
+         * Determines if values must be read in full before they are checked
+         *
+         * @return Boolean: must values be read in full
+         */
+        private boolean needsTree() {
+            return allowed != null || allOf != null || anyOf != null || oneOf != null || not != null;
+        }
+
+        /**
+         * Checks the next value from the reader, as it is read, adding any
+         * violations found
+         *
+         * @param reader     - where the json is read from
+         * @param path       - where in the json the value is
+         * @param violations - where to add any violations found
+         * @throws IOException - if the json can't be read
+         */
+        void read(JsonReader reader, String path, List<String> violations) throws IOException {
+            if (ref != null) {
+                refs.get(ref).read(reader, path, violations);
+                return;
+            }
+            JsonToken token = reader.peek();
+            if (!accepts || needsTree() || (token != JsonToken.BEGIN_OBJECT && token != JsonToken.BEGIN_ARRAY)) {
+                check(readValue(reader), path, violations);
+                return;
+            }
+            if (token == JsonToken.BEGIN_OBJECT) {
+                checkType("object", path, violations);
+                Set<String> found = new HashSet<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    found.add(name);
+                    Node child = getProperty(name);
+                    if (child == null) {
+                        violations.add(path + ": has an unexpected property '" + name + "'");
+                        reader.skipValue();
+                    } else if (child.accepts && child.isEmpty()) {
+                        reader.skipValue();
+                    } else {
+                        child.read(reader, path + "." + name, violations);
+                    }
+                }
+                reader.endObject();
+                checkRequired(found, path, violations);
+            } else {
+                checkType("array", path, violations);
+                long size = 0;
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (items == null || (items.accepts && items.isEmpty())) {
+                        reader.skipValue();
+                    } else {
+                        items.read(reader, path + "[" + size + "]", violations);
+                    }
+                    size++;
+                }
+                reader.endArray();
+                checkSize(size, minItems, maxItems, "elements", path, violations);
+            }
+        }
+
+        /**
+         * Checks a json value, and any values nested within it, adding any
+         * violations found
+         *
+         * @param element    - the json value
+         * @param path       - where in the json the value is
+         * @param violations - where to add any violations found
+         */
+        void check(JsonElement element, String path, List<String> violations) {
+            if (ref != null) {
+                refs.get(ref).check(element, path, violations);
+                return;
+            }
+            if (!accepts) {
+                violations.add(path + ": is not allowed");
+                return;
+            }
+            String type = typeOf(element);
+            checkType(type, path, violations);
+            if (allowed != null && !allowed.contains(element)) {
+                violations.add(path + ": " + element + " is not one of the allowed values " + allowed);
+            }
+            if (element.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet()) {
+                    Node child = getProperty(entry.getKey());
+                    if (child == null) {
+                        violations.add(path + ": has an unexpected property '" + entry.getKey() + "'");
+                    } else {
+                        child.check(entry.getValue(), path + "." + entry.getKey(), violations);
+                    }
+                }
+                checkRequired(element.getAsJsonObject().keySet(), path, violations);
+            } else if (element.isJsonArray()) {
+                JsonArray array = element.getAsJsonArray();
+                if (items != null) {
+                    for (int i = 0; i < array.size(); i++) {
+                        items.check(array.get(i), path + "[" + i + "]", violations);
+                    }
+                }
+                checkSize(array.size(), minItems, maxItems, "elements", path, violations);
+            } else if ("string".equals(type)) {
+                String value = element.getAsString();
+                checkSize(value.codePointCount(0, value.length()), minLength, maxLength, "characters", path,
+                        violations);
+                if (pattern != null && !pattern.matcher(value).find()) {
+                    violations.add(path + ": \"" + value + "\" does not match the pattern " + pattern);
+                }
+            } else if (element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber()) {
+                checkNumber(element.getAsBigDecimal(), path, violations);
+            }
+            checkCombinations(element, path, violations);
+        }
+
+        private boolean isEmpty() {
+            return ref == null && types == null && properties == null && required == null &&
+                    additionalProperties == null && items == null && minItems == null && maxItems == null &&
+                    minLength == null && maxLength == null && minimum == null && maximum == null &&
+                    exclusiveMinimum == null && exclusiveMaximum == null && pattern == null && !needsTree();
+        }
+
+        /**
+         * Finds the schema a property of an object should match. If the
+         * property isn't allowed, null is returned
+         *
+         * @param name - the name of the property
+         * @return Node: the schema the property should match
+         */
+        private Node getProperty(String name) {
+            if (properties != null && properties.containsKey(name)) {
+                return properties.get(name);
+            }
+            if (additionalProperties != null) {
+                return additionalProperties.accepts ? additionalProperties : null;
+            }
+            return anything;
+        }
+
+        private void checkType(String type, String path, List<String> violations) {
+            if (types != null && !types.contains(type) && !("integer".equals(type) && types.contains("number"))) {
+                violations.add(path + ": expected " + String.join(" or ", types) + ", but found " + type);
+            }
+        }
+
+        private void checkRequired(Set<String> found, String path, List<String> violations) {
+            if (required != null) {
+                for (String name : required) {
+                    if (!found.contains(name)) {
+                        violations.add(path + ": is missing the required property '" + name + "'");
+                    }
+                }
+            }
+        }
+
+        private void checkSize(long size, BigDecimal min, BigDecimal max, String unit, String path,
+                               List<String> violations) {
+            if (min != null && BigDecimal.valueOf(size).compareTo(min) < 0) {
+                violations.add(path + ": has " + size + " " + unit + ", fewer than the minimum of " + min);
+            }
+            if (max != null && BigDecimal.valueOf(size).compareTo(max) > 0) {
+                violations.add(path + ": has " + size + " " + unit + ", more than the maximum of " + max);
+            }
+        }
+
+        private void checkNumber(BigDecimal value, String path, List<String> violations) {
+            if (minimum != null && value.compareTo(minimum) < 0) {
+                violations.add(path + ": " + value + " is below the minimum of " + minimum);
+            }
+            if (maximum != null && value.compareTo(maximum) > 0) {
+                violations.add(path + ": " + value + " is above the maximum of " + maximum);
+            }
+            if (exclusiveMinimum != null && value.compareTo(exclusiveMinimum) <= 0) {
+                violations.add(path + ": " + value + " is not above the exclusive minimum of " + exclusiveMinimum);
+            }
+            if (exclusiveMaximum != null && value.compareTo(exclusiveMaximum) >= 0) {
+                violations.add(path + ": " + value + " is not below the exclusive maximum of " + exclusiveMaximum);
+            }
+        }
+
+        private void checkCombinations(JsonElement element, String path, List<String> violations) {
+            if (allOf != null) {
+                for (Node node : allOf) {
+                    node.check(element, path, violations);
+                }
+            }
+            if (anyOf != null && countMatches(anyOf, element) == 0) {
+                violations.add(path + ": does not match any of the anyOf schemas");
+            }
+            if (oneOf != null) {
+                int matches = countMatches(oneOf, element);
+                if (matches != 1) {
+                    violations.add(path + ": matches " + matches + " of the oneOf schemas, rather than exactly one");
+                }
+            }
+            if (not != null && not.matches(element)) {
+                violations.add(path + ": matches the schema it should not");
+            }
+        }
+
+        private int countMatches(List<Node> nodes, JsonElement element) {
+            int matches = 0;
+            for (Node node : nodes) {
+                if (node.matches(element)) {
+                    matches++;
+                }
+            }
+            return matches;
+        }
+
+        private boolean matches(JsonElement element) {
+            List<String> found = new ArrayList<>();
+            check(element, "$", found);
+            return found.isEmpty();
+        }
+    }
+
+    /**
+     * Reads the next value from the reader into a json tree. Numbers are kept
+     * exactly as written
+     *
+     * @param reader - where the json is read from
+     * @return JsonElement: the value read
+     * @throws IOException - if the json can't be read
+     */
+    private static JsonElement readValue(JsonReader reader) throws IOException {
+        switch (reader.peek()) {
+            case STRING:
+                return new JsonPrimitive(reader.nextString());
+            case NUMBER:
+                return new JsonPrimitive(new BigDecimal(reader.nextString()));
+            case BOOLEAN:
+                return new JsonPrimitive(reader.nextBoolean());
+            case NULL:
+                reader.nextNull();
+                return JsonNull.INSTANCE;
+            default:
+                return TREE.read(reader);
+        }
+    }
+}
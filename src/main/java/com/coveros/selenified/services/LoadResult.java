@@ -0,0 +1,225 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.OutputFile.Success;
+import com.coveros.selenified.utilities.Histogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class designed to hold the outcome of a load run against a service, made
+ * through Call.load or Call.loadFor. It captures the latency of every call in
+ * a histogram, along with how many calls were made, how many of them failed,
+ * and how long the run took. A call is considered to have failed if no
+ * response was received, or if the response code was 400 or above. Asserts
+ * can be made on these figures, which are written out to the output file.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class LoadResult {
+
+    private final Histogram latencies = new Histogram();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final int workers;
+    private double seconds = 0;
+
+    // this will be the name of the file we write all commands out to
+    private final OutputFile file;
+
+    // constants
+    private static final String EXPECTED = "Expected to find ";
+    private static final String FOUND = "Found ";
+
+    public LoadResult(OutputFile file, int workers) {
+        this.file = file;
+        this.workers = workers;
+    }
+
+    /**
+     * Records the outcome of a single call made during the load
+     *
+     * @param millis - how long the call took, in milliseconds
+     * @param failed - whether the call failed
+     */
+    public void record(double millis, boolean failed) {
+        latencies.record(millis);
+        if (failed) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public void setSeconds(double seconds) {
+        this.seconds = seconds;
+    }
+
+    public double getSeconds() {
+        return seconds;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    public int getCalls() {
+        return latencies.getCount();
+    }
+
+    public int getErrors() {
+        return errors.get();
+    }
+
+    /**
+     * Retrieves the percentage of calls which failed. If no calls were made,
+     * this is 0
+     *
+     * @return Double: the percentage of calls which failed, between 0 and 100
+     */
+    public double getErrorRate() {
+        if (getCalls() == 0) {
+            return 0;
+        }
+        return 100.0 * getErrors() / getCalls();
+    }
+
+    /**
+     * Retrieves how many calls were completed each second, on average, over
+     * the whole run
+     *
+     * @return Double: the number of calls per second
+     */
+    public double getThroughput() {
+        if (seconds <= 0) {
+            return 0;
+        }
+        return getCalls() / seconds;
+    }
+
+    /**
+     * Builds an HTML formatted summary of the load run, to be written out to
+     * the output file
+     *
+     * @return String: the summary of the load run
+     */
+    public String getSummary() {
+        return "Made <b>" + getCalls() + "</b> calls in <b>" + format(seconds) + "</b> seconds (<b>" +
+                format(getThroughput()) + "</b> calls/sec), with <b>" + getErrors() + "</b> errors (<b>" +
+                format(getErrorRate()) + "%</b>)<br/>Latency: p50 <b>" + format(latencies.getPercentile(50)) +
+                "ms</b>, p95 <b>" + format(latencies.getPercentile(95)) + "ms</b>, p99 <b>" +
+                format(latencies.getPercentile(99)) + "ms</b>, max <b>" + format(latencies.getMax()) + "ms</b>";
+    }
+
+    ///////////////////////////////////////////////////////////////////
+    // some comparisons for our load
+    ///////////////////////////////////////////////////////////////////
+
+    /**
+     * Verifies the provided percentile of the call latencies is below the
+     * expected time, and writes that out to the output file. For example, a
+     * percentile of 95 checks that 95% of calls completed in under the time
+     *
+     * @param percentile - the percentile to check, between 0 and 100
+     * @param millis     - the time, in milliseconds, the percentile should be below
+     */
+    public void assertPercentileBelow(double percentile, double millis) {
+        double actual = latencies.getPercentile(percentile);
+        Success success = (getCalls() > 0 && actual < millis) ? Success.PASS : Success.FAIL;
+        record(EXPECTED + "a p" + format(percentile) + " latency below <b>" + format(millis) + "ms</b>",
+                FOUND + "a p" + format(percentile) + " latency of <b>" + format(actual) + "ms</b> over <b>" +
+                        getCalls() + "</b> calls", success);
+    }
+
+    /**
+     * Verifies the slowest call completed below the expected time, and writes
+     * that out to the output file
+     *
+     * @param millis - the time, in milliseconds, every call should be below
+     */
+    public void assertMaxBelow(double millis) {
+        Success success = (getCalls() > 0 && latencies.getMax() < millis) ? Success.PASS : Success.FAIL;
+        record(EXPECTED + "a max latency below <b>" + format(millis) + "ms</b>",
+                FOUND + "a max latency of <b>" + format(latencies.getMax()) + "ms</b> over <b>" + getCalls() +
+                        "</b> calls", success);
+    }
+
+    /**
+     * Verifies the percentage of calls which failed is below the expected
+     * rate, and writes that out to the output file
+     *
+     * @param percent - the percentage, between 0 and 100, the error rate should be below
+     */
+    public void assertErrorRateBelow(double percent) {
+        Success success = (getCalls() > 0 && getErrorRate() < percent) ? Success.PASS : Success.FAIL;
+        record(EXPECTED + "an error rate below <b>" + format(percent) + "%</b>",
+                FOUND + "an error rate of <b>" + format(getErrorRate()) + "%</b>, with <b>" + getErrors() +
+                        "</b> errors over <b>" + getCalls() + "</b> calls", success);
+    }
+
+    /**
+     * Verifies the number of calls completed each second is above the
+     * expected throughput, and writes that out to the output file
+     *
+     * @param callsPerSecond - the number of calls per second the throughput should be above
+     */
+    public void assertThroughputAbove(double callsPerSecond) {
+        Success success = (getThroughput() > callsPerSecond) ? Success.PASS : Success.FAIL;
+        record(EXPECTED + "a throughput above <b>" + format(callsPerSecond) + "</b> calls/sec",
+                FOUND + "a throughput of <b>" + format(getThroughput()) + "</b> calls/sec", success);
+    }
+
+    /**
+     * Writes the expected and actual outcome of a check out to the output file,
+     * along with any resulting errors
+     *
+     * @param expected - what the expected outcome is
+     * @param actual   - what the actual outcome was
+     * @param success  - whether this result is a pass or a failure
+     */
+    private void record(String expected, String actual, Success success) {
+        synchronized (file) {
+            file.recordExpected(expected);
+            file.recordActual(actual, success);
+            file.addErrors(success.getErrors());
+        }
+    }
+
+    /**
+     * Formats a figure for display, rounded to two decimal places, and without
+     * any decimal places if it is a whole number
+     *
+     * @param value - the figure to format
+     * @return String: the formatted figure
+     */
+    static String format(double value) {
+        double rounded = Math.round(value * 100) / 100.0;
+        if (rounded == Math.rint(rounded)) {
+            return String.valueOf((long) rounded);
+        }
+        return String.valueOf(rounded);
+    }
+}
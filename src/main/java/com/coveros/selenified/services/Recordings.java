@@ -0,0 +1,371 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.log4testng.Logger;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Recordings allows services calls to be recorded against a live backend, and
+ * later replayed without one. The mode is set with the httpMode system
+ * property:
+ * <ul>
+ * <li>record - every call is made as normal, and the request and response
+ * are written to the recordings file</li>
+ * <li>replay - no calls are made at all, instead each response is looked up
+ * from the recordings file</li>
+ * </ul>
+ * Downloads (see HTTP.download) are never recorded, and aren't made at all
+ * when replaying.
+ * If the property isn't set, calls are made as normal, without recording.
+ * The recordings file is set with the httpRecordings system property, and
+ * defaults to <i>recordings.jsonl</i>. It holds one call per line, as json,
+ * and is overwritten the first time a call is recorded into it by a run.
+ * Calls are matched on their method, base url, endpoint, parameters and data,
+ * and a digest of any file or multipart body they upload, so the same
+ * endpoint recorded against two services is replayed from each. Headers and
+ * credentials are not matched. A streamed body can only be read once, so calls
+ * streaming their body aren't recorded, and aren't made at all when replaying. Each response is replayed with
+ * the code, headers and body that were recorded. When replaying, the recordings are
+ * loaded once into an index, so each lookup is a single hash lookup. If the
+ * same call was recorded more than once, its responses are replayed in the
+ * order they were recorded, with the last one repeated after that.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class Recordings {
+
+    private static final Logger log = Logger.getLogger(Recordings.class);
+
+    public static final String MODE = "httpMode";
+    public static final String FILE = "httpRecordings";
+    private static final String DEFAULT_FILE = "recordings.jsonl";
+
+    private static final Gson gson = new Gson();
+    private static final Set<String> recorded = new HashSet<>();
+    private static Map<String, Recorded> index = null;
+    private static String indexedFile = null;
+
+    /**
+     * How calls are being made
+     */
+    public enum Mode {
+        LIVE, RECORD, REPLAY
+    }
+
+    private Recordings() {
+    }
+
+    /**
+     * Determines how calls are being made, from the httpMode system property
+     *
+     * @return Mode: whether calls are being made live, recorded, or replayed
+     */
+    public static Mode getMode() {
+        String mode = System.getProperty(MODE);
+        if ("record".equalsIgnoreCase(mode)) {
+            return Mode.RECORD;
+        }
+        if ("replay".equalsIgnoreCase(mode)) {
+            return Mode.REPLAY;
+        }
+        return Mode.LIVE;
+    }
+
+    /**
+     * Retrieves the file calls are recorded to, and replayed from
+     *
+     * @return File: the recordings file
+     */
+    public static File getFile() {
+        return new File(System.getProperty(FILE, DEFAULT_FILE));
+    }
+
+    /**
+     * Forgets any loaded recordings, and the position of each replayed call,
+     * so that the next call replayed reloads the recordings file, and the next
+     * call recorded starts it over
+     */
+    public static synchronized void reset() {
+        recorded.clear();
+        index = null;
+        indexedFile = null;
+    }
+
+    /**
+     * Builds the key a call is matched on, from its method, base url,
+     * endpoint, parameters, data, and the digest of any file or multipart
+     * body (see getBodyDigest). The parameters are sorted, so the order they
+     * were set in doesn't matter
+     *
+     * @param call    - what http method call is being made
+     * @param url     - the base url of the services location
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return String: the key to match the call on
+     */
+    static String getKey(String call, String url, String service, Request request) {
+        return getKey(call, url, service, request, getBodyDigest(request));
+    }
+
+    /**
+     * Builds the key a call is matched on (see above), from an already
+     * determined body digest, as recorded calls no longer have their body
+     *
+     * @param call       - what http method call is being made
+     * @param url        - the base url of the services location
+     * @param service    - the endpoint of the service under test
+     * @param request    - the parameters to be passed to the endpoint for the service
+     *                   call
+     * @param bodyDigest - the digest of the file or multipart body, or null if there is none
+     * @return String: the key to match the call on
+     */
+    private static String getKey(String call, String url, String service, Request request, String bodyDigest) {
+        StringBuilder key = new StringBuilder(call).append(' ').append(url).append(service);
+        if (request != null && request.getParams() != null) {
+            key.append('?').append(new TreeMap<>(request.getParams()));
+        }
+        if (request != null && request.getData() != null) {
+            key.append('\n').append(request.getData());
+        }
+        if (bodyDigest != null) {
+            key.append('\n').append(bodyDigest);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Digests the file or multipart body uploaded by a call, so different
+     * uploads to the same endpoint are told apart. Multipart parts are
+     * digested by name, so the order they were added in doesn't matter. If a
+     * file can't be read, the call itself reports it, so it isn't digested
+     *
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return String: the SHA-256 digest of the body, or null if there is no
+     * file or multipart body
+     */
+    static String getBodyDigest(Request request) {
+        if (request == null || (request.getFile() == null && request.getMultipart() == null)) {
+            return null;
+        }
+        try {
+            if (request.getFile() != null) {
+                try (InputStream body = Files.newInputStream(request.getFile().toPath())) {
+                    return DigestUtils.sha256Hex(body);
+                }
+            }
+            MessageDigest digest = DigestUtils.getSha256Digest();
+            for (Map.Entry<String, Object> part : new TreeMap<>(request.getMultipart()).entrySet()) {
+                digest.update(part.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                if (part.getValue() instanceof File) {
+                    try (InputStream body = Files.newInputStream(((File) part.getValue()).toPath())) {
+                        DigestUtils.updateDigest(digest, body);
+                    }
+                } else {
+                    digest.update(String.valueOf(part.getValue()).getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return Hex.encodeHexString(digest.digest());
+        } catch (IOException e) {
+            log.warn(e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a call, and the response it received, to the recordings file
+     *
+     * @param call     - what http method call was made
+     * @param url      - the base url of the services location
+     * @param service  - the endpoint of the service under test
+     * @param request  - the parameters passed to the endpoint for the service call
+     * @param response - the response provided from the http call
+     */
+    static synchronized void record(String call, String url, String service, Request request, Response response) {
+        JsonObject line = new JsonObject();
+        line.addProperty("method", call);
+        line.addProperty("url", url);
+        line.addProperty("service", service);
+        if (request != null && request.getParams() != null) {
+            line.add("params", gson.toJsonTree(new TreeMap<>(request.getParams())));
+        }
+        if (request != null && request.getData() != null) {
+            line.add("data", request.getData());
+        }
+        String bodyDigest = getBodyDigest(request);
+        if (bodyDigest != null) {
+            line.addProperty("bodyDigest", bodyDigest);
+        }
+        line.addProperty("code", response.getCode());
+        line.addProperty("charset", response.getCharset().name());
+        line.add("headers", gson.toJsonTree(response.getHeaders()));
+        line.addProperty("body", response.getMessage());
+        File file = getFile();
+        // the first call recorded to a file in a run starts it over
+        StandardOpenOption mode = recorded.add(file.getAbsolutePath()) ? StandardOpenOption.TRUNCATE_EXISTING :
+                StandardOpenOption.APPEND;
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            writer.write(gson.toJson(line));
+            writer.write("\n");
+        } catch (IOException e) {
+            log.error(e);
+        }
+    }
+
+    /**
+     * Looks up the recorded response of a call. If the call wasn't recorded,
+     * null is returned
+     *
+     * @param call    - what http method call is being made
+     * @param url     - the base url of the services location
+     * @param service - the endpoint of the service under test
+     * @param request - the parameters to be passed to the endpoint for the service
+     *                call
+     * @return Response: the recorded response of the call
+     */
+    static Response replay(String call, String url, String service, Request request) {
+        Recorded recording = getIndex().get(getKey(call, url, service, request));
+        if (recording == null) {
+            log.error("No recording was found of " + call + " " + url + service + " in " + getFile());
+            return null;
+        }
+        Response response = recording.next();
+        response.setReplayed(true);
+        return response;
+    }
+
+    /**
+     * Retrieves the index of the recordings file, loading it if it hasn't
+     * been loaded yet, or if a different recordings file is now set
+     *
+     * @return Map: the recordings, by the key of the call (see getKey)
+     */
+    private static synchronized Map<String, Recorded> getIndex() {
+        File file = getFile();
+        if (index == null || !file.getAbsolutePath().equals(indexedFile)) {
+            index = load(file);
+            indexedFile = file.getAbsolutePath();
+        }
+        return index;
+    }
+
+    /**
+     * Reads all recordings out of the recordings file
+     *
+     * @param file - the recordings file
+     * @return Map: the recordings, by the key of the call (see getKey)
+     */
+    private static Map<String, Recorded> load(File file) {
+        Map<String, Recorded> recordings = new HashMap<>();
+        if (!file.exists()) {
+            log.error("Recordings file " + file + " doesn't exist");
+            return recordings;
+        }
+        JsonParser parser = new JsonParser();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                JsonObject json = parser.parse(line).getAsJsonObject();
+                Request request = new Request(json.has("data") ? json.getAsJsonObject("data") : null);
+                if (json.has("params")) {
+                    Map<String, String> params = new HashMap<>();
+                    json.getAsJsonObject("params").entrySet()
+                            .forEach(param -> params.put(param.getKey(), param.getValue().getAsString()));
+                    request.setParams(params);
+                }
+                String url = json.has("url") ? json.get("url").getAsString() : "";
+                String bodyDigest = json.has("bodyDigest") ? json.get("bodyDigest").getAsString() : null;
+                String key = getKey(json.get("method").getAsString(), url, json.get("service").getAsString(),
+                        request, bodyDigest);
+                recordings.computeIfAbsent(key, k -> new Recorded()).add(json);
+            }
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            log.error(e);
+        }
+        return recordings;
+    }
+
+    /**
+     * The recorded responses of a single call, in the order they were
+     * recorded
+     */
+    private static class Recorded {
+        private final List<JsonObject> responses = new ArrayList<>();
+        private int next = 0;
+
+        private void add(JsonObject response) {
+            responses.add(response);
+        }
+
+        /**
+         * Builds the next recorded response. Once all responses have been
+         * replayed, the last one continues to be
+         *
+         * @return Response: a new copy of the recorded response
+         */
+        private synchronized Response next() {
+            JsonObject json = responses.get(Math.min(next, responses.size() - 1));
+            next++;
+            Charset charset = Charset.forName(json.get("charset").getAsString());
+            Response response = new Response(json.get("code").getAsInt());
+            if (json.has("headers")) {
+                json.getAsJsonObject("headers").entrySet()
+                        .forEach(header -> response.addHeader(header.getKey(), header.getValue().getAsString()));
+            }
+            String body = json.has("body") && !json.get("body").isJsonNull() ? json.get("body").getAsString() : "";
+            response.setBody(body.getBytes(charset), charset);
+            return response;
+        }
+    }
+}
@@ -22,10 +22,17 @@ package com.coveros.selenified.services;
 
 import com.google.gson.JsonObject;
 
+import java.io.File;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
- * A class designed to hold data needed to provide to the HTTP calls.
+ * A class designed to hold data needed to provide to the HTTP calls. Besides
+ * json data, a request can send a file, a stream, or multipart form data as
+ * its body. These are streamed straight to the connection as the call is
+ * made, so they are never held in memory as a whole. Only one body is sent,
+ * in the order of multipart data, a file, a stream, and then json data.
  *
  * @author Max Saperstone
  * @version 3.0.0
@@ -34,6 +41,11 @@ import java.util.Map;
 public class Request {
     private JsonObject data = null;
     private Map<String, String> params = null;
+    private File file = null;
+    private InputStream stream = null;
+    private long streamLength = -1;
+    private String contentType = null;
+    private Map<String, Object> multipart = null;
 
     public Request(JsonObject data) {
         this.data = data;
@@ -43,6 +55,15 @@ public class Request {
         this.params = params;
     }
 
+    public Request(File file) {
+        this.file = file;
+    }
+
+    public Request(InputStream stream, long streamLength) {
+        this.stream = stream;
+        this.streamLength = streamLength;
+    }
+
     public JsonObject getData() {
         return data;
     }
@@ -58,4 +79,86 @@ public class Request {
     public void setParams(Map<String, String> params) {
         this.params = params;
     }
+
+    public File getFile() {
+        return file;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+    }
+
+    public InputStream getStream() {
+        return stream;
+    }
+
+    /**
+     * Sets a stream to be sent as the body of the request. The stream is read
+     * as the call is made, and closed once it has been sent. As a stream can
+     * only be read once, the request can't be resent with it
+     *
+     * @param stream       - the stream to send
+     * @param streamLength - the number of bytes the stream will provide, or -1 if
+     *                     this isn't known, in which case the stream is sent chunked
+     */
+    public void setStream(InputStream stream, long streamLength) {
+        this.stream = stream;
+        this.streamLength = streamLength;
+    }
+
+    public long getStreamLength() {
+        return streamLength;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Sets the content type of a file or stream being sent. If this isn't
+     * set, they are sent as <i>application/octet-stream</i>
+     *
+     * @param contentType - the content type of the body
+     */
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Map<String, Object> getMultipart() {
+        return multipart;
+    }
+
+    /**
+     * Adds a text field to be sent as multipart form data
+     *
+     * @param name  - the name of the form field
+     * @param value - the value of the form field
+     */
+    public void addMultipart(String name, String value) {
+        addPart(name, value);
+    }
+
+    /**
+     * Adds a file to be uploaded as multipart form data
+     *
+     * @param name - the name of the form field
+     * @param file - the file to upload
+     */
+    public void addMultipart(String name, File file) {
+        addPart(name, file);
+    }
+
+    /**
+     * Adds a part to the multipart form data, keeping the parts in the order
+     * they were added
+     *
+     * @param name  - the name of the form field
+     * @param value - the text or file of the form field
+     */
+    private void addPart(String name, Object value) {
+        if (multipart == null) {
+            multipart = new LinkedHashMap<>();
+        }
+        multipart.put(name, value);
+    }
 }
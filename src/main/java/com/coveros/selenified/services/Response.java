@@ -22,30 +22,66 @@ package com.coveros.selenified.services;
 
 import com.coveros.selenified.OutputFile;
 import com.coveros.selenified.OutputFile.Success;
+import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.log4testng.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
- * A class designed to hold data provided from the HTTP calls.
+ * A class designed to hold data provided from the HTTP calls. The body of a
+ * response is held as the raw bytes received, and is only decoded, or parsed
+ * into json, once it is actually needed.
  *
  * @author Max Saperstone
  * @version 3.0.0
  * @lastupdate 8/13/2017
  */
 public class Response {
+    private static final Logger log = Logger.getLogger(Response.class);
+
     private int code;
     private JsonObject object = null;
     private JsonArray array = null;
     private String message = null;
+    private byte[] body = null;
+    private Charset charset = StandardCharsets.UTF_8;
+    private boolean parsed = true;
+    private double connectTime = 0;
+    private double timeToFirstByte = 0;
+    private double responseTime = 0;
+    private ResponseCache.Status cacheStatus = null;
+    private boolean replayed = false;
+    private String contentType = null;
+    private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private File downloadFile = null;
+    private long downloadSize = -1;
+    private String downloadSha256 = null;
 
     // this will be the name of the file we write all commands out to
     private OutputFile file;
 
     // constants
     private static final String FOUND = "Found a response of:";
+    private static final String EXPECTED_PATH = "Expected to find <i>";
+    private static final int MAX_VIOLATIONS = 20;
 
     // a basic response setup, just with an output file to write information to
     public Response(OutputFile file) {
@@ -73,29 +109,101 @@ public class Response {
     }
 
     public boolean isData() {
-        return object != null || array != null;
+        return getObjectData() != null || getArrayData() != null;
     }
 
     public JsonArray getArrayData() {
+        parseBody();
         return array;
     }
 
     public void setArrayData(JsonArray array) {
+        parseBody();
         this.array = array;
     }
 
     public JsonObject getObjectData() {
+        parseBody();
         return object;
     }
 
     public void setObjectData(JsonObject object) {
+        parseBody();
         this.object = object;
     }
 
+    /**
+     * Retrieves the body of the response as a string. If the response was
+     * received as raw bytes, they are only decoded the first time this is
+     * called
+     *
+     * @return String: the body of the response
+     */
     public String getMessage() {
+        if (message == null && body != null) {
+            message = new String(body, charset);
+        }
         return message;
     }
 
+    /**
+     * Sets the raw body of the response, as received. Neither the message nor
+     * the json data are built from it until they are needed, so large bodies
+     * are only held once in memory, and never parsed if they aren't checked
+     *
+     * @param body    - the raw bytes of the response body
+     * @param charset - the character set the body is encoded with
+     */
+    public void setBody(byte[] body, Charset charset) {
+        this.body = body;
+        this.charset = charset;
+        this.message = null;
+        this.parsed = false;
+    }
+
+    /**
+     * Retrieves the raw body of the response, as received. If the response
+     * wasn't built from a received body, null is returned
+     *
+     * @return byte[]: the raw bytes of the response body
+     */
+    public byte[] getBody() {
+        return body;
+    }
+
+    /**
+     * Retrieves the character set the body of the response is encoded with
+     *
+     * @return Charset: the character set of the response body
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Parses the raw body of the response into json data, if it hasn't been
+     * already. The body is streamed straight into the json tree, without first
+     * being turned into a string, and the first token decides whether it is a
+     * json object or array. Bodies which are neither are left without data
+     */
+    private synchronized void parseBody() {
+        if (parsed) {
+            return;
+        }
+        parsed = true;
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), charset))) {
+            reader.setLenient(true);
+            JsonToken token = reader.peek();
+            if (token == JsonToken.BEGIN_OBJECT) {
+                object = new JsonParser().parse(reader).getAsJsonObject();
+            } else if (token == JsonToken.BEGIN_ARRAY) {
+                array = new JsonParser().parse(reader).getAsJsonArray();
+            }
+        } catch (IOException | JsonParseException e) {
+            log.debug(e);
+        }
+    }
+
     public void setMessage(String message) {
         this.message = message;
     }
@@ -104,6 +212,167 @@ public class Response {
         this.file = file;
     }
 
+    /**
+     * Sets how long the call took, broken down into its stages. All times are
+     * in milliseconds, measured from when the call was started
+     *
+     * @param connectTime     - how long was spent opening a connection, 0 if an
+     *                        existing connection was reused
+     * @param timeToFirstByte - how long until the response started to arrive
+     * @param responseTime    - how long until the response was fully read
+     */
+    public void setTimings(double connectTime, double timeToFirstByte, double responseTime) {
+        this.connectTime = connectTime;
+        this.timeToFirstByte = timeToFirstByte;
+        this.responseTime = responseTime;
+    }
+
+    /**
+     * Sets whether the response was provided from the cache (see
+     * ResponseCache)
+     *
+     * @param cacheStatus - how the response was provided from the cache
+     */
+    public void setCacheStatus(ResponseCache.Status cacheStatus) {
+        this.cacheStatus = cacheStatus;
+    }
+
+    /**
+     * Retrieves whether the response was provided from the cache. If the call
+     * wasn't made with caching turned on, null is returned
+     *
+     * @return Status: how the response was provided from the cache
+     */
+    public ResponseCache.Status getCacheStatus() {
+        return cacheStatus;
+    }
+
+    /**
+     * Adds a header received with the response. If the header was received
+     * more than once, its values are combined into a comma separated list
+     *
+     * @param name  - the name of the header
+     * @param value - the value of the header
+     */
+    public void addHeader(String name, String value) {
+        headers.merge(name, value, (existing, added) -> existing + ", " + added);
+    }
+
+    /**
+     * Retrieves the value of a header received with the response. Header names
+     * are matched regardless of case. If the header wasn't received, null is
+     * returned
+     *
+     * @param name - the name of the header
+     * @return String: the value of the header
+     */
+    public String getHeader(String name) {
+        return headers.get(name);
+    }
+
+    /**
+     * Retrieves all headers received with the response
+     *
+     * @return Map: the header names, and their values
+     */
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Sets the details of a body which was downloaded, rather than held in
+     * memory (see HTTP.download)
+     *
+     * @param file   - the file the body was written to, or null if it was only digested
+     * @param size   - the number of bytes downloaded
+     * @param sha256 - the hex encoded SHA-256 digest of the bytes downloaded
+     */
+    public void setDownload(File file, long size, String sha256) {
+        this.downloadFile = file;
+        this.downloadSize = size;
+        this.downloadSha256 = sha256;
+    }
+
+    /**
+     * Determines whether the body of the response was downloaded, rather than
+     * held in memory
+     *
+     * @return Boolean: was the body downloaded
+     */
+    public boolean isDownload() {
+        return downloadSize >= 0;
+    }
+
+    /**
+     * Retrieves the file the body of the response was downloaded to. If the
+     * body wasn't downloaded to a file, null is returned
+     *
+     * @return File: the downloaded body
+     */
+    public File getDownloadFile() {
+        return downloadFile;
+    }
+
+    /**
+     * Retrieves the size of the body of the response, in bytes, whether it was
+     * downloaded, or held in memory
+     *
+     * @return Long: the number of bytes in the body
+     */
+    public long getSize() {
+        if (isDownload()) {
+            return downloadSize;
+        }
+        return body == null ? 0 : body.length;
+    }
+
+    /**
+     * Retrieves the hex encoded SHA-256 digest of the body of the response,
+     * whether it was downloaded, or held in memory
+     *
+     * @return String: the SHA-256 digest of the body
+     */
+    public String getSha256() {
+        if (isDownload()) {
+            return downloadSha256;
+        }
+        return DigestUtils.sha256Hex(body == null ? new byte[0] : body);
+    }
+
+    /**
+     * Sets whether the response was replayed from a recording, rather than
+     * received from a call (see Recordings)
+     *
+     * @param replayed - was the response replayed from a recording
+     */
+    public void setReplayed(boolean replayed) {
+        this.replayed = replayed;
+    }
+
+    public boolean isReplayed() {
+        return replayed;
+    }
+
+    public double getConnectTime() {
+        return connectTime;
+    }
+
+    public double getTimeToFirstByte() {
+        return timeToFirstByte;
+    }
+
+    public double getResponseTime() {
+        return responseTime;
+    }
+
     ///////////////////////////////////////////////////////////////////
     // some comparisons for our services
     ///////////////////////////////////////////////////////////////////
@@ -116,9 +385,66 @@ public class Response {
      */
     public void assertEquals(int expectedCode) {
         Success success = (code == expectedCode) ? Success.PASS : Success.FAIL;
-        file.recordExpected("Expected to find a response code of <b>" + expectedCode + "</b>");
-        file.recordActual("Found a response code of <b>" + code + "</b>", success);
-        file.addErrors(success.getErrors());
+        record("Expected to find a response code of <b>" + expectedCode + "</b>",
+                "Found a response code of <b>" + code + "</b>", success);
+    }
+
+    /**
+     * Verifies the response was fully received in less than the expected
+     * time, and writes that out to the output file. If no response was
+     * received, this check fails
+     *
+     * @param millis - the time, in milliseconds, the response should take less than
+     */
+    public void assertResponseTimeBelow(double millis) {
+        Success success = (responseTime > 0 && responseTime < millis) ? Success.PASS : Success.FAIL;
+        record("Expected to find a response time below <b>" + millis + "ms</b>",
+                "Found a response time of <b>" + responseTime + "ms</b>, with <b>" + timeToFirstByte +
+                        "ms</b> to the first byte, and <b>" + connectTime + "ms</b> connecting", success);
+    }
+
+    /**
+     * Verifies the body of the response is the expected number of bytes, and
+     * writes that out to the output file
+     *
+     * @param expectedSize - the number of bytes the body should have
+     */
+    public void assertSize(long expectedSize) {
+        long size = getSize();
+        Success success = (size == expectedSize) ? Success.PASS : Success.FAIL;
+        record("Expected to find a response of <b>" + expectedSize + "</b> bytes",
+                "Found a response of <b>" + size + "</b> bytes", success);
+    }
+
+    /**
+     * Verifies the SHA-256 digest of the body of the response matches the
+     * expected one, and writes that out to the output file. The digests are
+     * compared as hex, ignoring case
+     *
+     * @param expectedSha256 - the hex encoded SHA-256 digest the body should have
+     */
+    public void assertSha256(String expectedSha256) {
+        String sha256 = getSha256();
+        Success success = sha256.equalsIgnoreCase(expectedSha256) ? Success.PASS : Success.FAIL;
+        record("Expected to find a response with a SHA-256 of <b>" + expectedSha256 + "</b>",
+                "Found a response with a SHA-256 of <b>" + sha256 + "</b>", success);
+    }
+
+    /**
+     * Verifies the response has the expected content type, and writes that
+     * out to the output file. If the expected content type has no parameters,
+     * such as a charset, any parameters of the actual content type are ignored
+     *
+     * @param expectedContentType - the content type the response should have
+     */
+    public void assertContentType(String expectedContentType) {
+        String actual = contentType == null ? "" : contentType;
+        if (!expectedContentType.contains(";") && actual.contains(";")) {
+            actual = actual.substring(0, actual.indexOf(';'));
+        }
+        Success success = actual.trim().equalsIgnoreCase(expectedContentType.trim()) ? Success.PASS : Success.FAIL;
+        record("Expected to find a content type of <b>" + expectedContentType + "</b>",
+                "Found a content type of <b>" + contentType + "</b>", success);
     }
 
     /**
@@ -129,13 +455,11 @@ public class Response {
      */
     public void assertEquals(JsonObject expectedJson) {
         Success success = Success.FAIL;
-        if (object != null) {
-            success = object.equals(expectedJson) ? Success.PASS : Success.FAIL;
+        if (getObjectData() != null) {
+            success = getObjectData().equals(expectedJson) ? Success.PASS : Success.FAIL;
         }
-        file.recordExpected(
-                "Expected to find a response of:" + file.formatResponse(new Response(0, expectedJson, null)));
-        file.recordActual(FOUND + file.formatResponse(this), success);
-        file.addErrors(success.getErrors());
+        record("Expected to find a response of:" + file.formatResponse(new Response(0, expectedJson, null)),
+                FOUND + file.formatResponse(this), success);
     }
 
     /**
@@ -146,13 +470,11 @@ public class Response {
      */
     public void assertEquals(JsonArray expectedArray) {
         Success success = Success.FAIL;
-        if (array != null) {
-            success = array.equals(expectedArray) ? Success.PASS : Success.FAIL;
+        if (getArrayData() != null) {
+            success = getArrayData().equals(expectedArray) ? Success.PASS : Success.FAIL;
         }
-        file.recordExpected(
-                "Expected to find a response of:" + file.formatResponse(new Response(0, expectedArray, null)));
-        file.recordActual(FOUND + file.formatResponse(this), success);
-        file.addErrors(success.getErrors());
+        record("Expected to find a response of:" + file.formatResponse(new Response(0, expectedArray, null)),
+                FOUND + file.formatResponse(this), success);
     }
 
     /**
@@ -164,22 +486,20 @@ public class Response {
      */
     public void assertContains(Map<String, String> expectedPairs) {
         StringBuilder expectedString = new StringBuilder();
-        Success success = (object == null) ? Success.FAIL : Success.PASS;
+        Success success = (getObjectData() == null) ? Success.FAIL : Success.PASS;
         for (Map.Entry<String, String> entry : expectedPairs.entrySet()) {
             expectedString.append("<div>");
             expectedString.append(entry.getKey());
             expectedString.append(" : ");
             expectedString.append(entry.getValue());
             expectedString.append("</div>");
-            if (object != null && (!object.has(entry.getKey()) ||
-                    !object.get(entry.getKey()).getAsString().equals(entry.getValue()))) {
+            if (getObjectData() != null && (!getObjectData().has(entry.getKey()) ||
+                    !getObjectData().get(entry.getKey()).getAsString().equals(entry.getValue()))) {
                 success = Success.FAIL;
             }
         }
-        file.recordExpected(
-                "Expected to find a response containing: <div><i>" + expectedString.toString() + "</i></div>");
-        file.recordActual(FOUND + file.formatResponse(this), success);
-        file.addErrors(success.getErrors());
+        record("Expected to find a response containing: <div><i>" + expectedString.toString() + "</i></div>",
+                FOUND + file.formatResponse(this), success);
     }
 
     /**
@@ -192,13 +512,12 @@ public class Response {
      */
     public void assertContains(String key, JsonElement expectedJson) {
         Success success = Success.FAIL;
-        if (object != null && object.has(key)) {
-            success = object.get(key).equals(expectedJson) ? Success.PASS : Success.FAIL;
+        if (getObjectData() != null && getObjectData().has(key)) {
+            success = getObjectData().get(key).equals(expectedJson) ? Success.PASS : Success.FAIL;
         }
-        file.recordExpected("Expected to find a response with key <i>" + key + "</i> equal to: " +
-                file.formatResponse(new Response(0, expectedJson.getAsJsonObject(), null)));
-        file.recordActual(FOUND + file.formatResponse(this), success);
-        file.addErrors(success.getErrors());
+        record("Expected to find a response with key <i>" + key + "</i> equal to: " +
+                file.formatResponse(new Response(0, expectedJson.getAsJsonObject(), null)),
+                FOUND + file.formatResponse(this), success);
     }
 
     /**
@@ -209,12 +528,247 @@ public class Response {
      */
     public void assertContains(JsonElement expectedJson) {
         Success success = Success.FAIL;
+        if (getArrayData() != null) {
+            success = getArrayData().contains(expectedJson) ? Success.PASS : Success.FAIL;
+        }
+        record("Expected to find a response containing:" +
+                file.formatResponse(new Response(0, expectedJson.getAsJsonObject(), null)),
+                FOUND + file.formatResponse(this), success);
+    }
+
+    /**
+     * Verifies the json path matches exactly one value in the response, and
+     * that it is equal to the expected json element, and writes that out to
+     * the output file
+     *
+     * @param path         - the json path to evaluate (see JsonPath)
+     * @param expectedJson - the expected value the path points to
+     */
+    public void assertJsonPathEquals(String path, JsonElement expectedJson) {
+        List<JsonElement> matches = findJsonPath(path);
+        Success success = (matches != null && matches.size() == 1 && matches.get(0).equals(expectedJson)) ?
+                Success.PASS : Success.FAIL;
+        record(EXPECTED_PATH + path + "</i> equal to: " + formatJson(expectedJson),
+                foundJsonPath(path, matches), success);
+    }
+
+    /**
+     * Verifies the json path matches exactly one value in the response, and
+     * that it is a primitive (a string, number or boolean) equal to the
+     * expected value, and writes that out to the output file
+     *
+     * @param path     - the json path to evaluate (see JsonPath)
+     * @param expected - the expected value the path points to
+     */
+    public void assertJsonPathEquals(String path, String expected) {
+        List<JsonElement> matches = findJsonPath(path);
+        Success success = (matches != null && matches.size() == 1 && matches.get(0).isJsonPrimitive() &&
+                matches.get(0).getAsString().equals(expected)) ? Success.PASS : Success.FAIL;
+        record(EXPECTED_PATH + path + "</i> equal to: <b>" + expected + "</b>", foundJsonPath(path, matches),
+                success);
+    }
+
+    /**
+     * Verifies the json path matches a value in the response which is equal
+     * to, or is an array containing, the expected json element, and writes
+     * that out to the output file
+     *
+     * @param path         - the json path to evaluate (see JsonPath)
+     * @param expectedJson - the expected value to be found at the path
+     */
+    public void assertJsonPathContains(String path, JsonElement expectedJson) {
+        List<JsonElement> matches = findJsonPath(path);
+        Success success = Success.FAIL;
+        if (matches != null) {
+            for (JsonElement match : matches) {
+                if (match.equals(expectedJson) ||
+                        (match.isJsonArray() && match.getAsJsonArray().contains(expectedJson))) {
+                    success = Success.PASS;
+                }
+            }
+        }
+        record(EXPECTED_PATH + path + "</i> containing: " + formatJson(expectedJson),
+                foundJsonPath(path, matches), success);
+    }
+
+    /**
+     * Verifies the json path matches the expected number of values in the
+     * response, and writes that out to the output file. To count the elements
+     * of an array, use a wildcard, such as <i>$.items[*]</i>
+     *
+     * @param path          - the json path to evaluate (see JsonPath)
+     * @param expectedCount - the number of values the path should match
+     */
+    public void assertJsonPathCount(String path, int expectedCount) {
+        List<JsonElement> matches = findJsonPath(path);
+        Success success = (matches != null && matches.size() == expectedCount) ? Success.PASS : Success.FAIL;
+        record("Expected to find <b>" + expectedCount + "</b> values at <i>" + path + "</i>",
+                foundJsonPath(path, matches), success);
+    }
+
+    /**
+     * Verifies the json path matches at least one value in the response, and
+     * writes that out to the output file
+     *
+     * @param path - the json path to evaluate (see JsonPath)
+     */
+    public void assertJsonPathExists(String path) {
+        List<JsonElement> matches = findJsonPath(path);
+        Success success = (matches != null && !matches.isEmpty()) ? Success.PASS : Success.FAIL;
+        record("Expected to find a value at <i>" + path + "</i>", foundJsonPath(path, matches), success);
+    }
+
+    /**
+     * Verifies the response matches the provided json schema, and writes that
+     * out to the output file. The schema is compiled once, and cached (see
+     * JsonSchema), and the body of the response is validated as it is read,
+     * so large responses are never built into a json tree to be checked
+     *
+     * @param schema - the json schema the response should match
+     */
+    public void assertMatchesSchema(JsonObject schema) {
+        JsonSchema compiled = null;
+        try {
+            compiled = JsonSchema.compile(schema);
+        } catch (IllegalArgumentException e) {
+            log.warn(e);
+        }
+        assertMatchesSchema(compiled, "the schema:" + formatJson(schema));
+    }
+
+    /**
+     * Verifies the response matches the json schema held in the provided
+     * file, and writes that out to the output file. The schema is only read
+     * and compiled once, unless the file is changed (see JsonSchema), and the
+     * body of the response is validated as it is read
+     *
+     * @param schema - the file holding the json schema the response should match
+     */
+    public void assertMatchesSchema(File schema) {
+        JsonSchema compiled = null;
+        try {
+            compiled = JsonSchema.load(schema);
+        } catch (IllegalArgumentException e) {
+            log.warn(e);
+        }
+        assertMatchesSchema(compiled, "the schema <i>" + schema + "</i>");
+    }
+
+    /**
+     * Verifies the response matches the compiled json schema, and writes
+     * that out to the output file. Only the first violations found are
+     * written out
+     *
+     * @param schema      - the compiled json schema, or null if it isn't valid
+     * @param description - a description of the schema, for the output file
+     */
+    private void assertMatchesSchema(JsonSchema schema, String description) {
+        String expected = "Expected to find a response matching " + description;
+        if (schema == null) {
+            record(expected, "The json schema is not valid", Success.FAIL);
+            return;
+        }
+        List<String> violations = validate(schema);
+        if (violations.isEmpty()) {
+            record(expected, "Found a response matching the schema", Success.PASS);
+            return;
+        }
+        StringBuilder actual = new StringBuilder("Found <b>" + violations.size() + "</b> schema violations:");
+        for (String violation : violations.subList(0, Math.min(violations.size(), MAX_VIOLATIONS))) {
+            actual.append("<div>").append(violation.replace("<", "&lt;")).append("</div>");
+        }
+        if (violations.size() > MAX_VIOLATIONS) {
+            actual.append("<div>and <b>").append(violations.size() - MAX_VIOLATIONS).append("</b> more</div>");
+        }
+        record(expected, actual.toString(), Success.FAIL);
+    }
+
+    /**
+     * Validates the response against the json schema. The raw body received is
+     * streamed straight through the schema, otherwise the json data, or the
+     * message, is used
+     *
+     * @param schema - the compiled json schema
+     * @return List: the violations of the schema found
+     */
+    private List<String> validate(JsonSchema schema) {
+        if (body != null) {
+            return schema.validate(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+        if (object != null) {
+            return schema.validate(object);
+        }
         if (array != null) {
-            success = array.contains(expectedJson) ? Success.PASS : Success.FAIL;
+            return schema.validate(array);
+        }
+        return schema.validate(new StringReader(message == null ? "" : message));
+    }
+
+    /**
+     * Evaluates the json path against the json data of the response. If the
+     * path isn't valid, null is returned
+     *
+     * @param path - the json path to evaluate
+     * @return List: the values the path points to
+     */
+    private List<JsonElement> findJsonPath(String path) {
+        try {
+            JsonPath jsonPath = JsonPath.compile(path);
+            return jsonPath.evaluate(getObjectData() != null ? getObjectData() : getArrayData());
+        } catch (IllegalArgumentException e) {
+            log.warn(e);
+            return null;    // NOSONAR - null indicates the path is invalid
+        }
+    }
+
+    /**
+     * Builds an HTML formatted description of what a json path matched, to be
+     * written out to the output file
+     *
+     * @param path    - the json path evaluated
+     * @param matches - the values the path points to, or null if the path is invalid
+     * @return String: the description of the values found
+     */
+    private String foundJsonPath(String path, List<JsonElement> matches) {
+        if (matches == null) {
+            return "The json path <i>" + path + "</i> is not valid";
+        }
+        if (matches.isEmpty()) {
+            return "Found no values at <i>" + path + "</i> in a response of:" + file.formatResponse(this);
+        }
+        JsonArray values = new JsonArray();
+        for (JsonElement match : matches) {
+            values.add(match);
+        }
+        return "Found <b>" + matches.size() + "</b> values at <i>" + path + "</i>:" + formatJson(values);
+    }
+
+    /**
+     * Formats a json element for display in the output file
+     *
+     * @param json - the json to display
+     * @return String: the HTML formatted json
+     */
+    private String formatJson(JsonElement json) {
+        return file.formatHTML("<div><i>" + new GsonBuilder().setPrettyPrinting().create().toJson(json) +
+                "</i></div>");
+    }
+
+    /**
+     * Writes the expected and actual outcome of a check out to the output file,
+     * along with any resulting errors. This is done all at once, so that no
+     * other step, such as an asynchronous call completing, can be recorded in
+     * the middle of the check
+     *
+     * @param expected - what the expected outcome is
+     * @param actual   - what the actual outcome was
+     * @param success  - whether this result is a pass or a failure
+     */
+    private void record(String expected, String actual, Success success) {
+        synchronized (file) {
+            file.recordExpected(expected);
+            file.recordActual(actual, success);
+            file.addErrors(success.getErrors());
         }
-        file.recordExpected("Expected to find a response containing:" +
-                file.formatResponse(new Response(0, expectedJson.getAsJsonObject(), null)));
-        file.recordActual(FOUND + file.formatResponse(this), success);
-        file.addErrors(success.getErrors());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpResponse;
+import org.testng.log4testng.Logger;
+
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ResponseCache holds the responses of GET calls, shared by all HTTP sessions
+ * which have caching turned on (see HTTP.setCaching). Responses are keyed by
+ * their full url (including any query parameters), the headers sent, and the
+ * credentials the call was made with. A cached response is reused until it expires,
+ * after which, if it carried an ETag or Last-Modified header, a conditional
+ * call is made to check if it is still valid. The cache honors the
+ * Cache-Control header of the response: <i>no-store</i> responses are never
+ * cached, <i>no-cache</i> responses are always revalidated, and
+ * <i>max-age</i> sets how long the response can be reused for. Any POST,
+ * PUT, PATCH or DELETE call made to the same endpoint, by any session, even
+ * one without caching turned on, removes its responses from the cache. The
+ * cache can be tuned using the below system properties:
+ * <ul>
+ * <li>httpCache - whether HTTP sessions cache their GET calls by default,
+ * defaults to false</li>
+ * <li>httpCacheSize - the most responses to hold at once, defaults to 100.
+ * Once full, the least recently used response is removed</li>
+ * <li>httpCacheTtl - how many seconds a response can be reused for, if it
+ * doesn't set its own max-age, defaults to 60</li>
+ * </ul>
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class ResponseCache {
+
+    private static final Logger log = Logger.getLogger(ResponseCache.class);
+
+    public static final String CACHE = "httpCache";
+    public static final String CACHE_SIZE = "httpCacheSize";
+    public static final String CACHE_TTL = "httpCacheTtl";
+
+    private static final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > Property.getInt(CACHE_SIZE, 100);
+        }
+    };
+
+    /**
+     * Whether a response was provided from the cache, or not
+     */
+    public enum Status {
+        MISS, HIT, REVALIDATED
+    }
+
+    private ResponseCache() {
+    }
+
+    /**
+     * Determines whether HTTP sessions should cache their GET calls, unless
+     * they are specifically set otherwise
+     *
+     * @return Boolean: is the httpCache system property set to true
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(CACHE));
+    }
+
+    /**
+     * Retrieves the number of responses currently held in the cache
+     *
+     * @return Integer: the number of cached responses
+     */
+    public static int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all responses from the cache
+     */
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Builds the key a response is cached under, from the url called, the
+     * headers sent, and the credentials the call was made with, so a session
+     * with different, or wrong, credentials never shares a cached response.
+     * The headers are sorted, so the order they were set in doesn't matter,
+     * and the credentials are digested, so they aren't held in the cache
+     *
+     * @param url           - the full url called, including any query parameters
+     * @param headers       - the custom headers sent with the call
+     * @param authorization - the authorization header sent, or null if there is none
+     * @return String: the cache key
+     */
+    static String getKey(String url, Map<String, String> headers, String authorization) {
+        return url + "\n" + new TreeMap<>(headers) + "\n" +
+                (authorization == null ? "" : DigestUtils.sha256Hex(authorization));
+    }
+
+    /**
+     * Retrieves the cached response for the key, whether or not it is still
+     * fresh
+     *
+     * @param key - the cache key (see getKey)
+     * @return Entry: the cached response, or null if nothing is cached
+     */
+    static Entry get(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Caches the response of a successful call, unless its Cache-Control
+     * header prohibits it being stored
+     *
+     * @param key          - the cache key (see getKey)
+     * @param endpoint     - the url called, without any query parameters
+     * @param httpResponse - the response of the http call, for its caching headers
+     * @param body         - the body of the response
+     * @param charset      - the character set of the body
+     */
+    static void put(String key, String endpoint, HttpResponse httpResponse, byte[] body, Charset charset) {
+        if (httpResponse.getStatusLine().getStatusCode() != 200) {
+            return;
+        }
+        Long maxAge = getMaxAge(httpResponse);
+        if (maxAge == null) {
+            return;
+        }
+        Entry entry = new Entry(endpoint, httpResponse.getStatusLine().getStatusCode(), body, charset);
+        entry.update(httpResponse, maxAge);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Marks a cached response as valid again, after the server confirmed it
+     * hasn't changed (a 304 response to a conditional call)
+     *
+     * @param entry        - the cached response
+     * @param httpResponse - the not modified response, for its caching headers
+     */
+    static void revalidate(Entry entry, HttpResponse httpResponse) {
+        Long maxAge = getMaxAge(httpResponse);
+        entry.update(httpResponse, maxAge == null ? 0 : maxAge);
+    }
+
+    /**
+     * Removes all cached responses of an endpoint, regardless of the query
+     * parameters or headers they were called with. This is done whenever a
+     * call which might change the data, such as a POST or DELETE, is made
+     *
+     * @param endpoint - the url called, without any query parameters
+     */
+    static void invalidate(String endpoint) {
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().endpoint.equals(endpoint)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines how many seconds a response can be reused for, from its
+     * Cache-Control header, or the httpCacheTtl system property if it doesn't
+     * set one
+     *
+     * @param httpResponse - the response of the http call
+     * @return Long: how many seconds the response is fresh for, or null if it
+     * can't be cached at all
+     */
+    private static Long getMaxAge(HttpResponse httpResponse) {
+        long maxAge = Property.getInt(CACHE_TTL, 60);
+        for (Header header : httpResponse.getHeaders("Cache-Control")) {
+            for (HeaderElement directive : header.getElements()) {
+                String name = directive.getName().toLowerCase();
+                if ("no-store".equals(name)) {
+                    return null;
+                } else if ("no-cache".equals(name)) {
+                    maxAge = 0;
+                } else if ("max-age".equals(name) && directive.getValue() != null) {
+                    try {
+                        maxAge = Long.parseLong(directive.getValue().trim());
+                    } catch (NumberFormatException e) {
+                        log.warn(e);
+                    }
+                }
+            }
+        }
+        return maxAge;
+    }
+
+    /**
+     * A cached response, along with the validators needed to check if it is
+     * still current
+     */
+    static class Entry {
+        private final String endpoint;
+        private final int code;
+        private final byte[] body;
+        private final Charset charset;
+        private volatile String etag;
+        private volatile String lastModified;
+        private volatile long expires;
+
+        private Entry(String endpoint, int code, byte[] body, Charset charset) {
+            this.endpoint = endpoint;
+            this.code = code;
+            this.body = body;
+            this.charset = charset;
+        }
+
+        /**
+         * Updates the validators and expiry of the response, from the headers
+         * of a call which returned it
+         *
+         * @param httpResponse - the response of the http call
+         * @param maxAge       - how many seconds the response is fresh for
+         */
+        private void update(HttpResponse httpResponse, long maxAge) {
+            Header etagHeader = httpResponse.getFirstHeader("ETag");
+            if (etagHeader != null) {
+                etag = etagHeader.getValue();
+            }
+            Header lastModifiedHeader = httpResponse.getFirstHeader("Last-Modified");
+            if (lastModifiedHeader != null) {
+                lastModified = lastModifiedHeader.getValue();
+            }
+            expires = System.nanoTime() + maxAge * 1000000000L;
+        }
+
+        boolean isFresh() {
+            return System.nanoTime() - expires < 0;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Builds a new response from the cached one. Each call gets its own
+         * response, so nothing done with it changes what is cached
+         *
+         * @param status - how the response was provided from the cache
+         * @return Response: a copy of the cached response
+         */
+        Response toResponse(Status status) {
+            Response response = new Response(code);
+            response.setBody(body.clone(), charset);
+            response.setCacheStatus(status);
+            return response;
+        }
+    }
+}
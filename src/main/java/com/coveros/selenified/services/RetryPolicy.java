@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import com.coveros.selenified.utilities.Property;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RetryPolicy determines whether, and how long to wait before, a services
+ * call which failed is made again. A call is only retried if no response was
+ * received at all, or the service responded that it is temporarily
+ * unavailable (a 429, 502, 503 or 504 response code). Only idempotent calls
+ * (GET, PUT, DELETE, HEAD and OPTIONS) are retried, as retrying any other
+ * call might perform its action twice. Between attempts, the wait grows
+ * exponentially from the initial delay, up to the maximum delay, with a
+ * random jitter so that many failed calls don't all retry at once. The
+ * default policy is set with the below system properties:
+ * <ul>
+ * <li>httpRetryAttempts - the most times a call is attempted, defaults to 1,
+ * which never retries a call</li>
+ * <li>httpRetryDelay - how many milliseconds to wait before the first retry,
+ * defaults to 100</li>
+ * <li>httpRetryMaxDelay - the most milliseconds to wait between any two
+ * attempts, defaults to 5000</li>
+ * </ul>
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class RetryPolicy {
+
+    public static final String RETRY_ATTEMPTS = "httpRetryAttempts";
+    public static final String RETRY_DELAY = "httpRetryDelay";
+    public static final String RETRY_MAX_DELAY = "httpRetryMaxDelay";
+
+    private static final Set<String> IDEMPOTENT = new HashSet<>(Arrays.asList("GET", "PUT", "DELETE", "HEAD",
+            "OPTIONS"));
+    private static final Set<Integer> UNAVAILABLE = new HashSet<>(Arrays.asList(429, 502, 503, 504));
+
+    private final int maxAttempts;
+    private final long initialDelay;
+    private final long maxDelay;
+
+    /**
+     * Creates a new retry policy
+     *
+     * @param maxAttempts  - the most times a call is attempted
+     * @param initialDelay - how many milliseconds to wait before the first retry
+     * @param maxDelay     - the most milliseconds to wait between any two attempts
+     */
+    public RetryPolicy(int maxAttempts, long initialDelay, long maxDelay) {
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.initialDelay = Math.max(initialDelay, 0);
+        this.maxDelay = Math.max(maxDelay, this.initialDelay);
+    }
+
+    /**
+     * Creates the default retry policy, from the httpRetryAttempts,
+     * httpRetryDelay and httpRetryMaxDelay system properties
+     *
+     * @return RetryPolicy: the default retry policy
+     */
+    public static RetryPolicy fromProperties() {
+        return new RetryPolicy(Property.getInt(RETRY_ATTEMPTS, 1), Property.getInt(RETRY_DELAY, 100),
+                Property.getInt(RETRY_MAX_DELAY, 5000));
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialDelay() {
+        return initialDelay;
+    }
+
+    public long getMaxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Determines if a call can be safely retried, based on its method
+     *
+     * @param call - what http method call is being made
+     * @return Boolean: is the method idempotent
+     */
+    public boolean canRetry(String call) {
+        return IDEMPOTENT.contains(call);
+    }
+
+    /**
+     * Determines if the outcome of a call means it should be attempted again
+     *
+     * @param response - the response provided from the http call, or null if none was
+     * @return Boolean: was there no response, or was the service unavailable
+     */
+    public boolean shouldRetry(Response response) {
+        return response == null || UNAVAILABLE.contains(response.getCode());
+    }
+
+    /**
+     * Determines how long to wait after a failed attempt, before making the
+     * next one. The delay doubles with each attempt, up to the maximum delay,
+     * and a random jitter of up to half of that is taken off
+     *
+     * @param attempt - the number of the attempt which failed, starting at 1
+     * @return Long: how many milliseconds to wait
+     */
+    public long getDelay(int attempt) {
+        long delay = initialDelay;
+        for (int i = 1; i < attempt && delay < maxDelay; i++) {
+            delay *= 2;
+        }
+        delay = Math.min(delay, maxDelay);
+        return delay - ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+}
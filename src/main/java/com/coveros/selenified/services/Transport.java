@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.services;
+
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+
+/**
+ * Transport is what actually sends the http requests built by an HTTP
+ * session, and provides back their responses. By default, requests are sent
+ * over the shared pool of kept alive connections (see ConnectionPool), but
+ * any other client can be used instead, by setting it on the session (see
+ * HTTP.setTransport)
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public interface Transport {
+
+    /**
+     * Sends the request, and provides back its response. The response is
+     * closed by the caller once its body has been read
+     *
+     * @param request - the request to send
+     * @param context - the context of the call, which timings can be recorded in
+     *                (see ConnectionPool.CONNECT_NANOS and FIRST_BYTE_NANOS)
+     * @return CloseableHttpResponse: the response to the request
+     * @throws IOException - if the request couldn't be sent, or no response was received
+     */
+    CloseableHttpResponse execute(HttpUriRequest request, HttpContext context) throws IOException;
+}
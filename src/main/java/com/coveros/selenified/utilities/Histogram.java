@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import java.util.Arrays;
+
+/**
+ * Histogram collects latencies, in milliseconds, and summarizes them with
+ * percentiles. Every value is kept, so the percentiles are exact, using the
+ * nearest rank method. Values can be safely recorded from multiple threads
+ * at once.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class Histogram {
+
+    private double[] values = new double[64];
+    private int count = 0;
+    private boolean sorted = true;
+
+    /**
+     * Records a latency
+     *
+     * @param millis - the latency, in milliseconds
+     */
+    public synchronized void record(double millis) {
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = millis;
+        sorted = false;
+    }
+
+    /**
+     * Retrieves the number of latencies recorded
+     *
+     * @return Integer: the number of latencies recorded
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieves the latency which the provided percentage of latencies are at
+     * or below. If no latencies have been recorded, 0 is returned
+     *
+     * @param percentile - the percentile to retrieve, between 0 and 100
+     * @return Double: the latency of the percentile, in milliseconds
+     */
+    public synchronized double getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (!sorted) {
+            Arrays.sort(values, 0, count);
+            sorted = true;
+        }
+        int rank = (int) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100 * count);
+        return values[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Retrieves the smallest latency recorded. If no latencies have been
+     * recorded, 0 is returned
+     *
+     * @return Double: the smallest latency, in milliseconds
+     */
+    public double getMin() {
+        return getPercentile(0);
+    }
+
+    /**
+     * Retrieves the largest latency recorded. If no latencies have been
+     * recorded, 0 is returned
+     *
+     * @return Double: the largest latency, in milliseconds
+     */
+    public double getMax() {
+        return getPercentile(100);
+    }
+
+    /**
+     * Retrieves the average latency recorded. If no latencies have been
+     * recorded, 0 is returned
+     *
+     * @return Double: the average latency, in milliseconds
+     */
+    public synchronized double getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            total += values[i];
+        }
+        return total / count;
+    }
+}
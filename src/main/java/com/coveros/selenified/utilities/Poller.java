@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import org.testng.log4testng.Logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Poller repeatedly checks a condition until it is met, or until the allotted
+ * time runs out. Rather than checking continually, it sleeps between each
+ * check, starting with a short interval, and backing off exponentially up to
+ * a maximum interval. This keeps waits responsive, without tying up a CPU or
+ * flooding the browser with requests. The deadline is tracked with a
+ * monotonic clock, and the poller stops early if the thread is interrupted.
+ * The default intervals can be overridden with the pollInterval,
+ * pollMaxInterval (both in milliseconds) and pollBackoff system properties.
+ * Each poller records how many polls it performed, and how long it spent.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class Poller {
+
+    private static final Logger log = Logger.getLogger(Poller.class);
+
+    // constants
+    private static final String POLL_INTERVAL = "pollInterval";
+    private static final String POLL_MAX_INTERVAL = "pollMaxInterval";
+    private static final String POLL_BACKOFF = "pollBackoff";
+    private static final long DEFAULT_INTERVAL = 50;
+    private static final long DEFAULT_MAX_INTERVAL = 500;
+    private static final double DEFAULT_BACKOFF = 1.5;
+
+    private final long interval;
+    private final long maxInterval;
+    private final double backoff;
+
+    private int polls = 0;
+    private long nanosTaken = 0;
+
+    /**
+     * Sets up a poller with the default intervals and backoff, or those
+     * provided through system properties
+     */
+    public Poller() {
+        this(Property.getLong(POLL_INTERVAL, DEFAULT_INTERVAL),
+                Property.getLong(POLL_MAX_INTERVAL, DEFAULT_MAX_INTERVAL),
+                Property.getDouble(POLL_BACKOFF, DEFAULT_BACKOFF));
+    }
+
+    /**
+     * Sets up a poller with custom intervals and backoff
+     *
+     * @param interval    - how long to sleep after the first poll, in milliseconds
+     * @param maxInterval - the longest to ever sleep between polls, in milliseconds
+     * @param backoff     - how much to multiply the interval by after each poll.
+     *                    Values less than 1 are treated as 1, keeping a fixed interval
+     */
+    public Poller(long interval, long maxInterval, double backoff) {
+        this.interval = Math.max(1, interval);
+        this.maxInterval = Math.max(this.interval, maxInterval);
+        this.backoff = Math.max(1, backoff);
+    }
+
+    /**
+     * Checks the provided condition until it is met, or until the specified
+     * time has passed. The condition is always checked at least once, and once
+     * more right at the deadline. If the thread is interrupted, polling stops,
+     * and the interrupt status is restored.
+     *
+     * @param seconds   - the maximum number of seconds to wait
+     * @param condition - the condition to check
+     * @return Boolean: whether the condition was met in the allotted time
+     */
+    public boolean until(double seconds, BooleanSupplier condition) {
+        long start = System.nanoTime();
+        long deadline = start + (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+        polls = 0;
+        double sleep = interval;
+        try {
+            while (true) {
+                polls++;
+                if (condition.getAsBoolean()) {
+                    return true;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos((long) sleep)));
+                sleep = Math.min(sleep * backoff, maxInterval);
+            }
+        } catch (InterruptedException e) {
+            log.warn(e);
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            nanosTaken = System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Retrieves the number of times the condition was checked during the last
+     * wait
+     *
+     * @return Integer: the number of polls performed
+     */
+    public int getPolls() {
+        return polls;
+    }
+
+    /**
+     * Retrieves how long the last wait took, in seconds
+     *
+     * @return Double: the number of seconds spent waiting
+     */
+    public double getSecondsTaken() {
+        return TimeUnit.NANOSECONDS.toMillis(nanosTaken) / 1000.0;
+    }
+
+    /**
+     * Determines how many seconds, to the millisecond, have passed since the
+     * provided start time, as measured by System.nanoTime
+     *
+     * @param start - the start time, from System.nanoTime
+     * @return Double: the number of seconds since the start time
+     */
+    public static double secondsSince(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / 1000.0;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import org.testng.log4testng.Logger;
+
+/**
+ * Property reads numeric settings from the system properties. If a property
+ * isn't set, or isn't a number, the default value is used instead, and the
+ * unusable value is logged, so a typo in a setting never fails a test run.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class Property {
+
+    private static final Logger log = Logger.getLogger(Property.class);
+
+    private Property() {
+    }
+
+    /**
+     * Reads a whole number system property, falling back to the default value
+     * if it isn't set, or isn't a number
+     *
+     * @param property     - the name of the system property
+     * @param defaultValue - the value to use if the property isn't usable
+     * @return Integer: the value of the property
+     */
+    public static int getInt(String property, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            log.warn(e);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads a whole number system property, falling back to the default value
+     * if it isn't set, or isn't a number
+     *
+     * @param property     - the name of the system property
+     * @param defaultValue - the value to use if the property isn't usable
+     * @return Long: the value of the property
+     */
+    public static long getLong(String property, long defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.warn(e);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Reads a decimal system property, falling back to the default value if
+     * it isn't set, or isn't a number
+     *
+     * @param property     - the name of the system property
+     * @param defaultValue - the value to use if the property isn't usable
+     * @return Double: the value of the property
+     */
+    public static double getDouble(String property, double defaultValue) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            log.warn(e);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017 Coveros, Inc.
+ * 
+ * This file is part of Selenified.
+ * 
+ * Selenified is licensed under the Apache License, Version
+ * 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy 
+ * of the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, 
+ * software distributed under the License is distributed on 
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY 
+ * KIND, either express or implied. See the License for the 
+ * specific language governing permissions and limitations 
+ * under the License.
+ */
+
+package com.coveros.selenified.utilities;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+import org.testng.log4testng.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WaitHistory records how long waits actually took, per test and wait, and
+ * uses those observations to determine how long future runs of the same wait
+ * should be given. Once enough observations exist, the timeout becomes the
+ * 99th percentile of the observed durations multiplied by a safety factor,
+ * bounded by a minimum and maximum. This lets waits that are normally quick
+ * fail fast, while waits that are normally slow are given enough time. Waits
+ * which time out are recorded as taking the time they were given, up to the
+ * maximum timeout, so a timeout learned too short grows, without one timeout
+ * pinning the wait at the maximum. The
+ * history is opt-in, enabled by providing a file to persist it to through the
+ * waitHistory system property. The safety factor, minimum and maximum timeouts
+ * can be set with the waitHistoryFactor, waitHistoryMin and waitHistoryMax
+ * system properties.
+ *
+ * @author Max Saperstone
+ * @version 3.0.2
+ * @lastupdate 3/12/2018
+ */
+public class WaitHistory {
+
+    private static final Logger log = Logger.getLogger(WaitHistory.class);
+
+    // constants
+    private static final String WAIT_HISTORY = "waitHistory";
+    private static final String WAIT_HISTORY_FACTOR = "waitHistoryFactor";
+    private static final String WAIT_HISTORY_MIN = "waitHistoryMin";
+    private static final String WAIT_HISTORY_MAX = "waitHistoryMax";
+    private static final double DEFAULT_FACTOR = 2.0;
+    private static final double DEFAULT_MIN = 1.0;
+    private static final double DEFAULT_MAX = 30.0;
+    // how many observations are needed before the history is trusted
+    private static final int MIN_SAMPLES = 5;
+    // how many of the most recent observations are kept for each wait
+    private static final int MAX_SAMPLES = 100;
+    private static final double PERCENTILE = 0.99;
+
+    private static WaitHistory history = null;
+
+    private final File file;
+    private final double factor;
+    private final double min;
+    private final double max;
+    private final Map<String, List<Double>> durations;
+
+    /**
+     * Loads the history from the provided file, if it exists, using the
+     * default safety factor, minimum and maximum timeouts, or those provided
+     * through system properties
+     *
+     * @param file - the file the history is persisted to
+     */
+    public WaitHistory(File file) {
+        this(file, Property.getDouble(WAIT_HISTORY_FACTOR, DEFAULT_FACTOR),
+                Property.getDouble(WAIT_HISTORY_MIN, DEFAULT_MIN), Property.getDouble(WAIT_HISTORY_MAX, DEFAULT_MAX));
+    }
+
+    /**
+     * Loads the history from the provided file, if it exists
+     *
+     * @param file   - the file the history is persisted to
+     * @param factor - what to multiply the 99th percentile duration by
+     * @param min    - the shortest timeout, in seconds, that will be used
+     * @param max    - the longest timeout, in seconds, that will be used
+     */
+    public WaitHistory(File file, double factor, double min, double max) {
+        this.file = file;
+        this.factor = factor;
+        this.min = min;
+        this.max = Math.max(min, max);
+        this.durations = load(file);
+    }
+
+    /**
+     * Retrieves the shared wait history, as specified by the waitHistory
+     * system property. The history is loaded the first time it is requested,
+     * and saved back when the JVM exits. If the system property isn't set, no
+     * history is kept, and null is returned
+     *
+     * @return WaitHistory: the shared history, or null if it isn't enabled
+     */
+    public static synchronized WaitHistory getHistory() {
+        String location = System.getProperty(WAIT_HISTORY);
+        if (location == null || "".equals(location)) {
+            return null;
+        }
+        if (history == null || !history.file.equals(new File(location))) {
+            WaitHistory newHistory = new WaitHistory(new File(location));
+            Runtime.getRuntime().addShutdownHook(new Thread(newHistory::save));
+            history = newHistory;
+        }
+        return history;
+    }
+
+    /**
+     * Builds the key a wait is recorded against
+     *
+     * @param test    - the name of the test performing the wait
+     * @param locator - a description of what is being waited on
+     * @param wait    - the condition being waited for
+     * @return String: the key for the wait
+     */
+    public static String key(String test, String locator, String wait) {
+        return test + "|" + locator + "|" + wait;
+    }
+
+    /**
+     * Records how long a successful wait took
+     *
+     * @param key     - the key of the wait
+     * @param seconds - how long the wait took, in seconds
+     */
+    public synchronized void record(String key, double seconds) {
+        List<Double> observed = durations.computeIfAbsent(key, k -> new ArrayList<>());
+        observed.add(seconds);
+        if (observed.size() > MAX_SAMPLES) {
+            observed.remove(0);
+        }
+    }
+
+    /**
+     * Records a wait which timed out. All that is known is that the wait
+     * would have taken at least as long as it was given, so it is recorded as
+     * taking that long, up to the maximum timeout. Waits which were cut short,
+     * rather than given their full time, shouldn't be recorded at all
+     *
+     * @param key     - the key of the wait
+     * @param seconds - how long the wait was given, in seconds
+     */
+    public synchronized void recordTimeout(String key, double seconds) {
+        record(key, Math.min(seconds, max));
+    }
+
+    /**
+     * Determines how long a wait should be given, based on its history. If
+     * there aren't yet enough observations of the wait, the provided default
+     * timeout is returned
+     *
+     * @param key            - the key of the wait
+     * @param defaultTimeout - the timeout to use without enough history
+     * @return Double: the number of seconds the wait should be given
+     */
+    public synchronized double timeout(String key, double defaultTimeout) {
+        List<Double> observed = durations.get(key);
+        if (observed == null || observed.size() < MIN_SAMPLES) {
+            return defaultTimeout;
+        }
+        List<Double> sorted = new ArrayList<>(observed);
+        Collections.sort(sorted);
+        double percentile = sorted.get((int) Math.ceil(PERCENTILE * sorted.size()) - 1);
+        return Math.min(max, Math.max(min, percentile * factor));
+    }
+
+    /**
+     * Writes the history out to its file, so it can be used by future runs
+     */
+    public synchronized void save() {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            log.error("Unable to create directory for " + file);
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            Gson gson = new GsonBuilder().setPrettyPrinting().create();
+            gson.toJson(durations, writer);
+        } catch (IOException e) {
+            log.error(e);
+        }
+    }
+
+    /**
+     * Reads any previously saved history from the provided file. If the file
+     * doesn't exist, or can't be read, an empty history is returned
+     *
+     * @param file - the file the history is persisted to
+     * @return Map: the observed durations for each wait
+     */
+    private static Map<String, List<Double>> load(File file) {
+        if (!file.exists()) {
+            return new HashMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Type type = new TypeToken<HashMap<String, ArrayList<Double>>>() {
+            }.getType();
+            Map<String, List<Double>> loaded = new Gson().fromJson(reader, type);
+            if (loaded != null) {
+                return loaded;
+            }
+        } catch (IOException | JsonSyntaxException e) {
+            log.warn(e);
+        }
+        return new HashMap<>();
+    }
+}
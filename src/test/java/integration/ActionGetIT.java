@@ -4,6 +4,10 @@ import com.coveros.selenified.Browser;
 import com.coveros.selenified.Locator;
 import com.coveros.selenified.Selenified;
 import com.coveros.selenified.application.App;
+import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.ElementState;
+import com.coveros.selenified.element.SelectSnapshot;
+import com.coveros.selenified.element.TableSnapshot;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebElement;
 import org.testng.Assert;
@@ -529,6 +533,160 @@ public class ActionGetIT extends Selenified {
         finish();
     }
 
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the getTableSnapshot method")
+    public void getTableSnapshotTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        TableSnapshot table = app.newElement(Locator.ID, "table").get().tableSnapshot();
+        Assert.assertEquals(table.numOfRows(), 7);
+        Assert.assertEquals(table.numOfColumns(), 4);
+        Assert.assertEquals(table.row(1), Arrays.asList("President", "Alfreds Futterkiste", "Maria Anders", "Germany"));
+        Assert.assertEquals(table.cell(6, 3), "Italy");
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the getTableSnapshot method")
+    public void getTableSnapshotAttributesTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        TableSnapshot table = app.newElement(Locator.ID, "table").get().tableSnapshot("id");
+        Assert.assertEquals(table.cell(1, 1), "Alfreds Futterkiste");
+        Assert.assertNull(table.cellAttribute(1, 1, "id"));
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the getTableSnapshot method")
+    public void getTableSnapshotNotTableTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        TableSnapshot table = app.newElement(Locator.ID, "input_box").get().tableSnapshot();
+        Assert.assertNull(table);
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the getTableSnapshot method")
+    public void getTableSnapshotNotExistTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        TableSnapshot table = app.newElement(Locator.ID, "non-existent-name").get().tableSnapshot();
+        Assert.assertNull(table);
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the selectSnapshot method")
+    public void getSelectSnapshotTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        SelectSnapshot select = app.newElement(Locator.ID, "car_list").get().selectSnapshot();
+        Assert.assertEquals(select.options(), new String[]{"Volvo", "Saab", "Mercedes", "Audi"});
+        Assert.assertEquals(select.values(), new String[]{"volvo", "saab", "mercedes", "audi"});
+        Assert.assertEquals(select.selectedValue(), "volvo");
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the selectSnapshot method")
+    public void getSelectSnapshotNotSelectTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        SelectSnapshot select = app.newElement(Locator.ID, "table").get().selectSnapshot();
+        Assert.assertNull(select);
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the selectSnapshot method")
+    public void getSelectSnapshotNotExistTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        SelectSnapshot select = app.newElement(Locator.ID, "non-existent-name").get().selectSnapshot();
+        Assert.assertNull(select);
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the elementStates method")
+    public void getElementStatesTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Element input = app.newElement(Locator.ID, "input_box");
+        Element hidden = app.newElement(Locator.ID, "hidden_div");
+        Element disabled = app.newElement(Locator.ID, "alert_button");
+        Element cell = app.newElement(Locator.CSS, "#table td", 2);
+        Map<Element, ElementState> states = app.get().elementStates(input, hidden, disabled, cell);
+        Assert.assertEquals(states.size(), 4);
+        Assert.assertTrue(states.get(input).present());
+        Assert.assertTrue(states.get(input).input());
+        Assert.assertEquals(states.get(input).value(), "");
+        Assert.assertFalse(states.get(hidden).displayed());
+        Assert.assertFalse(states.get(disabled).enabled());
+        Assert.assertEquals(states.get(cell).text(), "Germany");
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the elementStates method")
+    public void getElementStatesNotExistTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Element missing = app.newElement(Locator.ID, "non-existent-name");
+        Element invalid = app.newElement(Locator.XPATH, "//[bad");
+        Element input = app.newElement(Locator.ID, "input_box");
+        Map<Element, ElementState> states = app.get().elementStates(missing, invalid, input);
+        Assert.assertFalse(states.get(missing).present());
+        Assert.assertFalse(states.get(invalid).present());
+        Assert.assertTrue(states.get(input).present());
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "get"},
+            description = "An integration test to check the pageElementStates method")
+    public void getPageElementStatesTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        ExamplePage page = new ExamplePage(app);
+        Map<Element, ElementState> states = app.get().pageElementStates(page);
+        Assert.assertEquals(states.size(), 2);
+        Assert.assertTrue(states.get(page.input).displayed());
+        Assert.assertFalse(states.get(page.hidden).displayed());
+        // verify no issues
+        finish();
+    }
+
+    private class ExamplePage {
+        private final Element input;
+        private final Element hidden;
+
+        ExamplePage(App app) {
+            input = app.newElement(Locator.ID, "input_box");
+            hidden = app.newElement(Locator.ID, "hidden_div");
+        }
+    }
+
     @Test(groups = {"integration", "actions", "get"},
             description = "An integration test to check the getSelectedText method")
     public void getSelectedTextTest() {
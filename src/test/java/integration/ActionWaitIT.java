@@ -3,7 +3,9 @@ package integration;
 import com.coveros.selenified.Locator;
 import com.coveros.selenified.Selenified;
 import com.coveros.selenified.application.App;
+import com.coveros.selenified.application.Condition;
 import com.coveros.selenified.element.Element;
+import org.testng.Assert;
 import org.testng.ITestContext;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
@@ -510,4 +512,77 @@ public class ActionWaitIT extends Selenified {
         // verify 1 issue
         finish(1);
     }
-}
\ No newline at end of file
+
+    @Test(groups = {"integration", "actions", "wait"},
+            description = "An integration test to check the waitForAnyOf method")
+    public void waitForAnyOfTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        app.newElement(Locator.NAME, "delayed_display_button").click();
+        Element addedDiv = app.newElement(Locator.NAME, "added_div", 0);
+        Condition fired = app.waitFor().anyOf(Condition.alertPresent(), Condition.displayed(addedDiv));
+        Assert.assertEquals(fired.getDescription(), Condition.displayed(addedDiv).getDescription());
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "wait"},
+            description = "An integration negative test to check the waitForAnyOf method")
+    public void negativeWaitForAnyOfTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Condition fired = app.waitFor().anyOf(1, Condition.alertPresent(),
+                Condition.present(app.newElement(Locator.ID, "non-existent-element")));
+        Assert.assertNull(fired);
+        // verify 1 issue
+        finish(1);
+    }
+
+    @Test(groups = {"integration", "actions", "wait"},
+            description = "An integration test to check the waitForAllOf method")
+    public void waitForAllOfTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        app.newElement(Locator.NAME, "delayed_display_button").click();
+        Assert.assertTrue(app.waitFor().allOf(Condition.present(app.newElement(Locator.NAME, "added_div", 0)),
+                Condition.notDisplayed(app.newElement(Locator.NAME, "delayed_display_button")),
+                Condition.textPresent("Something")));
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "actions", "wait"},
+            description = "An integration negative test to check the waitForAllOf method")
+    public void negativeWaitForAllOfTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Assert.assertFalse(app.waitFor().allOf(1, Condition.displayed(app.newElement(Locator.ID, "input_box")),
+                Condition.alertPresent()));
+        // verify 1 issue
+        finish(1);
+    }
+
+    @Test(groups = {"integration", "actions", "wait"},
+            description = "An integration negative test to check failing fast on a missing element")
+    public void negativeWaitForPresentFailFastTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        app.getOutputFile().setFailFast(true);
+        // perform some actions
+        Element element = app.newElement(Locator.ID, "non-existent-element");
+        element.waitFor().present(1);
+        long start = System.currentTimeMillis();
+        element.waitFor().present(1);
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000);
+        app.refresh();
+        start = System.currentTimeMillis();
+        element.waitFor().present(1);
+        Assert.assertTrue(System.currentTimeMillis() - start >= 1000);
+        // verify 3 issues
+        finish(3);
+    }
+}
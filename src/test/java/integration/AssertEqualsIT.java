@@ -3,10 +3,14 @@ package integration;
 import com.coveros.selenified.Locator;
 import com.coveros.selenified.Selenified;
 import com.coveros.selenified.application.App;
+import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.ElementState;
 import org.testng.ITestContext;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.Map;
+
 public class AssertEqualsIT extends Selenified {
 
     @BeforeClass(alwaysRun = true)
@@ -404,6 +408,36 @@ public class AssertEqualsIT extends Selenified {
         finish();
     }
 
+    @Test(groups = {"integration", "asserts", "equals"},
+            description = "An integration test to check the compareTextValue method using an element state")
+    public void compareTextValueStateTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Element cell = app.newElement(Locator.XPATH, "//*[@id=\"table\"]/tbody/tr[2]/td[1]");
+        Element input = app.newElement(Locator.ID, "input_box");
+        Map<Element, ElementState> states = app.get().elementStates(cell, input);
+        cell.assertEquals().text(states.get(cell), "Centro comercial Moctezuma");
+        input.assertEquals().value(states.get(input), "");
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "asserts", "equals"},
+            description = "An integration negative test to check the compareTextValue method using an element state")
+    public void negativeCompareTextValueStateTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Element cell = app.newElement(Locator.XPATH, "//*[@id=\"table\"]/tbody/tr[2]/td[1]");
+        Element button = app.newElement(Locator.ID, "alert_button");
+        Map<Element, ElementState> states = app.get().elementStates(cell, button);
+        cell.assertEquals().text(states.get(cell), "Maria Anders");
+        button.assertEquals().value(states.get(button), "Confirm");
+        // verify 2 issues
+        finish(2);
+    }
+
     @Test(groups = {"integration", "asserts", "equals"},
             description = "An integration negative test to check the compareTextValue method")
     public void negativeCompareTextValueTest() {
@@ -3,10 +3,14 @@ package integration;
 import com.coveros.selenified.Locator;
 import com.coveros.selenified.Selenified;
 import com.coveros.selenified.application.App;
+import com.coveros.selenified.element.Element;
+import com.coveros.selenified.element.ElementState;
 import org.testng.ITestContext;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.util.Map;
+
 public class AssertStateIT extends Selenified {
 
     @BeforeClass(alwaysRun = true)
@@ -75,6 +79,33 @@ public class AssertStateIT extends Selenified {
         finish();
     }
 
+    @Test(groups = {"integration", "asserts", "state"},
+            description = "An integration test to check the checkElementDisplayed method using an element state")
+    public void checkElementDisplayedStateTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Element element = app.newElement(Locator.ID, "alert_button");
+        element.assertState().displayed(app.get().elementStates(element).get(element));
+        // verify no issues
+        finish();
+    }
+
+    @Test(groups = {"integration", "asserts", "state"},
+            description = "An integration negative test to check the checkElementDisplayed method using a state")
+    public void negativeCheckElementDisplayedStateTest() {
+        // use this object to manipulate the app
+        App app = this.apps.get();
+        // perform some actions
+        Element hidden = app.newElement(Locator.ID, "hidden_div");
+        Element missing = app.newElement(Locator.ID, "non_existent");
+        Map<Element, ElementState> states = app.get().elementStates(hidden, missing);
+        hidden.assertState().displayed(states.get(hidden));
+        missing.assertState().displayed(states.get(missing));
+        // verify 2 issues
+        finish(2);
+    }
+
     @Test(groups = {"integration", "asserts", "state"},
             description = "An integration negative test to check the checkElementDisplayed method")
     public void negativeCheckElementDisplayedTest() {
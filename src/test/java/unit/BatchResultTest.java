@@ -0,0 +1,100 @@
+package unit;
+
+import com.coveros.selenified.Browser;
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.services.BatchResult;
+import com.coveros.selenified.services.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class BatchResultTest {
+
+    private OutputFile file;
+    private BatchResult result;
+
+    @BeforeMethod
+    public void createResult() {
+        file = new OutputFile("directory", "file", Browser.NONE, null, null, null, null, null, null);
+        result = new BatchResult(file, Arrays.asList("one", "two", "three", "four"));
+        result.record(0, new Response(200));
+        result.record(1, new Response(201));
+        result.record(2, new Response(404));
+        result.record(3, null);
+        result.setSeconds(2);
+    }
+
+    @AfterMethod
+    public void deleteFile() {
+        new File("directory", file.getFileName()).delete();
+        new File("directory").delete();
+    }
+
+    @Test
+    public void figuresTest() {
+        Assert.assertEquals(result.getCalls(), 4);
+        Assert.assertEquals(result.getErrors(), 2);
+        Assert.assertEquals(result.getThroughput(), 2.0);
+        Assert.assertEquals(result.getResponse(1).getCode(), 201);
+        Assert.assertEquals(result.getResponse(3).getCode(), 0);
+        Assert.assertEquals(result.getResponses().size(), 4);
+    }
+
+    @Test
+    public void emptyFiguresTest() {
+        BatchResult empty = new BatchResult(file, Collections.emptyList());
+        Assert.assertEquals(empty.getCalls(), 0);
+        Assert.assertEquals(empty.getErrors(), 0);
+        Assert.assertEquals(empty.getThroughput(), 0.0);
+    }
+
+    @Test
+    public void summaryTest() {
+        Assert.assertEquals(result.getSummary(), "Made <b>4</b> calls in <b>2</b> seconds (<b>2</b> calls/sec), " +
+                "with <b>2</b> errors<details open><summary>Each call (<b>4</b>)</summary><div>one : <b>200</b> " +
+                "in <b>0ms</b></div><div>two : <b>201</b> in <b>0ms</b></div><div>three : <b>404</b> in " +
+                "<b>0ms</b></div><div>four : no response was received</div></details>");
+    }
+
+    @Test
+    public void summaryClosedTest() {
+        BatchResult passed = new BatchResult(file, Collections.singletonList("one"));
+        passed.record(0, new Response(200));
+        Assert.assertTrue(passed.getSummary().contains("<details><summary>"));
+    }
+
+    @Test
+    public void assertEachCodeTest() {
+        result.assertEachCode(200);
+        Assert.assertEquals(file.getErrors(), 1);
+        BatchResult passed = new BatchResult(file, Collections.singletonList("one"));
+        passed.record(0, new Response(200));
+        passed.assertEachCode(200);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertEachSucceededTest() {
+        result.assertEachSucceeded();
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertEachTest() {
+        result.assertEach("have a code", response -> response.getCode() > 0);
+        Assert.assertEquals(file.getErrors(), 1);
+        result.assertEach("have a code of at most 404", response -> response.getCode() <= 404);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertEachNoCallsTest() {
+        new BatchResult(file, Collections.emptyList()).assertEachSucceeded();
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+}
@@ -0,0 +1,460 @@
+package unit;
+
+import com.coveros.selenified.Browser;
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.OutputFile.Result;
+import com.coveros.selenified.services.BatchResult;
+import com.coveros.selenified.services.Call;
+import com.coveros.selenified.services.CircuitBreaker;
+import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.LoadResult;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.RetryPolicy;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CallTest {
+
+    private TestServer server;
+    private String baseUrl;
+    private OutputFile file;
+    private Call call;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final AtomicInteger unavailableCalls = new AtomicInteger();
+    private final AtomicInteger slowInFlight = new AtomicInteger();
+    private final AtomicInteger slowMostInFlight = new AtomicInteger();
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new TestServer();
+        server.handle("/fast", exchange -> respond(exchange, "{\"speed\":\"fast\"}"));
+        server.handle("/flaky", exchange -> {
+            int code = flakyCalls.incrementAndGet() % 4 == 0 ? 500 : 200;
+            TestServer.respond(exchange, code, "{\"speed\":\"fast\"}");
+        });
+        server.handle("/unavailable", exchange -> {
+            int code = unavailableCalls.incrementAndGet() <= 2 ? 503 : 200;
+            TestServer.respond(exchange, code, "{\"calls\":" + unavailableCalls.get() + "}");
+        });
+        server.handle("/headers", exchange -> {
+            String header = exchange.getRequestHeaders().getFirst("X-Test");
+            respond(exchange, "{\"header\":\"" + header + "\"}");
+        });
+        server.handle("/slow", exchange -> {
+            slowMostInFlight.accumulateAndGet(slowInFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                slowInFlight.decrementAndGet();
+            }
+            respond(exchange, "{\"speed\":\"slow\"}");
+        });
+        server.handleConcurrently();
+        server.start();
+        baseUrl = server.getBaseUrl();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop();
+    }
+
+    @BeforeMethod
+    public void createCall() {
+        file = new OutputFile("directory", "file", Browser.NONE, null, null, null, null, null, null);
+        call = new Call(new HTTP(baseUrl), file, new HashMap<>());
+    }
+
+    @AfterMethod
+    public void deleteFile() {
+        unavailableCalls.set(0);
+        slowMostInFlight.set(0);
+        new File("directory", file.getFileName()).delete();
+        new File("directory").delete();
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        TestServer.respond(exchange, 200, body);
+    }
+
+    private String readFile() throws IOException {
+        return new String(Files.readAllBytes(new File("directory", file.getFileName()).toPath()),
+                StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void getTest() {
+        Response response = call.get("fast");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(file.getErrors(), 0);
+    }
+
+    @Test
+    public void getFailedTest() {
+        Response response = new Call(new HTTP("http://localhost:1/"), file, new HashMap<>()).get("fast");
+        Assert.assertEquals(response.getCode(), 0);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void getAsyncTest() {
+        Response response = call.getAsync("fast").join();
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("speed").getAsString(), "fast");
+        Assert.assertEquals(file.getErrors(), 0);
+    }
+
+    @Test
+    public void getAsyncFailedTest() {
+        Response response = new Call(new HTTP("http://localhost:1/"), file, new HashMap<>()).getAsync("fast").join();
+        Assert.assertEquals(response.getCode(), 0);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void asyncInParallelTest() {
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            responses.add(call.getAsync("slow"));
+        }
+        call.awaitAsync();
+        Assert.assertTrue(slowMostInFlight.get() > 1, slowMostInFlight.get() + " calls were in flight at once");
+        for (CompletableFuture<Response> response : responses) {
+            Assert.assertTrue(response.isDone());
+            Assert.assertEquals(response.join().getCode(), 200);
+        }
+    }
+
+    @Test
+    public void asyncRecordFailureTest() throws IOException {
+        AtomicInteger recorded = new AtomicInteger();
+        OutputFile broken = new OutputFile("directory", "broken", Browser.NONE, null, null, null, null, null, null) {
+            @Override
+            public synchronized void recordAction(String action, String expectedResult, String actualResult,
+                                                  Result result) {
+                if (recorded.incrementAndGet() == 1) {
+                    throw new IllegalStateException("unable to write the step");
+                }
+                super.recordAction(action, expectedResult, actualResult, result);
+            }
+        };
+        try {
+            Call brokenCall = new Call(new HTTP(baseUrl), broken, new HashMap<>());
+            CompletableFuture<Response> first = brokenCall.getAsync("fast");
+            CompletableFuture<Response> second = brokenCall.getAsync("slow");
+            brokenCall.awaitAsync();
+            Assert.assertEquals(first.join().getCode(), 200);
+            Assert.assertEquals(second.join().getCode(), 200);
+            Assert.assertEquals(recorded.get(), 2);
+            String output = new String(Files.readAllBytes(new File("directory", broken.getFileName()).toPath()),
+                    StandardCharsets.UTF_8);
+            Assert.assertTrue(output.contains(baseUrl + "slow"));
+        } finally {
+            new File("directory", broken.getFileName()).delete();
+        }
+    }
+
+    @Test
+    public void asyncRecordedInOrderTest() throws IOException {
+        CompletableFuture<Response> slow = call.getAsync("slow");
+        CompletableFuture<Response> fast = call.getAsync("fast");
+        fast.join();
+        Assert.assertTrue(slow.isDone());
+        String output = readFile();
+        Assert.assertTrue(output.indexOf(baseUrl + "slow") < output.indexOf(baseUrl + "fast"));
+    }
+
+    @Test
+    public void loadRequestsTest() throws IOException {
+        LoadResult result = call.load("GET", "fast", null, 4, 200);
+        Assert.assertEquals(result.getCalls(), 200);
+        Assert.assertEquals(result.getErrors(), 0);
+        Assert.assertEquals(result.getWorkers(), 4);
+        Assert.assertTrue(result.getThroughput() > 0);
+        Assert.assertTrue(result.getLatencies().getMax() >= result.getLatencies().getPercentile(50));
+        result.assertErrorRateBelow(1);
+        Assert.assertEquals(file.getErrors(), 0);
+        Assert.assertTrue(readFile().contains("Made <b>200</b> calls"));
+    }
+
+    @Test
+    public void loadErrorsTest() {
+        flakyCalls.set(0);
+        LoadResult result = call.load("GET", "flaky", null, 2, 100);
+        Assert.assertEquals(result.getCalls(), 100);
+        Assert.assertEquals(result.getErrors(), 25);
+        result.assertErrorRateBelow(10);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void batchEndpointsTest() throws IOException {
+        List<String> endpoints = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            endpoints.add(i % 10 == 0 ? "missing" : "fast");
+        }
+        BatchResult result = call.batch("GET", endpoints, 8);
+        Assert.assertEquals(result.getCalls(), 50);
+        Assert.assertEquals(result.getErrors(), 5);
+        Assert.assertEquals(result.getResponse(0).getCode(), 404);
+        Assert.assertEquals(result.getResponse(1).getObjectData().get("speed").getAsString(), "fast");
+        Assert.assertEquals(file.getErrors(), 0);
+        result.assertEachCode(200);
+        Assert.assertEquals(file.getErrors(), 1);
+        String content = readFile();
+        Assert.assertTrue(content.contains("Making <i>GET</i> calls to <i>" + baseUrl + "</i> for <b>50</b>"));
+        Assert.assertTrue(content.contains("<b>45</b> of <b>50</b> responses did"));
+        Assert.assertFalse(content.contains("<i>GET</i> call was made successfully"));
+    }
+
+    @Test
+    public void batchRequestsTest() {
+        call.addHeaders(Collections.singletonMap("X-Test", "batch"));
+        List<Request> requests = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Map<String, String> params = new HashMap<>();
+            params.put("id", String.valueOf(i));
+            requests.add(new Request(params));
+        }
+        BatchResult result = call.batch("GET", "headers", requests, 4);
+        result.assertEachSucceeded();
+        result.assertEach("send the header",
+                response -> "batch".equals(response.getObjectData().get("header").getAsString()));
+        Assert.assertEquals(file.getErrors(), 0);
+        Assert.assertEquals(call.getResponseTimes().getCount(), 10);
+    }
+
+    @Test
+    public void batchConcurrentTest() {
+        BatchResult result = call.batch("GET", Collections.nCopies(9, "slow"), 3);
+        Assert.assertEquals(result.getCalls(), 9);
+        Assert.assertEquals(result.getErrors(), 0);
+        // the calls overlap, but never more than there are workers
+        Assert.assertTrue(slowMostInFlight.get() > 1, slowMostInFlight.get() + " calls were in flight at once");
+        Assert.assertTrue(slowMostInFlight.get() <= 3, slowMostInFlight.get() + " calls were in flight at once");
+    }
+
+    @Test
+    public void batchEmptyTest() {
+        BatchResult result = call.batch("GET", new ArrayList<>(), 4);
+        Assert.assertEquals(result.getCalls(), 0);
+        Assert.assertEquals(file.getErrors(), 0);
+    }
+
+    @Test
+    public void loadForTest() {
+        long start = System.currentTimeMillis();
+        LoadResult result = call.loadFor("GET", "slow", null, 5, 1);
+        long took = System.currentTimeMillis() - start;
+        // calls keep being made until the time is up, so the load can't finish any sooner
+        Assert.assertTrue(took >= 1000, "took " + took + "ms");
+        Assert.assertTrue(took < 10000, "took " + took + "ms");
+        Assert.assertTrue(result.getCalls() > 0);
+        Assert.assertEquals(result.getLatencies().getCount(), result.getCalls());
+        Assert.assertEquals(result.getErrors(), 0);
+        Assert.assertTrue(slowMostInFlight.get() > 1, slowMostInFlight.get() + " calls were in flight at once");
+    }
+
+    @Test
+    public void responseTimesTest() {
+        call.get("fast");
+        call.get("slow");
+        Assert.assertEquals(call.getResponseTimes().getCount(), 2);
+        Assert.assertTrue(call.getResponseTimes().getMax() >= 300);
+    }
+
+    @Test
+    public void assertResponseTimePercentileBelowTest() throws IOException {
+        // warm up the shared client outside of the call, so its creation isn't counted as a response time
+        new HTTP(baseUrl).get("fast");
+        for (int i = 0; i < 4; i++) {
+            call.get("fast");
+        }
+        call.get("slow");
+        call.assertResponseTimePercentileBelow(80, 250);
+        Assert.assertEquals(file.getErrors(), 0);
+        call.assertResponseTimePercentileBelow(100, 250);
+        Assert.assertEquals(file.getErrors(), 1);
+        Assert.assertTrue(readFile().contains("Expected to find a p80 response time below <b>250ms</b>"));
+    }
+
+    @Test
+    public void assertResponseTimePercentileBelowNoCallsTest() {
+        call.assertResponseTimePercentileBelow(50, 250);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void downloadTest() throws IOException {
+        File download = File.createTempFile("download", ".json");
+        try {
+            Response response = call.download("fast", null, download);
+            response.assertSize(16);
+            Assert.assertEquals(file.getErrors(), 0);
+            Assert.assertEquals(new String(Files.readAllBytes(download.toPath()), StandardCharsets.UTF_8),
+                    "{\"speed\":\"fast\"}");
+            String content = readFile();
+            Assert.assertTrue(content.contains("downloading to <i>" + download + "</i>"));
+            Assert.assertTrue(content.contains(", downloading <b>16</b> bytes"));
+        } finally {
+            download.delete();
+        }
+    }
+
+    @Test
+    public void downloadFailedTest() {
+        Response response = new Call(new HTTP("http://localhost:1/"), file, new HashMap<>()).download("fast", null,
+                null);
+        Assert.assertEquals(response.getCode(), 0);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void retryTest() throws IOException {
+        call.setRetryPolicy(new RetryPolicy(3, 10, 100));
+        Response response = call.get("unavailable");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("calls").getAsInt(), 3);
+        Assert.assertEquals(file.getErrors(), 0);
+        String content = readFile();
+        Assert.assertTrue(content.contains("Attempt 1 received a response code of <b>503</b>, retrying in <b>"));
+        Assert.assertTrue(content.contains("Attempt 2 received a response code of <b>503</b>, retrying in <b>"));
+        Assert.assertFalse(content.contains("Attempt 3"));
+    }
+
+    @Test
+    public void retryExhaustedTest() {
+        call.setRetryPolicy(new RetryPolicy(2, 10, 100));
+        Response response = call.get("unavailable");
+        Assert.assertEquals(response.getCode(), 503);
+        Assert.assertEquals(unavailableCalls.get(), 2);
+    }
+
+    @Test
+    public void noRetryByDefaultTest() {
+        Assert.assertEquals(call.get("unavailable").getCode(), 503);
+        Assert.assertEquals(unavailableCalls.get(), 1);
+    }
+
+    @Test
+    public void noRetryPostTest() {
+        call.setRetryPolicy(new RetryPolicy(3, 10, 100));
+        Assert.assertEquals(call.post("unavailable", new Request(new JsonObject())).getCode(), 503);
+        Assert.assertEquals(unavailableCalls.get(), 1);
+    }
+
+    @Test
+    public void retryAsyncTest() throws IOException {
+        call.setRetryPolicy(new RetryPolicy(3, 10, 100));
+        Assert.assertEquals(call.getAsync("unavailable").join().getCode(), 200);
+        Assert.assertTrue(readFile().contains("Attempt 2 received a response code of <b>503</b>"));
+    }
+
+    @Test
+    public void retryNoResponseTest() throws IOException {
+        Call down = new Call(new HTTP("http://localhost:1/"), file, new HashMap<>());
+        down.setRetryPolicy(new RetryPolicy(2, 10, 100));
+        Assert.assertEquals(down.get("fast").getCode(), 0);
+        Assert.assertEquals(file.getErrors(), 1);
+        Assert.assertTrue(readFile().contains("No response was received<br/>Attempt 1 received no response"));
+    }
+
+    @Test
+    public void circuitBreakerTest() throws IOException {
+        System.setProperty(CircuitBreaker.BREAKER_THRESHOLD, "2");
+        try {
+            CircuitBreaker.reset();
+            Call down = new Call(new HTTP("http://localhost:2/"), file, new HashMap<>());
+            down.setRetryPolicy(new RetryPolicy(5, 10, 100));
+            down.get("fast");
+            down.get("fast");
+            Assert.assertEquals(CircuitBreaker.forHost("localhost:2").getState(), CircuitBreaker.State.OPEN);
+            Assert.assertEquals(file.getErrors(), 2);
+            Assert.assertTrue(readFile().contains("The circuit breaker for <i>localhost:2</i> is open, so the call " +
+                    "wasn't made"));
+            Assert.assertEquals(call.get("fast").getCode(), 200);
+        } finally {
+            System.clearProperty(CircuitBreaker.BREAKER_THRESHOLD);
+            CircuitBreaker.reset();
+        }
+    }
+
+    @Test
+    public void headAndOptionsTest() throws IOException {
+        Assert.assertEquals(call.head("fast").getCode(), 200);
+        Assert.assertEquals(call.options("fast").getCode(), 200);
+        Assert.assertEquals(file.getErrors(), 0);
+        String content = readFile();
+        Assert.assertTrue(content.contains("<i>HEAD</i> call was made successfully"));
+        Assert.assertTrue(content.contains("<i>OPTIONS</i> call was made successfully"));
+    }
+
+    @Test
+    public void headersNotSharedTest() {
+        HTTP http = new HTTP(baseUrl);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-Test", "first");
+        Call first = new Call(http, file, headers);
+        Call second = new Call(http, file, new HashMap<>());
+        Assert.assertEquals(first.get("headers").getObjectData().get("header").getAsString(), "first");
+        Assert.assertEquals(second.get("headers").getObjectData().get("header").getAsString(), "null");
+    }
+
+    @Test
+    public void sharedSessionNotChangedTest() {
+        try {
+            HTTP shared = HTTP.getSession(baseUrl, "", "");
+            boolean caching = shared.isCaching();
+            Call first = new Call(shared, file, Collections.singletonMap("X-Test", "first"));
+            first.setCaching(!caching);
+            first.setRetryPolicy(new RetryPolicy(3, 0, 0));
+            Assert.assertEquals(shared.isCaching(), caching);
+            Call second = new Call(shared, file, new HashMap<>());
+            Assert.assertEquals(second.get("headers").getObjectData().get("header").getAsString(), "null");
+            Assert.assertEquals(first.get("headers").getObjectData().get("header").getAsString(), "first");
+        } finally {
+            HTTP.clearSessions();
+        }
+    }
+
+    @Test
+    public void headersOverrideSessionTest() {
+        HTTP http = new HTTP(baseUrl);
+        http.addHeaders(Collections.singletonMap("X-Test", "session"));
+        Call call = new Call(http, file, new HashMap<>());
+        Assert.assertEquals(call.get("headers").getObjectData().get("header").getAsString(), "session");
+        call.addHeaders(Collections.singletonMap("X-Test", "call"));
+        Assert.assertEquals(call.get("headers").getObjectData().get("header").getAsString(), "call");
+        call.resetHeaders();
+        Assert.assertEquals(call.get("headers").getObjectData().get("header").getAsString(), "session");
+    }
+
+    @Test
+    public void headersAsyncTest() {
+        call.addHeaders(Collections.singletonMap("X-Test", "async"));
+        CompletableFuture<Response> response = call.getAsync("headers");
+        call.resetHeaders();
+        Assert.assertEquals(response.join().getObjectData().get("header").getAsString(), "async");
+    }
+}
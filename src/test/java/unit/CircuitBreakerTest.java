@@ -0,0 +1,84 @@
+package unit;
+
+import com.coveros.selenified.services.CircuitBreaker;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class CircuitBreakerTest {
+
+    @AfterMethod
+    public void reset() {
+        System.clearProperty(CircuitBreaker.BREAKER_THRESHOLD);
+        System.clearProperty(CircuitBreaker.BREAKER_COOLDOWN);
+        CircuitBreaker.reset();
+    }
+
+    @Test
+    public void disabledTest() {
+        CircuitBreaker breaker = new CircuitBreaker("host", 0, 1000);
+        for (int i = 0; i < 10; i++) {
+            breaker.recordFailure();
+        }
+        Assert.assertTrue(breaker.allowCall());
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void opensTest() {
+        CircuitBreaker breaker = new CircuitBreaker("host", 3, 60000);
+        breaker.recordFailure();
+        breaker.recordFailure();
+        Assert.assertTrue(breaker.allowCall());
+        breaker.recordFailure();
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(breaker.allowCall());
+    }
+
+    @Test
+    public void successResetsTest() {
+        CircuitBreaker breaker = new CircuitBreaker("host", 2, 60000);
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void halfOpenTest() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("host", 1, 50);
+        breaker.recordFailure();
+        Assert.assertFalse(breaker.allowCall());
+        Thread.sleep(60);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        Assert.assertTrue(breaker.allowCall());
+        Assert.assertFalse(breaker.allowCall());
+        breaker.recordSuccess();
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.CLOSED);
+        Assert.assertTrue(breaker.allowCall());
+    }
+
+    @Test
+    public void halfOpenFailsTest() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("host", 1, 50);
+        breaker.recordFailure();
+        Thread.sleep(60);
+        Assert.assertTrue(breaker.allowCall());
+        breaker.recordFailure();
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertFalse(breaker.allowCall());
+    }
+
+    @Test
+    public void forHostTest() {
+        System.setProperty(CircuitBreaker.BREAKER_THRESHOLD, "1");
+        CircuitBreaker breaker = CircuitBreaker.forHost("host:80");
+        Assert.assertSame(CircuitBreaker.forHost("host:80"), breaker);
+        Assert.assertNotSame(CircuitBreaker.forHost("other:80"), breaker);
+        Assert.assertEquals(breaker.getHost(), "host:80");
+        breaker.recordFailure();
+        Assert.assertFalse(breaker.allowCall());
+        CircuitBreaker.reset();
+        Assert.assertTrue(CircuitBreaker.forHost("host:80").allowCall());
+    }
+}
@@ -0,0 +1,42 @@
+package unit;
+
+import com.coveros.selenified.Locator;
+import com.coveros.selenified.application.Condition;
+import com.coveros.selenified.element.Element;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConditionTest {
+
+    private Element element = new Element(null, null, Locator.ID, "myId");
+
+    @Test
+    public void checkElementDescriptionsTest() {
+        Assert.assertEquals(Condition.present(element).getDescription(),
+                "Element with <i>ID</i> of <i>myId</i> is present");
+        Assert.assertEquals(Condition.notPresent(element).getDescription(),
+                "Element with <i>ID</i> of <i>myId</i> is not present");
+        Assert.assertEquals(Condition.displayed(element).getDescription(),
+                "Element with <i>ID</i> of <i>myId</i> is displayed");
+        Assert.assertEquals(Condition.notDisplayed(element).getDescription(),
+                "Element with <i>ID</i> of <i>myId</i> is not displayed");
+        Assert.assertEquals(Condition.enabled(element).getDescription(),
+                "Element with <i>ID</i> of <i>myId</i> is enabled");
+        Assert.assertEquals(Condition.notEnabled(element).getDescription(),
+                "Element with <i>ID</i> of <i>myId</i> is not enabled");
+    }
+
+    @Test
+    public void checkAppDescriptionsTest() {
+        Assert.assertEquals(Condition.alertPresent().getDescription(), "An alert is present");
+        Assert.assertEquals(Condition.location("http://localhost/").getDescription(),
+                "Location shows as 'http://localhost/'");
+        Assert.assertEquals(Condition.textPresent("hello").getDescription(), "Text <b>hello</b> is present");
+        Assert.assertEquals(Condition.cookiePresent("cookie").getDescription(), "Cookie <b>cookie</b> is present");
+    }
+
+    @Test
+    public void checkToStringTest() {
+        Assert.assertEquals(Condition.alertPresent().toString(), "An alert is present");
+    }
+}
@@ -0,0 +1,89 @@
+package unit;
+
+import com.coveros.selenified.services.ConnectionPool;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConnectionPoolTest {
+
+    @AfterMethod
+    public void clearProperties() {
+        System.clearProperty(ConnectionPool.MAX_CONNECTIONS);
+        System.clearProperty(ConnectionPool.MAX_CONNECTIONS_PER_HOST);
+        System.clearProperty("http.proxyHost");
+        System.clearProperty("http.proxyPort");
+        ConnectionPool.close();
+    }
+
+    @Test
+    public void sharedClientTest() {
+        Assert.assertSame(ConnectionPool.getClient(), ConnectionPool.getClient());
+    }
+
+    @Test
+    public void closeTest() {
+        ConnectionPool.getClient();
+        Assert.assertNotNull(ConnectionPool.getStats());
+        ConnectionPool.close();
+        Assert.assertNull(ConnectionPool.getStats());
+    }
+
+    @Test
+    public void defaultMaxConnectionsTest() {
+        ConnectionPool.close();
+        ConnectionPool.getClient();
+        Assert.assertEquals(ConnectionPool.getStats().getMax(), 200);
+        Assert.assertEquals(ConnectionPool.getStats().getLeased(), 0);
+    }
+
+    @Test
+    public void maxConnectionsPropertyTest() {
+        ConnectionPool.close();
+        System.setProperty(ConnectionPool.MAX_CONNECTIONS, "50");
+        ConnectionPool.getClient();
+        Assert.assertEquals(ConnectionPool.getStats().getMax(), 50);
+    }
+
+    @Test
+    public void badMaxConnectionsPropertyTest() {
+        ConnectionPool.close();
+        System.setProperty(ConnectionPool.MAX_CONNECTIONS, "lots");
+        ConnectionPool.getClient();
+        Assert.assertEquals(ConnectionPool.getStats().getMax(), 200);
+    }
+
+    @Test
+    public void proxyPropertyTest() throws IOException {
+        // the stub server acts as the proxy, so it sees the full url of each call routed through it
+        List<String> proxied = new ArrayList<>();
+        HttpServer proxy = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        proxy.createContext("/", exchange -> {
+            proxied.add(exchange.getRequestURI().toString());
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        proxy.start();
+        try {
+            ConnectionPool.close();
+            System.setProperty("http.proxyHost", "localhost");
+            System.setProperty("http.proxyPort", String.valueOf(proxy.getAddress().getPort()));
+            try (CloseableHttpResponse response = ConnectionPool.getClient()
+                    .execute(new HttpGet("http://selenified.invalid/proxied"))) {
+                Assert.assertEquals(response.getStatusLine().getStatusCode(), 204);
+            }
+            Assert.assertEquals(proxied.size(), 1);
+            Assert.assertEquals(proxied.get(0), "http://selenified.invalid/proxied");
+        } finally {
+            proxy.stop(0);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package unit;
+
+import com.coveros.selenified.element.ElementState;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ElementStateTest {
+
+    @Test
+    public void checkNotPresentTest() {
+        ElementState state = new ElementState();
+        Assert.assertFalse(state.present());
+        Assert.assertFalse(state.displayed());
+        Assert.assertFalse(state.enabled());
+        Assert.assertFalse(state.checked());
+        Assert.assertFalse(state.input());
+        Assert.assertNull(state.tagName());
+        Assert.assertNull(state.text());
+        Assert.assertNull(state.value());
+    }
+
+    @Test
+    public void checkPresentTest() {
+        ElementState state = new ElementState("div", true, false, true, "Some Text", null);
+        Assert.assertTrue(state.present());
+        Assert.assertTrue(state.displayed());
+        Assert.assertFalse(state.enabled());
+        Assert.assertTrue(state.checked());
+        Assert.assertEquals(state.tagName(), "div");
+        Assert.assertEquals(state.text(), "Some Text");
+    }
+
+    @Test
+    public void checkInputTest() {
+        Assert.assertTrue(new ElementState("input", true, true, false, "", "").input());
+        Assert.assertTrue(new ElementState("TEXTAREA", true, true, false, "", "").input());
+        Assert.assertTrue(new ElementState("select", true, true, false, "", "").input());
+        Assert.assertFalse(new ElementState("button", true, true, false, "", "").input());
+    }
+
+    @Test
+    public void checkValueTest() {
+        Assert.assertEquals(new ElementState("input", true, true, false, "", "some value").value(), "some value");
+    }
+
+    @Test
+    public void checkValueNotInputTest() {
+        Assert.assertNull(new ElementState("button", true, true, false, "", "Alert").value());
+    }
+}
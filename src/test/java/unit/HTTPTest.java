@@ -1,11 +1,135 @@
 package unit;
 
+import com.coveros.selenified.services.CircuitBreaker;
+import com.coveros.selenified.services.ConnectionPool;
 import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.ResponseCache;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import org.apache.commons.codec.binary.Base64;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
 public class HTTPTest {
 
+    private static final byte[] BINARY = new byte[200 * 1024];
+
+    static {
+        new Random(42).nextBytes(BINARY);
+    }
+
+    private TestServer server;
+    private String baseUrl;
+    private final Set<Integer> clientPorts = new HashSet<>();
+    private String lastMethod;
+    private String lastOverride;
+    private String lastEncoding;
+    private String lastContentType;
+    private String lastTransferEncoding;
+    private String lastAuthorization;
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new TestServer();
+        server.handle("/json", exchange -> respond(exchange, 200, "{\"name\":\"value\"}"));
+        server.handle("/array", exchange -> respond(exchange, 200, "[1,2,3]"));
+        server.handle("/text", exchange -> respond(exchange, 200, "hello\nworld"));
+        server.handle("/missing", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.handle("/echo", exchange -> respond(exchange, 200, TestServer.read(exchange.getRequestBody())));
+        server.handle("/compressed", this::compressed);
+        server.handle("/setcookie", exchange -> {
+            exchange.getResponseHeaders().add("Set-Cookie", "session=abc; Path=/");
+            respond(exchange, 200, "{}");
+        });
+        server.handle("/cookie", exchange -> respond(exchange, 200,
+                "{\"cookie\":\"" + exchange.getRequestHeaders().getFirst("Cookie") + "\"}"));
+        server.handle("/allow", exchange -> {
+            exchange.getResponseHeaders().add("Allow", "GET, HEAD, OPTIONS");
+            exchange.getResponseHeaders().add("X-Multi", "one");
+            exchange.getResponseHeaders().add("X-Multi", "two");
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            respond(exchange, 200, "");
+        });
+        server.handle("/binary", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, BINARY.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(BINARY);
+            }
+        });
+        server.handle("/upload", exchange -> {
+            lastContentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            lastTransferEncoding = exchange.getRequestHeaders().getFirst("Transfer-Encoding");
+            respond(exchange, 200, TestServer.read(exchange.getRequestBody()));
+        });
+        server.handle("/inflate", exchange -> {
+            lastEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            InputStream body = exchange.getRequestBody();
+            respond(exchange, 200, TestServer.read("gzip".equals(lastEncoding) ? new GZIPInputStream(body) : body));
+        });
+        server.start();
+        baseUrl = server.getBaseUrl();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop();
+    }
+
+    private void respond(HttpExchange exchange, int code, String body) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        lastMethod = exchange.getRequestMethod();
+        lastOverride = exchange.getRequestHeaders().getFirst("X-HTTP-Method-Override");
+        lastAuthorization = exchange.getRequestHeaders().getFirst("Authorization");
+        TestServer.respond(exchange, code, body);
+    }
+
+    private void compressed(HttpExchange exchange) throws IOException {
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        String encoding = exchange.getRequestURI().getQuery();
+        byte[] bytes = ("{\"accepted\":\"" + accepted + "\",\"text\":\"caf\u00e9\"}").getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (accepted != null && accepted.contains(encoding)) {
+            exchange.getResponseHeaders().add("Content-Encoding", encoding);
+            try (OutputStream compressor = "gzip".equals(encoding) ? new GZIPOutputStream(out) :
+                    new DeflaterOutputStream(out)) {
+                compressor.write(bytes);
+            }
+        } else {
+            out.write(bytes);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(200, out.size());
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(out.toByteArray());
+        }
+    }
+
     @Test
     public void useCredentialsEmptyTest() {
         HTTP http = new HTTP("Service");
@@ -35,4 +159,468 @@ public class HTTPTest {
         HTTP http = new HTTP("Service", "", "Pass");
         Assert.assertFalse(http.useCredentials());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void useCredentialsNullTest() {
+        HTTP http = new HTTP("Service", null, null);
+        Assert.assertFalse(http.useCredentials());
+        Assert.assertEquals(http.getUser(), "");
+        Assert.assertEquals(http.getPass(), "");
+    }
+
+    @Test
+    public void credentialsSentTest() {
+        new HTTP(baseUrl, "us\u00e9r", "p\u00e4ss").get("json");
+        Assert.assertEquals(lastAuthorization, "Basic " + Base64.encodeBase64String("us\u00e9r:p\u00e4ss".getBytes(
+                StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void credentialsNotSentTest() {
+        new HTTP(baseUrl, "User", "").get("json");
+        Assert.assertNull(lastAuthorization);
+    }
+
+    @Test
+    public void getSessionSharedTest() {
+        try {
+            HTTP http = HTTP.getSession(baseUrl, "User", "Pass");
+            Assert.assertSame(HTTP.getSession(baseUrl, "User", "Pass"), http);
+            Assert.assertEquals(http.getServiceBaseUrl(), baseUrl);
+            Assert.assertEquals(http.getUser(), "User");
+            Assert.assertEquals(http.getPass(), "Pass");
+        } finally {
+            HTTP.clearSessions();
+        }
+    }
+
+    @Test
+    public void getSessionCredentialsTest() {
+        try {
+            HTTP http = HTTP.getSession(baseUrl, "User", "Pass");
+            Assert.assertNotSame(HTTP.getSession(baseUrl, "User", "Other"), http);
+            Assert.assertNotSame(HTTP.getSession(baseUrl, "Other", "Pass"), http);
+            Assert.assertNotSame(HTTP.getSession("http://localhost:1/", "User", "Pass"), http);
+        } finally {
+            HTTP.clearSessions();
+        }
+    }
+
+    @Test
+    public void getSessionUnchangeableTest() {
+        try {
+            HTTP http = HTTP.getSession(baseUrl, "", "");
+            Assert.assertTrue(http.isShared());
+            Assert.assertThrows(UnsupportedOperationException.class, () -> http.setCaching(true));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> http.setRetryPolicy(null));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> http.setTransport(null));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> http.setPatchOverride(true));
+            Assert.assertThrows(UnsupportedOperationException.class, () -> http.addHeaders(new HashMap<>()));
+            Assert.assertThrows(UnsupportedOperationException.class, http::resetHeaders);
+        } finally {
+            HTTP.clearSessions();
+        }
+    }
+
+    @Test
+    public void copyTest() {
+        try {
+            HTTP shared = HTTP.getSession(baseUrl, "User", "Pass");
+            HTTP copy = shared.copy();
+            Assert.assertFalse(copy.isShared());
+            Assert.assertEquals(copy.getServiceBaseUrl(), baseUrl);
+            Assert.assertEquals(copy.getUser(), "User");
+            Assert.assertEquals(copy.getPass(), "Pass");
+            Assert.assertSame(copy.getRetryPolicy(), shared.getRetryPolicy());
+            copy.setCaching(!shared.isCaching());
+            Assert.assertNotEquals(copy.isCaching(), shared.isCaching());
+        } finally {
+            HTTP.clearSessions();
+        }
+    }
+
+    @Test
+    public void clearSessionsTest() {
+        HTTP http = HTTP.getSession(baseUrl, "", "");
+        HTTP.clearSessions();
+        Assert.assertNotSame(HTTP.getSession(baseUrl, "", ""), http);
+        HTTP.clearSessions();
+    }
+
+    @Test
+    public void getObjectTest() {
+        Response response = new HTTP(baseUrl).get("json");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("name").getAsString(), "value");
+        Assert.assertEquals(lastMethod, "GET");
+    }
+
+    @Test
+    public void getArrayTest() {
+        Response response = new HTTP(baseUrl).get("array");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getArrayData().size(), 3);
+        Assert.assertNull(response.getObjectData());
+    }
+
+    @Test
+    public void getErrorTest() {
+        Response response = new HTTP(baseUrl).get("missing");
+        Assert.assertEquals(response.getCode(), 404);
+        Assert.assertEquals(response.getMessage(), "{\"error\":\"not found\"}");
+    }
+
+    @Test
+    public void postDataTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("title", "f\u00f6o");
+        Response response = new HTTP(baseUrl).post("echo", new Request(data));
+        Assert.assertEquals(lastMethod, "POST");
+        Assert.assertEquals(response.getObjectData(), data);
+    }
+
+    @Test
+    public void patchTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("title", "foo");
+        Response response = new HTTP(baseUrl).patch("echo", new Request(data));
+        Assert.assertEquals(lastMethod, "PATCH");
+        Assert.assertNull(lastOverride);
+        Assert.assertEquals(response.getObjectData(), data);
+    }
+
+    @Test
+    public void patchOverrideTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("title", "foo");
+        HTTP http = new HTTP(baseUrl);
+        Assert.assertFalse(http.isPatchOverride());
+        http.setPatchOverride(true);
+        http.patch("echo", new Request(data));
+        Assert.assertEquals(lastMethod, "POST");
+        Assert.assertEquals(lastOverride, "PATCH");
+    }
+
+    @Test
+    public void patchOverridePropertyTest() {
+        System.setProperty(HTTP.PATCH_OVERRIDE, "true");
+        try {
+            Assert.assertTrue(new HTTP(baseUrl).isPatchOverride());
+        } finally {
+            System.clearProperty(HTTP.PATCH_OVERRIDE);
+        }
+    }
+
+    @Test
+    public void headTest() {
+        Response response = new HTTP(baseUrl).head("json");
+        Assert.assertEquals(lastMethod, "HEAD");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getSize(), 0);
+        Assert.assertNotNull(response.getHeader("date"));
+    }
+
+    @Test
+    public void optionsTest() {
+        Response response = new HTTP(baseUrl).options("allow");
+        Assert.assertEquals(lastMethod, "OPTIONS");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getHeader("Allow"), "GET, HEAD, OPTIONS");
+    }
+
+    @Test
+    public void headersTest() {
+        Response response = new HTTP(baseUrl).get("allow");
+        Assert.assertEquals(response.getHeader("ALLOW"), "GET, HEAD, OPTIONS");
+        Assert.assertEquals(response.getHeader("X-Multi"), "one, two");
+        Assert.assertTrue(response.getHeaders().containsKey("content-type"));
+        Assert.assertNull(response.getHeader("missing"));
+    }
+
+    @Test
+    public void cookiesNotSharedTest() {
+        new HTTP(baseUrl).get("setcookie");
+        Response response = new HTTP(baseUrl, "user", "pass").get("cookie");
+        Assert.assertEquals(response.getObjectData().get("cookie").getAsString(), "null");
+    }
+
+    @Test
+    public void transportTest() {
+        HTTP http = new HTTP(baseUrl);
+        Assert.assertSame(http.getTransport(), ConnectionPool.getTransport());
+        List<String> sent = new ArrayList<>();
+        http.setTransport((request, context) -> {
+            sent.add(request.getMethod() + " " + request.getURI());
+            return ConnectionPool.getClient().execute(request, context);
+        });
+        Assert.assertEquals(http.get("json").getCode(), 200);
+        Assert.assertEquals(sent, Collections.singletonList("GET " + baseUrl + "json"));
+    }
+
+    @Test
+    public void transportFailureTest() {
+        HTTP http = new HTTP(baseUrl);
+        http.setTransport((request, context) -> {
+            throw new IOException("transport is down");
+        });
+        Assert.assertNull(http.get("json"));
+    }
+
+    @Test
+    public void transportThrowsTest() throws InterruptedException {
+        System.setProperty(CircuitBreaker.BREAKER_THRESHOLD, "1");
+        System.setProperty(CircuitBreaker.BREAKER_COOLDOWN, "50");
+        try {
+            CircuitBreaker.reset();
+            HTTP http = new HTTP("http://localhost:3/");
+            http.setTransport((request, context) -> {
+                throw new IllegalStateException("transport is broken");
+            });
+            Assert.assertThrows(IllegalStateException.class, () -> http.get("json"));
+            CircuitBreaker breaker = CircuitBreaker.forHost("localhost:3");
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+            Thread.sleep(60);
+            // the trial call throws too, which opens the breaker again, rather than blocking the host for good
+            Assert.assertThrows(IllegalStateException.class, () -> http.get("json"));
+            Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+            Thread.sleep(60);
+            Assert.assertTrue(breaker.allowCall());
+        } finally {
+            System.clearProperty(CircuitBreaker.BREAKER_THRESHOLD);
+            System.clearProperty(CircuitBreaker.BREAKER_COOLDOWN);
+            CircuitBreaker.reset();
+        }
+    }
+
+    @Test
+    public void contentLengthHeaderIgnoredTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("title", "foo");
+        HTTP http = new HTTP(baseUrl);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Content-length", "0");
+        http.addHeaders(headers);
+        Response response = http.post("echo", new Request(data));
+        Assert.assertEquals(response.getObjectData(), data);
+    }
+
+    @Test
+    public void badUrlTest() {
+        Assert.assertNull(new HTTP("http://localhost:1/").get("json"));
+    }
+
+    @Test
+    public void connectionReusedTest() {
+        clientPorts.clear();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(new HTTP(baseUrl).get("json").getCode(), 200);
+        }
+        Assert.assertEquals(clientPorts.size(), 1);
+    }
+
+    @Test
+    public void getAsyncTest() {
+        Response response = new HTTP(baseUrl).getAsync("json").join();
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("name").getAsString(), "value");
+    }
+
+    @Test
+    public void postAsyncTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("title", "foo");
+        Response response = new HTTP(baseUrl).postAsync("echo", new Request(data)).join();
+        Assert.assertEquals(response.getObjectData(), data);
+    }
+
+    @Test
+    public void asyncHeadersTakenWhenCalledTest() {
+        HTTP http = new HTTP(baseUrl);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-HTTP-Method-Override", "PUT");
+        http.addHeaders(headers);
+        CompletableFuture<Response> response = http.getAsync("json");
+        http.resetHeaders();
+        response.join();
+        Assert.assertEquals(lastOverride, "PUT");
+    }
+
+    @Test
+    public void badUrlAsyncTest() {
+        Assert.assertNull(new HTTP("http://localhost:1/").getAsync("json").join());
+    }
+
+    @Test
+    public void timingsTest() {
+        ConnectionPool.close();
+        Response response = new HTTP(baseUrl).get("json");
+        Assert.assertTrue(response.getConnectTime() > 0);
+        Assert.assertTrue(response.getTimeToFirstByte() >= response.getConnectTime());
+        Assert.assertTrue(response.getResponseTime() >= response.getTimeToFirstByte());
+        response = new HTTP(baseUrl).get("json");
+        Assert.assertEquals(response.getConnectTime(), 0.0);
+        Assert.assertTrue(response.getTimeToFirstByte() > 0);
+        Assert.assertTrue(response.getResponseTime() >= response.getTimeToFirstByte());
+    }
+
+    @Test
+    public void getTextTest() {
+        Response response = new HTTP(baseUrl).get("text");
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertFalse(response.isData());
+        Assert.assertEquals(response.getMessage(), "hello\nworld");
+    }
+
+    @Test
+    public void acceptEncodingTest() {
+        Response response = new HTTP(baseUrl).get("compressed?identity", null);
+        Assert.assertTrue(response.getObjectData().get("accepted").getAsString().contains("gzip"));
+        Assert.assertTrue(response.getObjectData().get("accepted").getAsString().contains("deflate"));
+    }
+
+    @Test
+    public void gzipResponseTest() {
+        Response response = new HTTP(baseUrl).get("compressed?gzip", null);
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("text").getAsString(), "caf\u00e9");
+    }
+
+    @Test
+    public void deflateResponseTest() {
+        Response response = new HTTP(baseUrl).get("compressed?deflate", null);
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("text").getAsString(), "caf\u00e9");
+    }
+
+    @Test
+    public void requestNotCompressedByDefaultTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("name", "caf\u00e9");
+        Response response = new HTTP(baseUrl).post("inflate", new Request(data));
+        Assert.assertNull(lastEncoding);
+        Assert.assertEquals(response.getObjectData(), data);
+    }
+
+    @Test
+    public void requestCompressedTest() {
+        System.setProperty(HTTP.COMPRESS_REQUESTS_OVER, "10");
+        try {
+            JsonObject data = new JsonObject();
+            data.addProperty("name", "caf\u00e9 and a longer value");
+            Response response = new HTTP(baseUrl).post("inflate", new Request(data));
+            Assert.assertEquals(lastEncoding, "gzip");
+            Assert.assertEquals(response.getObjectData(), data);
+            JsonObject small = new JsonObject();
+            small.addProperty("a", 1);
+            response = new HTTP(baseUrl).post("inflate", new Request(small));
+            Assert.assertNull(lastEncoding);
+            Assert.assertEquals(response.getObjectData(), small);
+        } finally {
+            System.clearProperty(HTTP.COMPRESS_REQUESTS_OVER);
+        }
+    }
+
+    @Test
+    public void uploadFileTest() throws IOException {
+        File file = File.createTempFile("upload", ".txt");
+        try {
+            java.nio.file.Files.write(file.toPath(), "file contents".getBytes(StandardCharsets.UTF_8));
+            Request request = new Request(file);
+            request.setContentType("text/plain");
+            Response response = new HTTP(baseUrl).post("upload", request);
+            Assert.assertEquals(response.getMessage(), "file contents");
+            Assert.assertEquals(lastContentType, "text/plain");
+            Assert.assertNull(lastTransferEncoding);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void uploadStreamTest() {
+        Request request = new Request(new ByteArrayInputStream("streamed".getBytes(StandardCharsets.UTF_8)), 8);
+        Response response = new HTTP(baseUrl).put("upload", request);
+        Assert.assertEquals(response.getMessage(), "streamed");
+        Assert.assertEquals(lastContentType, "application/octet-stream");
+        Assert.assertNull(lastTransferEncoding);
+    }
+
+    @Test
+    public void uploadChunkedStreamTest() {
+        Request request = new Request(new ByteArrayInputStream("chunked".getBytes(StandardCharsets.UTF_8)), -1);
+        Response response = new HTTP(baseUrl).post("upload", request);
+        Assert.assertEquals(response.getMessage(), "chunked");
+        Assert.assertEquals(lastTransferEncoding, "chunked");
+    }
+
+    @Test
+    public void uploadMultipartTest() throws IOException {
+        File file = File.createTempFile("upload", ".txt");
+        try {
+            java.nio.file.Files.write(file.toPath(), "file contents".getBytes(StandardCharsets.UTF_8));
+            Request request = new Request(new HashMap<>());
+            request.addMultipart("name", "caf\u00e9");
+            request.addMultipart("upload", file);
+            Response response = new HTTP(baseUrl).post("upload", request);
+            Assert.assertTrue(lastContentType.startsWith("multipart/form-data; boundary="));
+            Assert.assertTrue(response.getMessage().contains("name=\"name\""));
+            Assert.assertTrue(response.getMessage().contains("caf\u00e9"));
+            Assert.assertTrue(response.getMessage().contains("name=\"upload\"; filename=\"" + file.getName() + "\""));
+            Assert.assertTrue(response.getMessage().contains("file contents"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void uploadJsonContentTypeTest() {
+        JsonObject data = new JsonObject();
+        data.addProperty("name", "value");
+        new HTTP(baseUrl).post("upload", new Request(data));
+        Assert.assertEquals(lastContentType, "application/json; charset=UTF-8");
+    }
+
+    @Test
+    public void downloadTest() throws IOException {
+        File file = File.createTempFile("download", ".bin");
+        try {
+            Response response = new HTTP(baseUrl).download("binary", null, file);
+            Assert.assertEquals(response.getCode(), 200);
+            Assert.assertTrue(response.isDownload());
+            Assert.assertEquals(response.getDownloadFile(), file);
+            Assert.assertEquals(response.getSize(), BINARY.length);
+            Assert.assertEquals(response.getSha256(), DigestUtils.sha256Hex(BINARY));
+            Assert.assertEquals(response.getContentType(), "application/octet-stream");
+            Assert.assertNull(response.getBody());
+            Assert.assertEquals(java.nio.file.Files.readAllBytes(file.toPath()), BINARY);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void downloadDigestOnlyTest() {
+        Response response = new HTTP(baseUrl).download("binary", null, null);
+        Assert.assertNull(response.getDownloadFile());
+        Assert.assertEquals(response.getSize(), BINARY.length);
+        Assert.assertEquals(response.getSha256(), DigestUtils.sha256Hex(BINARY));
+    }
+
+    @Test
+    public void downloadNotCachedTest() {
+        HTTP http = new HTTP(baseUrl);
+        http.setCaching(true);
+        try {
+            Response response = http.download("binary", null, null);
+            Assert.assertNull(response.getCacheStatus());
+            Assert.assertEquals(ResponseCache.size(), 0);
+        } finally {
+            ResponseCache.clear();
+        }
+    }
+
+    @Test
+    public void downloadBadFileTest() {
+        Assert.assertNull(new HTTP(baseUrl).download("binary", null, new File("missing/directory/file.bin")));
+    }
+}
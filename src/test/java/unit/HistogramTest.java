@@ -0,0 +1,51 @@
+package unit;
+
+import com.coveros.selenified.utilities.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class HistogramTest {
+
+    @Test
+    public void emptyTest() {
+        Histogram histogram = new Histogram();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getPercentile(50), 0.0);
+        Assert.assertEquals(histogram.getMax(), 0.0);
+        Assert.assertEquals(histogram.getMean(), 0.0);
+    }
+
+    @Test
+    public void percentileTest() {
+        Histogram histogram = new Histogram();
+        for (int i = 100; i > 0; i--) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getPercentile(50), 50.0);
+        Assert.assertEquals(histogram.getPercentile(95), 95.0);
+        Assert.assertEquals(histogram.getPercentile(99), 99.0);
+        Assert.assertEquals(histogram.getMin(), 1.0);
+        Assert.assertEquals(histogram.getMax(), 100.0);
+        Assert.assertEquals(histogram.getMean(), 50.5);
+    }
+
+    @Test
+    public void percentileOutOfRangeTest() {
+        Histogram histogram = new Histogram();
+        histogram.record(5);
+        histogram.record(10);
+        Assert.assertEquals(histogram.getPercentile(-10), 5.0);
+        Assert.assertEquals(histogram.getPercentile(150), 10.0);
+    }
+
+    @Test
+    public void recordAfterPercentileTest() {
+        Histogram histogram = new Histogram();
+        histogram.record(10);
+        Assert.assertEquals(histogram.getMax(), 10.0);
+        histogram.record(20);
+        Assert.assertEquals(histogram.getMax(), 20.0);
+        Assert.assertEquals(histogram.getMin(), 10.0);
+    }
+}
@@ -0,0 +1,78 @@
+package unit;
+
+import com.coveros.selenified.services.JsonPath;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class JsonPathTest {
+
+    private final JsonElement json = new JsonParser().parse("{\"name\": \"store\", \"first name\": \"bob\", " +
+            "\"items\": [{\"id\": 1, \"tags\": [\"a\", \"b\"]}, {\"id\": 2, \"tags\": [\"c\"], \"name\": \"two\"}]}");
+
+    @Test
+    public void rootTest() {
+        List<JsonElement> matches = JsonPath.compile("$").evaluate(json);
+        Assert.assertEquals(matches.size(), 1);
+        Assert.assertEquals(matches.get(0), json);
+    }
+
+    @Test
+    public void memberTest() {
+        Assert.assertEquals(JsonPath.compile("$.name").evaluate(json).get(0), new JsonPrimitive("store"));
+        Assert.assertEquals(JsonPath.compile("$['first name']").evaluate(json).get(0), new JsonPrimitive("bob"));
+        Assert.assertEquals(JsonPath.compile("name").evaluate(json).get(0), new JsonPrimitive("store"));
+    }
+
+    @Test
+    public void indexTest() {
+        Assert.assertEquals(JsonPath.compile("$.items[0].id").evaluate(json).get(0), new JsonPrimitive(1));
+        Assert.assertEquals(JsonPath.compile("$.items[-1].id").evaluate(json).get(0), new JsonPrimitive(2));
+        Assert.assertTrue(JsonPath.compile("$.items[2]").evaluate(json).isEmpty());
+    }
+
+    @Test
+    public void wildcardTest() {
+        Assert.assertEquals(JsonPath.compile("$.items[*].id").evaluate(json).size(), 2);
+        Assert.assertEquals(JsonPath.compile("$.items.*").evaluate(json).size(), 2);
+        Assert.assertEquals(JsonPath.compile("$.*").evaluate(json).size(), 3);
+    }
+
+    @Test
+    public void deepScanTest() {
+        Assert.assertEquals(JsonPath.compile("$..name").evaluate(json).size(), 2);
+        Assert.assertEquals(JsonPath.compile("$..tags[*]").evaluate(json).size(), 3);
+    }
+
+    @Test
+    public void missingTest() {
+        Assert.assertTrue(JsonPath.compile("$.missing.id").evaluate(json).isEmpty());
+        Assert.assertTrue(JsonPath.compile("$.name[0]").evaluate(json).isEmpty());
+        Assert.assertTrue(JsonPath.compile("$.name").evaluate(null).isEmpty());
+    }
+
+    @Test
+    public void cachedTest() {
+        Assert.assertSame(JsonPath.compile("$.items[0]"), JsonPath.compile("$.items[0]"));
+        Assert.assertEquals(JsonPath.compile("$.items[0]").toString(), "$.items[0]");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void unclosedTest() {
+        JsonPath.compile("$.items[0");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidSelectorTest() {
+        JsonPath.compile("$.items[one]");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void emptyTest() {
+        JsonPath.compile("");
+    }
+}
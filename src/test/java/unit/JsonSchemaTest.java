@@ -0,0 +1,216 @@
+package unit;
+
+import com.coveros.selenified.services.JsonSchema;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class JsonSchemaTest {
+
+    private final JsonObject itemSchema = schema("{\"type\": \"object\", \"required\": [\"id\", \"name\"], " +
+            "\"properties\": {\"id\": {\"type\": \"integer\", \"minimum\": 1}, \"name\": {\"type\": \"string\", " +
+            "\"minLength\": 1, \"pattern\": \"^[a-z]+$\"}, \"tags\": {\"type\": \"array\", \"items\": " +
+            "{\"enum\": [\"a\", \"b\"]}, \"maxItems\": 2}}, \"additionalProperties\": false}");
+
+    private static JsonObject schema(String schema) {
+        return new JsonParser().parse(schema).getAsJsonObject();
+    }
+
+    private static JsonElement json(String json) {
+        return new JsonParser().parse(json);
+    }
+
+    private List<String> both(JsonSchema schema, String json) {
+        List<String> violations = schema.validate(new StringReader(json));
+        Assert.assertEquals(schema.validate(json(json)), violations);
+        return violations;
+    }
+
+    @Test
+    public void validTest() {
+        JsonSchema schema = JsonSchema.compile(itemSchema);
+        Assert.assertTrue(both(schema, "{\"id\": 1, \"name\": \"one\", \"tags\": [\"a\"]}").isEmpty());
+    }
+
+    @Test
+    public void cachedTest() {
+        Assert.assertSame(JsonSchema.compile(itemSchema), JsonSchema.compile(schema(itemSchema.toString())));
+        Assert.assertEquals(JsonSchema.compile(itemSchema).getSchema(), itemSchema);
+    }
+
+    @Test
+    public void typeTest() {
+        JsonSchema schema = JsonSchema.compile(schema("{\"type\": [\"number\", \"null\"]}"));
+        Assert.assertTrue(both(schema, "1.5").isEmpty());
+        Assert.assertTrue(both(schema, "2").isEmpty());
+        Assert.assertTrue(both(schema, "null").isEmpty());
+        Assert.assertEquals(both(schema, "\"two\""), Collections.singletonList(
+                "$: expected number or null, but found string"));
+        JsonSchema integer = JsonSchema.compile(schema("{\"type\": \"integer\"}"));
+        Assert.assertTrue(both(integer, "2.0").isEmpty());
+        Assert.assertEquals(both(integer, "2.5").size(), 1);
+    }
+
+    @Test
+    public void requiredTest() {
+        List<String> violations = both(JsonSchema.compile(itemSchema), "{\"id\": 1}");
+        Assert.assertEquals(violations.size(), 1);
+        Assert.assertEquals(violations.get(0), "$: is missing the required property 'name'");
+    }
+
+    @Test
+    public void additionalPropertiesTest() {
+        List<String> violations = both(JsonSchema.compile(itemSchema), "{\"id\": 1, \"name\": \"one\", \"x\": 1}");
+        Assert.assertEquals(violations.size(), 1);
+        Assert.assertEquals(violations.get(0), "$: has an unexpected property 'x'");
+        JsonSchema typed = JsonSchema.compile(schema("{\"additionalProperties\": {\"type\": \"string\"}}"));
+        Assert.assertTrue(both(typed, "{\"x\": \"one\"}").isEmpty());
+        Assert.assertEquals(both(typed, "{\"x\": 1}").size(), 1);
+    }
+
+    @Test
+    public void nestedViolationsTest() {
+        List<String> violations = both(JsonSchema.compile(itemSchema),
+                "{\"id\": 0, \"name\": \"One\", \"tags\": [\"a\", \"c\", \"b\"]}");
+        Assert.assertEquals(violations.size(), 4);
+        Assert.assertEquals(violations.get(0), "$.id: 0 is below the minimum of 1");
+        Assert.assertEquals(violations.get(1), "$.name: \"One\" does not match the pattern ^[a-z]+$");
+        Assert.assertEquals(violations.get(2), "$.tags[1]: \"c\" is not one of the allowed values [\"a\", \"b\"]");
+        Assert.assertEquals(violations.get(3), "$.tags: has 3 elements, more than the maximum of 2");
+    }
+
+    @Test
+    public void numbersTest() {
+        JsonSchema schema = JsonSchema.compile(schema("{\"exclusiveMinimum\": 0, \"exclusiveMaximum\": 10, " +
+                "\"maximum\": 5}"));
+        Assert.assertTrue(both(schema, "5").isEmpty());
+        Assert.assertEquals(both(schema, "0").size(), 1);
+        Assert.assertEquals(both(schema, "10").size(), 2);
+    }
+
+    @Test
+    public void constTest() {
+        JsonSchema schema = JsonSchema.compile(schema("{\"const\": {\"id\": 1}}"));
+        Assert.assertTrue(both(schema, "{\"id\": 1.0}").isEmpty());
+        Assert.assertEquals(both(schema, "{\"id\": 2}").size(), 1);
+    }
+
+    @Test
+    public void combinationsTest() {
+        JsonSchema anyOf = JsonSchema.compile(schema("{\"anyOf\": [{\"type\": \"string\"}, {\"minimum\": 5}]}"));
+        Assert.assertTrue(both(anyOf, "\"x\"").isEmpty());
+        Assert.assertTrue(both(anyOf, "6").isEmpty());
+        Assert.assertEquals(both(anyOf, "4"), Collections.singletonList(
+                "$: does not match any of the anyOf schemas"));
+        JsonSchema oneOf = JsonSchema.compile(schema("{\"oneOf\": [{\"type\": \"integer\"}, {\"minimum\": 5}]}"));
+        Assert.assertTrue(both(oneOf, "1").isEmpty());
+        Assert.assertEquals(both(oneOf, "6").size(), 1);
+        JsonSchema allOf = JsonSchema.compile(schema("{\"allOf\": [{\"type\": \"integer\"}, {\"minimum\": 5}]}"));
+        Assert.assertEquals(both(allOf, "1.5").size(), 2);
+        JsonSchema not = JsonSchema.compile(schema("{\"not\": {\"type\": \"null\"}}"));
+        Assert.assertTrue(both(not, "1").isEmpty());
+        Assert.assertEquals(both(not, "null").size(), 1);
+    }
+
+    @Test
+    public void refTest() {
+        JsonSchema schema = JsonSchema.compile(schema("{\"definitions\": {\"node\": {\"type\": \"object\", " +
+                "\"properties\": {\"value\": {\"type\": \"integer\"}, \"next\": " +
+                "{\"$ref\": \"#/definitions/node\"}}}}, \"$ref\": \"#/definitions/node\"}"));
+        Assert.assertTrue(both(schema, "{\"value\": 1, \"next\": {\"value\": 2, \"next\": {}}}").isEmpty());
+        Assert.assertEquals(both(schema, "{\"next\": {\"next\": {\"value\": \"x\"}}}"),
+                Collections.singletonList("$.next.next.value: expected integer, but found string"));
+    }
+
+    @Test
+    public void booleanSchemaTest() {
+        JsonSchema schema = JsonSchema.compile(schema("{\"properties\": {\"never\": false, \"always\": true}}"));
+        Assert.assertTrue(both(schema, "{\"always\": [1, {}]}").isEmpty());
+        Assert.assertEquals(both(schema, "{\"never\": 1}"), Collections.singletonList(
+                "$.never: is not allowed"));
+    }
+
+    @Test
+    public void largeArrayTest() {
+        JsonSchema schema = JsonSchema.compile(schema("{\"type\": \"array\", \"items\": " + itemSchema + "}"));
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= 10000; i++) {
+            json.append(i > 1 ? "," : "").append("{\"id\": ").append(i).append(", \"name\": \"item\"}");
+        }
+        json.append(",{\"id\": 0, \"name\": \"item\"}]");
+        Assert.assertEquals(both(schema, json.toString()), Collections.singletonList(
+                "$[10000].id: 0 is below the minimum of 1"));
+    }
+
+    @Test
+    public void invalidJsonTest() {
+        JsonSchema schema = JsonSchema.compile(itemSchema);
+        List<String> violations = schema.validate(new StringReader("{\"id\": "));
+        Assert.assertEquals(violations.size(), 1);
+        Assert.assertTrue(violations.get(0).startsWith("$: is not valid json"));
+        Assert.assertTrue(schema.validate(new StringReader("")).get(0).startsWith("$: is not valid json"));
+    }
+
+    @Test
+    public void malformedJsonTest() {
+        JsonSchema schema = JsonSchema.compile(itemSchema);
+        for (String json : Arrays.asList("{id: 1, \"name\": \"a\"}", "{'id': 1, \"name\": \"a\"}", "NaN",
+                "{\"id\": NaN, \"name\": \"a\"}", "{\"id\": 1, \"name\": \"a\", \"tags\": ['a']}")) {
+            List<String> violations = schema.validate(new StringReader(json));
+            Assert.assertFalse(violations.isEmpty(), json);
+            Assert.assertTrue(violations.get(violations.size() - 1).startsWith("$: is not valid json"), json);
+        }
+        JsonSchema anyOf = JsonSchema.compile(schema("{\"anyOf\": [{\"type\": \"object\"}]}"));
+        Assert.assertTrue(anyOf.validate(new StringReader("{a: 1}")).get(0).startsWith("$: is not valid json"));
+        Assert.assertTrue(anyOf.validate(new StringReader("{\"a\": 1}")).isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidTypeTest() {
+        JsonSchema.compile(schema("{\"type\": \"thing\"}"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidPatternTest() {
+        JsonSchema.compile(schema("{\"pattern\": \"[\"}"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void invalidRefTest() {
+        JsonSchema.compile(schema("{\"$ref\": \"#/definitions/missing\"}"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void nullSchemaTest() {
+        JsonSchema.compile(null);
+    }
+
+    @Test
+    public void loadTest() throws IOException {
+        File file = File.createTempFile("schema", ".json");
+        try {
+            Files.write(file.toPath(), itemSchema.toString().getBytes(StandardCharsets.UTF_8));
+            JsonSchema schema = JsonSchema.load(file);
+            Assert.assertSame(JsonSchema.load(file), schema);
+            Assert.assertEquals(schema.getSchema(), itemSchema);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void loadMissingTest() {
+        JsonSchema.load(new File("missing/schema.json"));
+    }
+}
@@ -0,0 +1,95 @@
+package unit;
+
+import com.coveros.selenified.Browser;
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.services.LoadResult;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+
+public class LoadResultTest {
+
+    private OutputFile file;
+    private LoadResult result;
+
+    @BeforeMethod
+    public void createResult() {
+        file = new OutputFile("directory", "file", Browser.NONE, null, null, null, null, null, null);
+        result = new LoadResult(file, 2);
+        for (int i = 1; i <= 100; i++) {
+            result.record(i, i > 95);
+        }
+        result.setSeconds(2);
+    }
+
+    @AfterMethod
+    public void deleteFile() {
+        new File("directory", file.getFileName()).delete();
+        new File("directory").delete();
+    }
+
+    @Test
+    public void figuresTest() {
+        Assert.assertEquals(result.getWorkers(), 2);
+        Assert.assertEquals(result.getCalls(), 100);
+        Assert.assertEquals(result.getErrors(), 5);
+        Assert.assertEquals(result.getErrorRate(), 5.0);
+        Assert.assertEquals(result.getThroughput(), 50.0);
+        Assert.assertEquals(result.getLatencies().getPercentile(95), 95.0);
+    }
+
+    @Test
+    public void emptyFiguresTest() {
+        LoadResult empty = new LoadResult(file, 1);
+        Assert.assertEquals(empty.getErrorRate(), 0.0);
+        Assert.assertEquals(empty.getThroughput(), 0.0);
+    }
+
+    @Test
+    public void summaryTest() {
+        Assert.assertEquals(result.getSummary(), "Made <b>100</b> calls in <b>2</b> seconds (<b>50</b> calls/sec), " +
+                "with <b>5</b> errors (<b>5%</b>)<br/>Latency: p50 <b>50ms</b>, p95 <b>95ms</b>, p99 <b>99ms</b>, " +
+                "max <b>100ms</b>");
+    }
+
+    @Test
+    public void assertPercentileBelowTest() {
+        result.assertPercentileBelow(95, 96);
+        Assert.assertEquals(file.getErrors(), 0);
+        result.assertPercentileBelow(99, 96);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertPercentileBelowNoCallsTest() {
+        new LoadResult(file, 1).assertPercentileBelow(50, 1000);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertMaxBelowTest() {
+        result.assertMaxBelow(101);
+        Assert.assertEquals(file.getErrors(), 0);
+        result.assertMaxBelow(100);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertErrorRateBelowTest() {
+        result.assertErrorRateBelow(5.5);
+        Assert.assertEquals(file.getErrors(), 0);
+        result.assertErrorRateBelow(1);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+
+    @Test
+    public void assertThroughputAboveTest() {
+        result.assertThroughputAbove(40);
+        Assert.assertEquals(file.getErrors(), 0);
+        result.assertThroughputAbove(60);
+        Assert.assertEquals(file.getErrors(), 1);
+    }
+}
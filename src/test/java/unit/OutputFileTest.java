@@ -15,6 +15,7 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.util.HashMap;
@@ -63,6 +64,74 @@ public class OutputFileTest {
         Assert.assertEquals(outputFile.getFileName(), "fileANDROID.html");
     }
 
+    @Test
+    public void testNameTest() {
+        Assert.assertEquals(outputFile.getTestName(), "file");
+    }
+
+    @Test
+    public void waitBudgetDefaultTest() {
+        Assert.assertEquals(outputFile.getWaitBudget(), 0.0);
+        Assert.assertEquals(outputFile.getRemainingWaitBudget(), Double.POSITIVE_INFINITY);
+        outputFile.addWaitTime(100);
+        Assert.assertFalse(outputFile.isWaitBudgetExhausted());
+        Assert.assertEquals(outputFile.getWaitBudgetNote(), "");
+    }
+
+    @Test
+    public void waitBudgetTest() {
+        outputFile.setWaitBudget(10);
+        outputFile.addWaitTime(4);
+        Assert.assertEquals(outputFile.getWaitTime(), 4.0);
+        Assert.assertEquals(outputFile.getRemainingWaitBudget(), 6.0);
+        Assert.assertFalse(outputFile.isWaitBudgetExhausted());
+        outputFile.addWaitTime(7);
+        Assert.assertEquals(outputFile.getRemainingWaitBudget(), 0.0);
+        Assert.assertTrue(outputFile.isWaitBudgetExhausted());
+        Assert.assertEquals(outputFile.getWaitBudgetNote(),
+                ". The wait budget of 10.0 seconds for this test has been used up, so no further waiting will be done");
+    }
+
+    @Test
+    public void waitBudgetPropertyTest() {
+        System.setProperty("waitBudget", "30");
+        OutputFile budgetFile = new OutputFile("directory", "file", Browser.ANDROID, null, null, null, null, null, null);
+        System.clearProperty("waitBudget");
+        Assert.assertEquals(budgetFile.getWaitBudget(), 30.0);
+    }
+
+    @Test
+    public void waitBudgetBadPropertyTest() {
+        System.setProperty("waitBudget", "lots");
+        OutputFile budgetFile = new OutputFile("directory", "file", Browser.ANDROID, null, null, null, null, null, null);
+        System.clearProperty("waitBudget");
+        Assert.assertEquals(budgetFile.getWaitBudget(), 0.0);
+    }
+
+    @Test
+    public void failFastTest() {
+        Assert.assertFalse(outputFile.isFailFast());
+        outputFile.setFailFast(true);
+        Assert.assertTrue(outputFile.isFailFast());
+    }
+
+    @Test
+    public void failFastPropertyTest() {
+        System.setProperty("failFast", "true");
+        OutputFile failFastFile = new OutputFile("directory", "file", Browser.ANDROID, null, null, null, null, null,
+                null);
+        System.clearProperty("failFast");
+        Assert.assertTrue(failFastFile.isFailFast());
+    }
+
+    @Test
+    public void navigationsTest() {
+        Assert.assertEquals(outputFile.getNavigations(), 0);
+        outputFile.addNavigation();
+        outputFile.addNavigation();
+        Assert.assertEquals(outputFile.getNavigations(), 2);
+    }
+
     @Test
     public void captureEntirePageScreenshotTest() {
         Assert.assertEquals(outputFile.captureEntirePageScreenshot(),
@@ -317,6 +386,33 @@ public class OutputFileTest {
                 "<br/>&nbsp;with&nbsp;parameters:&nbsp;<div><i><div>hello&nbsp;:&nbsp;world</div></i></div>");
     }
 
+    @Test
+    public void outputRequestPropertiesFileTest() {
+        Request request = new Request(new File("upload.txt"));
+        Assert.assertEquals(outputFile.outputRequestProperties(request),
+                "<br/>&nbsp;with&nbsp;parameters:&nbsp;<div><i><div>file&nbsp;:&nbsp;upload.txt</div></i></div>");
+    }
+
+    @Test
+    public void outputRequestPropertiesStreamTest() {
+        Request request = new Request(new ByteArrayInputStream(new byte[5]), 5);
+        Assert.assertEquals(outputFile.outputRequestProperties(request),
+                "<br/>&nbsp;with&nbsp;parameters:&nbsp;<div><i><div>stream&nbsp;:&nbsp;5&nbsp;bytes</div></i></div>");
+        request.setStream(new ByteArrayInputStream(new byte[5]), -1);
+        Assert.assertEquals(outputFile.outputRequestProperties(request),
+                "<br/>&nbsp;with&nbsp;parameters:&nbsp;<div><i><div>stream&nbsp;:&nbsp;unknown&nbsp;length</div></i></div>");
+    }
+
+    @Test
+    public void outputRequestPropertiesMultipartTest() {
+        Request request = new Request(new HashMap<>());
+        request.addMultipart("hello", "world");
+        request.addMultipart("upload", new File("upload.txt"));
+        Assert.assertEquals(outputFile.outputRequestProperties(request),
+                "<br/>&nbsp;with&nbsp;parameters:&nbsp;<div><i><div>hello&nbsp;:&nbsp;world</div>" +
+                        "<div>upload&nbsp;:&nbsp;file&nbsp;upload.txt</div></i></div>");
+    }
+
     @Test
     public void outputRequestPropertiesBothTest() {
         Map<String, String> map = new HashMap<>();
@@ -0,0 +1,98 @@
+package unit;
+
+import com.coveros.selenified.utilities.Poller;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PollerTest {
+
+    @AfterMethod
+    public void clearProperties() {
+        System.clearProperty("pollInterval");
+        System.clearProperty("pollMaxInterval");
+        System.clearProperty("pollBackoff");
+        // clear any interrupt left over from the interrupt test
+        Thread.interrupted();
+    }
+
+    @Test
+    public void checkImmediatelyMetTest() {
+        Poller poller = new Poller();
+        Assert.assertTrue(poller.until(5, () -> true));
+        Assert.assertEquals(poller.getPolls(), 1);
+        Assert.assertTrue(poller.getSecondsTaken() < 1);
+    }
+
+    @Test
+    public void checkEventuallyMetTest() {
+        AtomicInteger count = new AtomicInteger();
+        Poller poller = new Poller(10, 10, 1);
+        Assert.assertTrue(poller.until(5, () -> count.incrementAndGet() == 3));
+        Assert.assertEquals(poller.getPolls(), 3);
+    }
+
+    @Test
+    public void checkNeverMetTest() {
+        Poller poller = new Poller(10, 50, 2);
+        Assert.assertFalse(poller.until(0.3, () -> false));
+        Assert.assertTrue(poller.getSecondsTaken() >= 0.3);
+        Assert.assertTrue(poller.getSecondsTaken() < 1);
+    }
+
+    @Test
+    public void checkBackoffTest() {
+        // with a fixed interval of 50ms, 0.5 seconds gives around 10 polls
+        Poller fixed = new Poller(50, 50, 1);
+        fixed.until(0.5, () -> false);
+        // backing off from 10ms doubling up to 200ms should need far fewer polls than
+        // a fixed 10ms interval
+        Poller backoff = new Poller(10, 200, 2);
+        backoff.until(0.5, () -> false);
+        Assert.assertTrue(fixed.getPolls() <= 12, "polls: " + fixed.getPolls());
+        Assert.assertTrue(backoff.getPolls() <= 8, "polls: " + backoff.getPolls());
+    }
+
+    @Test
+    public void checkZeroWaitTest() {
+        Poller poller = new Poller();
+        Assert.assertFalse(poller.until(0, () -> false));
+        Assert.assertEquals(poller.getPolls(), 1);
+    }
+
+    @Test
+    public void checkInterruptedTest() {
+        Poller poller = new Poller(1000, 1000, 1);
+        Thread.currentThread().interrupt();
+        Assert.assertFalse(poller.until(5, () -> false));
+        Assert.assertTrue(Thread.currentThread().isInterrupted());
+        Assert.assertTrue(poller.getSecondsTaken() < 1);
+    }
+
+    @Test
+    public void checkSystemPropertiesTest() {
+        System.setProperty("pollInterval", "100");
+        System.setProperty("pollMaxInterval", "100");
+        System.setProperty("pollBackoff", "1");
+        Poller poller = new Poller();
+        poller.until(0.35, () -> false);
+        Assert.assertTrue(poller.getPolls() <= 5, "polls: " + poller.getPolls());
+    }
+
+    @Test
+    public void checkBadSystemPropertiesTest() {
+        System.setProperty("pollInterval", "fast");
+        System.setProperty("pollBackoff", "lots");
+        Poller poller = new Poller();
+        Assert.assertTrue(poller.until(1, () -> true));
+    }
+
+    @Test
+    public void checkSecondsSinceTest() throws InterruptedException {
+        long start = System.nanoTime();
+        Thread.sleep(20);
+        Assert.assertTrue(Poller.secondsSince(start) >= 0.02);
+    }
+}
@@ -0,0 +1,45 @@
+package unit;
+
+import com.coveros.selenified.utilities.Property;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class PropertyTest {
+
+    private static final String PROPERTY = "propertyTest";
+
+    @AfterMethod
+    public void clearProperty() {
+        System.clearProperty(PROPERTY);
+    }
+
+    @Test
+    public void checkIntTest() {
+        Assert.assertEquals(Property.getInt(PROPERTY, 5), 5);
+        System.setProperty(PROPERTY, "12");
+        Assert.assertEquals(Property.getInt(PROPERTY, 5), 12);
+        System.setProperty(PROPERTY, "twelve");
+        Assert.assertEquals(Property.getInt(PROPERTY, 5), 5);
+        System.setProperty(PROPERTY, "1.5");
+        Assert.assertEquals(Property.getInt(PROPERTY, 5), 5);
+    }
+
+    @Test
+    public void checkLongTest() {
+        Assert.assertEquals(Property.getLong(PROPERTY, 5), 5);
+        System.setProperty(PROPERTY, "12000000000");
+        Assert.assertEquals(Property.getLong(PROPERTY, 5), 12000000000L);
+        System.setProperty(PROPERTY, "");
+        Assert.assertEquals(Property.getLong(PROPERTY, 5), 5);
+    }
+
+    @Test
+    public void checkDoubleTest() {
+        Assert.assertEquals(Property.getDouble(PROPERTY, 0.5), 0.5);
+        System.setProperty(PROPERTY, "1.5");
+        Assert.assertEquals(Property.getDouble(PROPERTY, 0.5), 1.5);
+        System.setProperty(PROPERTY, "one");
+        Assert.assertEquals(Property.getDouble(PROPERTY, 0.5), 0.5);
+    }
+}
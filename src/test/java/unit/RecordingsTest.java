@@ -0,0 +1,290 @@
+package unit;
+
+import com.coveros.selenified.Browser;
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.services.Call;
+import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Recordings;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RecordingsTest {
+
+    private TestServer server;
+    private String baseUrl;
+    private final AtomicInteger counter = new AtomicInteger();
+    private final File recordings = new File("recordingsTest.jsonl");
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new TestServer();
+        server.handle("/counter", exchange -> respond(exchange, 200, "{\"count\":" +
+                counter.incrementAndGet() + ",\"query\":\"" + exchange.getRequestURI().getQuery() + "\"}"));
+        server.handle("/missing", exchange -> respond(exchange, 404, "{\"error\":\"not found\"}"));
+        server.start();
+        baseUrl = server.getBaseUrl();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop();
+    }
+
+    @BeforeMethod
+    public void setRecordings() {
+        System.setProperty(Recordings.FILE, recordings.getPath());
+        Recordings.reset();
+        counter.set(0);
+    }
+
+    @AfterMethod
+    public void resetRecordings() {
+        System.clearProperty(Recordings.MODE);
+        System.clearProperty(Recordings.FILE);
+        Recordings.reset();
+        recordings.delete();
+        new File("directory", "fileNONE.html").delete();
+        new File("directory").delete();
+    }
+
+    private void respond(HttpExchange exchange, int code, String body) throws IOException {
+        exchange.getResponseHeaders().add("X-Recorded", "yes");
+        TestServer.respond(exchange, code, body);
+    }
+
+    private Request params(String key, String value) {
+        Map<String, String> params = new HashMap<>();
+        params.put(key, value);
+        return new Request(params);
+    }
+
+    @Test
+    public void modeTest() {
+        Assert.assertEquals(Recordings.getMode(), Recordings.Mode.LIVE);
+        System.setProperty(Recordings.MODE, "RECORD");
+        Assert.assertEquals(Recordings.getMode(), Recordings.Mode.RECORD);
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertEquals(Recordings.getMode(), Recordings.Mode.REPLAY);
+        System.setProperty(Recordings.MODE, "other");
+        Assert.assertEquals(Recordings.getMode(), Recordings.Mode.LIVE);
+    }
+
+    @Test
+    public void defaultFileTest() {
+        System.clearProperty(Recordings.FILE);
+        Assert.assertEquals(Recordings.getFile(), new File("recordings.jsonl"));
+    }
+
+    @Test
+    public void liveNotRecordedTest() {
+        new HTTP(baseUrl).get("counter");
+        Assert.assertFalse(recordings.exists());
+    }
+
+    @Test
+    public void recordTest() throws IOException {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        http.get("counter");
+        JsonObject data = new JsonObject();
+        data.addProperty("name", "value");
+        http.post("counter", new Request(data));
+        List<String> lines = Files.readLines(recordings, Charsets.UTF_8);
+        Assert.assertEquals(lines.size(), 2);
+        Assert.assertTrue(lines.get(0).contains("\"method\":\"GET\""));
+        Assert.assertTrue(lines.get(0).contains("\"service\":\"counter\""));
+        Assert.assertTrue(lines.get(1).contains("\"data\":{\"name\":\"value\"}"));
+        Assert.assertEquals(counter.get(), 2);
+    }
+
+    @Test
+    public void recordStartsOverTest() throws IOException {
+        Files.write("stale\n", recordings, Charsets.UTF_8);
+        System.setProperty(Recordings.MODE, "record");
+        new HTTP(baseUrl).get("counter");
+        List<String> lines = Files.readLines(recordings, Charsets.UTF_8);
+        Assert.assertEquals(lines.size(), 1);
+        Assert.assertFalse(lines.get(0).contains("stale"));
+    }
+
+    @Test
+    public void replayTest() {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        http.get("counter", params("id", "1"));
+        http.get("missing");
+        System.setProperty(Recordings.MODE, "replay");
+        HTTP offline = new HTTP(baseUrl);
+        Response response = offline.get("counter", params("id", "1"));
+        Assert.assertTrue(response.isReplayed());
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("count").getAsInt(), 1);
+        Assert.assertEquals(response.getObjectData().get("query").getAsString(), "id=1&");
+        Response missing = offline.get("missing");
+        Assert.assertEquals(missing.getCode(), 404);
+        Assert.assertEquals(missing.getObjectData().get("error").getAsString(), "not found");
+        Assert.assertEquals(counter.get(), 1);
+    }
+
+    @Test
+    public void replayHeadersTest() {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        http.get("counter");
+        System.setProperty(Recordings.MODE, "replay");
+        Response response = http.get("counter");
+        Assert.assertTrue(response.isReplayed());
+        Assert.assertEquals(response.getHeader("X-Recorded"), "yes");
+        Assert.assertEquals(response.getHeader("x-recorded"), "yes");
+        Assert.assertEquals(counter.get(), 1);
+    }
+
+    @Test
+    public void replayMatchesUrlTest() {
+        System.setProperty(Recordings.MODE, "record");
+        new HTTP(baseUrl).get("counter");
+        new HTTP(baseUrl.replace("localhost", "127.0.0.1")).get("counter");
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertEquals(new HTTP(baseUrl.replace("localhost", "127.0.0.1")).get("counter").getObjectData()
+                .get("count").getAsInt(), 2);
+        Assert.assertEquals(new HTTP(baseUrl).get("counter").getObjectData().get("count").getAsInt(), 1);
+        Assert.assertNull(new HTTP("http://localhost:1/").get("counter"));
+        Assert.assertEquals(counter.get(), 2);
+    }
+
+    @Test
+    public void replayMatchesParamsTest() {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        http.get("counter", params("id", "1"));
+        http.get("counter", params("id", "2"));
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertEquals(http.get("counter", params("id", "2")).getObjectData().get("count").getAsInt(), 2);
+        Assert.assertNull(http.get("counter", params("id", "3")));
+        Assert.assertNull(http.get("counter"));
+    }
+
+    @Test
+    public void replayMatchesDataTest() {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        JsonObject first = new JsonObject();
+        first.addProperty("name", "first");
+        JsonObject second = new JsonObject();
+        second.addProperty("name", "second");
+        http.post("counter", new Request(first));
+        http.post("counter", new Request(second));
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertEquals(http.post("counter", new Request(second)).getObjectData().get("count").getAsInt(), 2);
+        Assert.assertNull(http.put("counter", new Request(second)));
+    }
+
+    @Test
+    public void replayMatchesUploadTest() throws IOException {
+        File first = new File("recordingsFirst.txt");
+        File second = new File("recordingsSecond.txt");
+        try {
+            Files.write("first", first, Charsets.UTF_8);
+            Files.write("second", second, Charsets.UTF_8);
+            System.setProperty(Recordings.MODE, "record");
+            HTTP http = new HTTP(baseUrl);
+            http.post("counter", new Request(first));
+            http.post("counter", new Request(second));
+            Request multipart = new Request(new HashMap<>());
+            multipart.addMultipart("name", "value");
+            multipart.addMultipart("file", first);
+            http.post("counter", multipart);
+            System.setProperty(Recordings.MODE, "replay");
+            Assert.assertEquals(http.post("counter", new Request(second)).getObjectData().get("count").getAsInt(), 2);
+            Assert.assertEquals(http.post("counter", new Request(first)).getObjectData().get("count").getAsInt(), 1);
+            Assert.assertEquals(http.post("counter", multipart).getObjectData().get("count").getAsInt(), 3);
+            Request changed = new Request(new HashMap<>());
+            changed.addMultipart("name", "value");
+            changed.addMultipart("file", second);
+            Assert.assertNull(http.post("counter", changed));
+            Assert.assertEquals(counter.get(), 3);
+        } finally {
+            first.delete();
+            second.delete();
+        }
+    }
+
+    @Test
+    public void streamNotRecordedTest() {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        byte[] body = "streamed".getBytes(StandardCharsets.UTF_8);
+        http.post("counter", new Request(new ByteArrayInputStream(body), body.length));
+        Assert.assertFalse(recordings.exists());
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertNull(http.post("counter", new Request(new ByteArrayInputStream(body), body.length)));
+        Assert.assertEquals(counter.get(), 1);
+    }
+
+    @Test
+    public void replayInOrderTest() {
+        System.setProperty(Recordings.MODE, "record");
+        HTTP http = new HTTP(baseUrl);
+        http.get("counter");
+        http.get("counter");
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertEquals(http.get("counter").getObjectData().get("count").getAsInt(), 1);
+        Assert.assertEquals(http.get("counter").getObjectData().get("count").getAsInt(), 2);
+        Assert.assertEquals(http.get("counter").getObjectData().get("count").getAsInt(), 2);
+    }
+
+    @Test
+    public void replayMissingFileTest() {
+        System.setProperty(Recordings.MODE, "replay");
+        Assert.assertNull(new HTTP(baseUrl).get("counter"));
+        Assert.assertEquals(counter.get(), 0);
+    }
+
+    @Test
+    public void replayDownloadTest() throws IOException {
+        System.setProperty(Recordings.MODE, "record");
+        new HTTP(baseUrl).download("counter", null, null);
+        Assert.assertFalse(recordings.exists());
+        System.setProperty(Recordings.MODE, "replay");
+        OutputFile file = new OutputFile("directory", "file", Browser.NONE, null, null, null, null, null, null);
+        Call call = new Call(new HTTP(baseUrl), file, new HashMap<>());
+        call.download("counter", null, null);
+        Assert.assertEquals(file.getErrors(), 1);
+        Assert.assertEquals(counter.get(), 1);
+        String content = Files.toString(new File("directory", "fileNONE.html"), Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Downloads aren't recorded, so can't be replayed"));
+    }
+
+    @Test
+    public void callReportsReplayTest() throws IOException {
+        System.setProperty(Recordings.MODE, "record");
+        new HTTP(baseUrl).get("counter");
+        System.setProperty(Recordings.MODE, "replay");
+        OutputFile file = new OutputFile("directory", "file", Browser.NONE, null, null, null, null, null, null);
+        Call call = new Call(new HTTP(baseUrl), file, new HashMap<>());
+        call.get("counter").assertEquals(200);
+        call.get("other");
+        Assert.assertEquals(file.getErrors(), 1);
+        String content = Files.toString(new File("directory", "fileNONE.html"), Charsets.UTF_8);
+        Assert.assertTrue(content.contains("ms</b>, from a recording"));
+    }
+}
@@ -5,6 +5,9 @@ import com.google.gson.JsonObject;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -73,4 +76,37 @@ public class RequestTest {
         request.setParams(params);
         Assert.assertEquals(request.getParams(), params);
     }
+
+    @Test
+    public void checkFileRequestTest() {
+        File file = new File("upload.txt");
+        Request request = new Request(file);
+        Assert.assertEquals(request.getFile(), file);
+        Assert.assertNull(request.getData());
+        Assert.assertNull(request.getContentType());
+        request.setContentType("text/plain");
+        Assert.assertEquals(request.getContentType(), "text/plain");
+    }
+
+    @Test
+    public void checkStreamRequestTest() {
+        InputStream stream = new ByteArrayInputStream(new byte[5]);
+        Request request = new Request(stream, 5);
+        Assert.assertEquals(request.getStream(), stream);
+        Assert.assertEquals(request.getStreamLength(), 5);
+        request.setStream(stream, -1);
+        Assert.assertEquals(request.getStreamLength(), -1);
+    }
+
+    @Test
+    public void checkMultipartRequestTest() {
+        Request request = new Request(new HashMap<>());
+        Assert.assertNull(request.getMultipart());
+        File file = new File("upload.txt");
+        request.addMultipart("name", "value");
+        request.addMultipart("file", file);
+        Assert.assertEquals(request.getMultipart().keySet().toArray(), new String[]{"name", "file"});
+        Assert.assertEquals(request.getMultipart().get("name"), "value");
+        Assert.assertEquals(request.getMultipart().get("file"), file);
+    }
 }
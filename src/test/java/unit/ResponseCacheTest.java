@@ -0,0 +1,317 @@
+package unit;
+
+import com.coveros.selenified.Browser;
+import com.coveros.selenified.OutputFile;
+import com.coveros.selenified.services.Call;
+import com.coveros.selenified.services.CircuitBreaker;
+import com.coveros.selenified.services.HTTP;
+import com.coveros.selenified.services.Request;
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.ResponseCache;
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.sun.net.httpserver.HttpExchange;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ResponseCacheTest {
+
+    private TestServer server;
+    private String baseUrl;
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final AtomicInteger notModified = new AtomicInteger();
+
+    @BeforeClass
+    public void startServer() throws IOException {
+        server = new TestServer();
+        server.handle("/fresh", exchange -> respond(exchange, 200, "max-age=60", null));
+        server.handle("/default", exchange -> respond(exchange, 200, null, null));
+        server.handle("/nostore", exchange -> respond(exchange, 200, "no-store", null));
+        server.handle("/etag", exchange -> respond(exchange, 200, "no-cache", "\"v1\""));
+        server.handle("/missing", exchange -> respond(exchange, 404, "max-age=60", null));
+        server.start();
+        baseUrl = server.getBaseUrl();
+    }
+
+    @AfterClass
+    public void stopServer() {
+        server.stop();
+    }
+
+    @BeforeMethod
+    public void clearCache() {
+        ResponseCache.clear();
+        calls.clear();
+        notModified.set(0);
+    }
+
+    @AfterMethod
+    public void resetProperties() {
+        System.clearProperty(ResponseCache.CACHE);
+        System.clearProperty(ResponseCache.CACHE_SIZE);
+        System.clearProperty(ResponseCache.CACHE_TTL);
+        System.clearProperty(CircuitBreaker.BREAKER_THRESHOLD);
+        System.clearProperty(CircuitBreaker.BREAKER_COOLDOWN);
+        CircuitBreaker.reset();
+        new File("directory", "fileNONE.html").delete();
+        new File("directory").delete();
+    }
+
+    private void respond(HttpExchange exchange, int code, String cacheControl, String etag) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        calls.computeIfAbsent(path, k -> new AtomicInteger()).incrementAndGet();
+        if (cacheControl != null) {
+            exchange.getResponseHeaders().add("Cache-Control", cacheControl);
+        }
+        if (etag != null) {
+            exchange.getResponseHeaders().add("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.getResponseBody().close();
+                return;
+            }
+        }
+        TestServer.respond(exchange, code,
+                "{\"path\":\"" + path + "\",\"query\":\"" + exchange.getRequestURI().getQuery() + "\"}");
+    }
+
+    private int callsTo(String path) {
+        AtomicInteger count = calls.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private HTTP cachingHttp() {
+        HTTP http = new HTTP(baseUrl);
+        http.setCaching(true);
+        return http;
+    }
+
+    @Test
+    public void disabledByDefaultTest() {
+        HTTP http = new HTTP(baseUrl);
+        Assert.assertFalse(http.isCaching());
+        http.get("fresh");
+        Response response = http.get("fresh");
+        Assert.assertNull(response.getCacheStatus());
+        Assert.assertEquals(callsTo("/fresh"), 2);
+        Assert.assertEquals(ResponseCache.size(), 0);
+    }
+
+    @Test
+    public void enabledPropertyTest() {
+        System.setProperty(ResponseCache.CACHE, "true");
+        Assert.assertTrue(ResponseCache.isEnabled());
+        Assert.assertTrue(new HTTP(baseUrl).isCaching());
+    }
+
+    @Test
+    public void hitTest() {
+        HTTP http = cachingHttp();
+        Response first = http.get("fresh");
+        Response second = http.get("fresh");
+        Assert.assertEquals(first.getCacheStatus(), ResponseCache.Status.MISS);
+        Assert.assertEquals(second.getCacheStatus(), ResponseCache.Status.HIT);
+        Assert.assertEquals(second.getCode(), 200);
+        Assert.assertEquals(second.getObjectData().get("path").getAsString(), "/fresh");
+        Assert.assertNotSame(second.getBody(), first.getBody());
+        Assert.assertEquals(callsTo("/fresh"), 1);
+    }
+
+    @Test
+    public void sharedBetweenSessionsTest() {
+        cachingHttp().get("fresh");
+        Assert.assertEquals(cachingHttp().get("fresh").getCacheStatus(), ResponseCache.Status.HIT);
+        Assert.assertEquals(callsTo("/fresh"), 1);
+    }
+
+    @Test
+    public void keyedByParamsTest() {
+        HTTP http = cachingHttp();
+        Map<String, String> params = new HashMap<>();
+        params.put("id", "1");
+        http.get("fresh", new Request(params));
+        params.put("id", "2");
+        Response response = http.get("fresh", new Request(params));
+        Assert.assertEquals(response.getCacheStatus(), ResponseCache.Status.MISS);
+        Assert.assertEquals(response.getObjectData().get("query").getAsString(), "id=2&");
+        Assert.assertEquals(callsTo("/fresh"), 2);
+    }
+
+    @Test
+    public void keyedByHeadersTest() {
+        HTTP http = cachingHttp();
+        http.get("fresh");
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-Tenant", "other");
+        http.addHeaders(headers);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.MISS);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.HIT);
+        Assert.assertEquals(callsTo("/fresh"), 2);
+    }
+
+    @Test
+    public void keyedByUserTest() {
+        cachingHttp().get("fresh");
+        HTTP http = new HTTP(baseUrl, "user", "pass");
+        http.setCaching(true);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.MISS);
+    }
+
+    @Test
+    public void keyedByPasswordTest() {
+        HTTP http = new HTTP(baseUrl, "user", "pass");
+        http.setCaching(true);
+        http.get("fresh");
+        HTTP wrong = new HTTP(baseUrl, "user", "wrong");
+        wrong.setCaching(true);
+        Assert.assertEquals(wrong.get("fresh").getCacheStatus(), ResponseCache.Status.MISS);
+        HTTP same = new HTTP(baseUrl, "user", "pass");
+        same.setCaching(true);
+        Assert.assertEquals(same.get("fresh").getCacheStatus(), ResponseCache.Status.HIT);
+        Assert.assertEquals(callsTo("/fresh"), 2);
+    }
+
+    @Test
+    public void expiredTest() {
+        System.setProperty(ResponseCache.CACHE_TTL, "0");
+        HTTP http = cachingHttp();
+        http.get("default");
+        Assert.assertEquals(http.get("default").getCacheStatus(), ResponseCache.Status.MISS);
+        Assert.assertEquals(callsTo("/default"), 2);
+    }
+
+    @Test
+    public void noStoreTest() {
+        HTTP http = cachingHttp();
+        http.get("nostore");
+        http.get("nostore");
+        Assert.assertEquals(callsTo("/nostore"), 2);
+        Assert.assertEquals(ResponseCache.size(), 0);
+    }
+
+    @Test
+    public void errorNotCachedTest() {
+        HTTP http = cachingHttp();
+        http.get("missing");
+        Assert.assertEquals(http.get("missing").getCode(), 404);
+        Assert.assertEquals(callsTo("/missing"), 2);
+    }
+
+    @Test
+    public void revalidatedTest() {
+        HTTP http = cachingHttp();
+        Assert.assertEquals(http.get("etag").getCacheStatus(), ResponseCache.Status.MISS);
+        Response response = http.get("etag");
+        Assert.assertEquals(response.getCacheStatus(), ResponseCache.Status.REVALIDATED);
+        Assert.assertEquals(response.getCode(), 200);
+        Assert.assertEquals(response.getObjectData().get("path").getAsString(), "/etag");
+        Assert.assertEquals(notModified.get(), 1);
+        Assert.assertEquals(callsTo("/etag"), 2);
+    }
+
+    @Test
+    public void invalidatedTest() {
+        HTTP http = cachingHttp();
+        http.get("fresh");
+        http.delete("fresh");
+        Assert.assertEquals(ResponseCache.size(), 0);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.MISS);
+    }
+
+    @Test
+    public void invalidatedByOtherSessionTest() {
+        HTTP http = cachingHttp();
+        http.get("fresh");
+        HTTP other = new HTTP(baseUrl);
+        Assert.assertFalse(other.isCaching());
+        other.post("fresh", null);
+        Assert.assertEquals(ResponseCache.size(), 0);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.MISS);
+        Assert.assertEquals(callsTo("/fresh"), 3);
+    }
+
+    @Test
+    public void notInvalidatedTest() {
+        HTTP http = cachingHttp();
+        http.get("fresh");
+        http.head("fresh");
+        http.options("fresh");
+        http.download("fresh", null, null);
+        Assert.assertEquals(ResponseCache.size(), 1);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.HIT);
+        Assert.assertEquals(callsTo("/fresh"), 4);
+    }
+
+    @Test
+    public void sizeBoundTest() {
+        System.setProperty(ResponseCache.CACHE_SIZE, "2");
+        HTTP http = cachingHttp();
+        Map<String, String> params = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            params.put("id", String.valueOf(i));
+            http.get("fresh", new Request(params));
+        }
+        Assert.assertEquals(ResponseCache.size(), 2);
+        params.put("id", "3");
+        Assert.assertEquals(http.get("fresh", new Request(params)).getCacheStatus(),
+                ResponseCache.Status.HIT);
+        params.put("id", "0");
+        Assert.assertEquals(http.get("fresh", new Request(params)).getCacheStatus(),
+                ResponseCache.Status.MISS);
+    }
+
+    @Test
+    public void callReportsHitTest() throws IOException {
+        OutputFile file = new OutputFile("directory", "file", Browser.NONE, null, null, null, null, null, null);
+        Call call = new Call(new HTTP(baseUrl), file, new HashMap<>());
+        call.setCaching(true);
+        call.get("fresh");
+        call.get("fresh");
+        Assert.assertEquals(file.getErrors(), 0);
+        String content = Files.toString(new File("directory", "fileNONE.html"), Charsets.UTF_8);
+        Assert.assertTrue(content.contains("ms</b>, from the cache"));
+    }
+
+    @Test
+    public void hitWhileBreakerOpenTest() {
+        System.setProperty(CircuitBreaker.BREAKER_THRESHOLD, "1");
+        CircuitBreaker.reset();
+        HTTP http = cachingHttp();
+        http.get("fresh");
+        CircuitBreaker breaker = CircuitBreaker.forHost(server.getHost());
+        breaker.recordFailure();
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.HIT);
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.OPEN);
+        Assert.assertNull(http.get("default"));
+        Assert.assertEquals(callsTo("/fresh"), 1);
+        Assert.assertEquals(callsTo("/default"), 0);
+    }
+
+    @Test
+    public void hitDoesNotCloseBreakerTest() throws InterruptedException {
+        System.setProperty(CircuitBreaker.BREAKER_THRESHOLD, "1");
+        System.setProperty(CircuitBreaker.BREAKER_COOLDOWN, "50");
+        CircuitBreaker.reset();
+        HTTP http = cachingHttp();
+        http.get("fresh");
+        CircuitBreaker breaker = CircuitBreaker.forHost(server.getHost());
+        breaker.recordFailure();
+        Thread.sleep(60);
+        Assert.assertEquals(http.get("fresh").getCacheStatus(), ResponseCache.Status.HIT);
+        // the trial call is still to be made, as the hit never reached the host
+        Assert.assertEquals(breaker.getState(), CircuitBreaker.State.HALF_OPEN);
+        Assert.assertTrue(breaker.allowCall());
+    }
+}
@@ -7,6 +7,8 @@ import com.google.common.base.Charsets;
 import com.google.common.io.Files;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -14,6 +16,7 @@ import org.testng.annotations.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -422,4 +425,359 @@ public class ResponseTest {
         Assert.assertTrue(content.matches(
                 "[.\\s\\S]+   <tr>\n    <td align='center'>1.</td>\n    <td> </td>\n    <td>Expected to find a response containing:<div><i>\\{<br/>\\&nbsp;\\&nbsp;\"first\":\\&nbsp;\"john\",<br/>\\&nbsp;\\&nbsp;\"last\":\\&nbsp;\"smith\"<br/>\\}</i></div></td>\n    <td>Found a response of:<div><i>\\{<br/>\\&nbsp;\\&nbsp;\"first\":\\&nbsp;\"john\",<br/>\\&nbsp;\\&nbsp;\"last\":\\&nbsp;\"smith\"<br/>\\}</i></div></td>\n    <td>[0-9]+ms / [0-9]+ms</td>\n    <td class='fail'>Fail</td>\n   </tr>\n"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void timingsTest() {
+        Response response = new Response(200);
+        Assert.assertEquals(response.getResponseTime(), 0.0);
+        response.setTimings(1.5, 20.25, 30.125);
+        Assert.assertEquals(response.getConnectTime(), 1.5);
+        Assert.assertEquals(response.getTimeToFirstByte(), 20.25);
+        Assert.assertEquals(response.getResponseTime(), 30.125);
+    }
+
+    @Test
+    public void assertResponseTimeBelowTest() throws IOException {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setTimings(1.5, 20.25, 30.125);
+        response.assertResponseTimeBelow(50);
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Expected to find a response time below <b>50.0ms</b>"));
+        Assert.assertTrue(content.contains("Found a response time of <b>30.125ms</b>, with <b>20.25ms</b> to the " +
+                "first byte, and <b>1.5ms</b> connecting"));
+    }
+
+    @Test
+    public void assertResponseTimeBelowSlowTest() {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setTimings(0, 60, 75);
+        response.assertResponseTimeBelow(50);
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+
+    @Test
+    public void assertResponseTimeBelowNoResponseTest() {
+        Response response = new Response(0);
+        response.setOutputFile(outputFile);
+        response.assertResponseTimeBelow(50);
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+
+    @Test
+    public void bodyObjectTest() {
+        Response response = new Response(200);
+        response.setBody("{\"name\": \"value\"}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        Assert.assertEquals(response.getObjectData().get("name").getAsString(), "value");
+        Assert.assertNull(response.getArrayData());
+        Assert.assertTrue(response.isData());
+        Assert.assertEquals(response.getMessage(), "{\"name\": \"value\"}");
+    }
+
+    @Test
+    public void bodyArrayTest() {
+        Response response = new Response(200);
+        response.setBody("  [1, 2,\n 3]".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        Assert.assertEquals(response.getArrayData().size(), 3);
+        Assert.assertNull(response.getObjectData());
+        Assert.assertEquals(response.getMessage(), "  [1, 2,\n 3]");
+    }
+
+    @Test
+    public void bodyTextTest() {
+        Response response = new Response(200);
+        response.setBody("hello world".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        Assert.assertNull(response.getObjectData());
+        Assert.assertNull(response.getArrayData());
+        Assert.assertFalse(response.isData());
+        Assert.assertEquals(response.getMessage(), "hello world");
+    }
+
+    @Test
+    public void bodyInvalidJsonTest() {
+        Response response = new Response(200);
+        response.setBody("{\"name\": ".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        Assert.assertNull(response.getObjectData());
+        Assert.assertFalse(response.isData());
+    }
+
+    @Test
+    public void bodyEmptyTest() {
+        Response response = new Response(204);
+        response.setBody(new byte[0], StandardCharsets.UTF_8);
+        Assert.assertFalse(response.isData());
+        Assert.assertEquals(response.getMessage(), "");
+        Assert.assertEquals(response.getBody().length, 0);
+    }
+
+    @Test
+    public void bodyCharsetTest() {
+        Response response = new Response(200);
+        response.setBody("{\"name\": \"f\u00f6o\"}".getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1);
+        Assert.assertEquals(response.getObjectData().get("name").getAsString(), "f\u00f6o");
+    }
+
+    @Test
+    public void setObjectDataOverridesBodyTest() {
+        Response response = new Response(200);
+        response.setBody("[1]".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        JsonObject object = new JsonObject();
+        object.addProperty("name", "value");
+        response.setObjectData(object);
+        Assert.assertEquals(response.getObjectData(), object);
+        Assert.assertEquals(response.getArrayData().size(), 1);
+    }
+
+    private Response jsonResponse() {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setBody(("{\"name\": \"store\", \"items\": [{\"id\": 1, \"tags\": [\"a\", \"b\"]}, " +
+                "{\"id\": 2, \"tags\": [\"c\"]}]}").getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        return response;
+    }
+
+    @Test
+    public void assertJsonPathEqualsTest() throws IOException {
+        Response response = jsonResponse();
+        response.assertJsonPathEquals("$.items[1].id", "2");
+        response.assertJsonPathEquals("$.name", new JsonPrimitive("store"));
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Expected to find <i>$.items[1].id</i> equal to: <b>2</b>"));
+        Assert.assertTrue(content.contains("Found <b>1</b> values at <i>$.items[1].id</i>"));
+    }
+
+    @Test
+    public void assertJsonPathEqualsMismatchTest() {
+        Response response = jsonResponse();
+        response.assertJsonPathEquals("$.items[0].id", "2");
+        response.assertJsonPathEquals("$.items[*].id", "1");
+        response.assertJsonPathEquals("$.items[0].tags", "a");
+        Assert.assertEquals(outputFile.getErrors(), 3);
+    }
+
+    @Test
+    public void assertJsonPathContainsTest() {
+        Response response = jsonResponse();
+        response.assertJsonPathContains("$.items[*].id", new JsonPrimitive(2));
+        response.assertJsonPathContains("$.items[0].tags", new JsonPrimitive("b"));
+        response.assertJsonPathContains("$..tags", new JsonPrimitive("c"));
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertJsonPathContains("$.items[*].id", new JsonPrimitive(3));
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+
+    @Test
+    public void assertJsonPathCountTest() {
+        Response response = jsonResponse();
+        response.assertJsonPathCount("$.items[*]", 2);
+        response.assertJsonPathCount("$..tags[*]", 3);
+        response.assertJsonPathCount("$.missing", 0);
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertJsonPathCount("$.items", 2);
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+
+    @Test
+    public void assertJsonPathExistsTest() throws IOException {
+        Response response = jsonResponse();
+        response.assertJsonPathExists("$.items[-1].tags[0]");
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertJsonPathExists("$.items[5]");
+        Assert.assertEquals(outputFile.getErrors(), 1);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Found no values at <i>$.items[5]</i>"));
+    }
+
+    @Test
+    public void assertJsonPathInvalidTest() throws IOException {
+        Response response = jsonResponse();
+        response.assertJsonPathExists("$.items[");
+        Assert.assertEquals(outputFile.getErrors(), 1);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("The json path <i>$.items[</i> is not valid"));
+    }
+
+    @Test
+    public void assertJsonPathArrayRootTest() {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setBody("[{\"id\": 1}, {\"id\": 2}]".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        response.assertJsonPathEquals("$[1].id", "2");
+        response.assertJsonPathCount("$[*]", 2);
+        Assert.assertEquals(outputFile.getErrors(), 0);
+    }
+
+    @Test
+    public void sizeAndSha256Test() {
+        Response response = new Response(200);
+        Assert.assertFalse(response.isDownload());
+        Assert.assertEquals(response.getSize(), 0);
+        Assert.assertEquals(response.getSha256(),
+                "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855");
+        response.setBody("abc".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        Assert.assertEquals(response.getSize(), 3);
+        Assert.assertEquals(response.getSha256(),
+                "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+
+    @Test
+    public void downloadTest() {
+        Response response = new Response(200);
+        File download = new File("download.bin");
+        response.setDownload(download, 10, "abcdef");
+        Assert.assertTrue(response.isDownload());
+        Assert.assertEquals(response.getDownloadFile(), download);
+        Assert.assertEquals(response.getSize(), 10);
+        Assert.assertEquals(response.getSha256(), "abcdef");
+    }
+
+    @Test
+    public void assertSizeTest() throws IOException {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setDownload(null, 1024, "abcdef");
+        response.assertSize(1024);
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertSize(1000);
+        Assert.assertEquals(outputFile.getErrors(), 1);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Expected to find a response of <b>1000</b> bytes"));
+        Assert.assertTrue(content.contains("Found a response of <b>1024</b> bytes"));
+    }
+
+    @Test
+    public void assertSha256Test() throws IOException {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setBody("abc".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        response.assertSha256("BA7816BF8F01CFEA414140DE5DAE2223B00361A396177A9CB410FF61F20015AD");
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertSha256("abcdef");
+        Assert.assertEquals(outputFile.getErrors(), 1);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Found a response with a SHA-256 of " +
+                "<b>ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad</b>"));
+    }
+
+    @Test
+    public void assertContentTypeTest() throws IOException {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setContentType("application/json; charset=UTF-8");
+        response.assertContentType("application/json");
+        response.assertContentType("APPLICATION/JSON; charset=UTF-8");
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertContentType("text/csv");
+        response.assertContentType("application/json; charset=ISO-8859-1");
+        Assert.assertEquals(outputFile.getErrors(), 2);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Expected to find a content type of <b>text/csv</b>"));
+        Assert.assertTrue(content.contains("Found a content type of <b>application/json; charset=UTF-8</b>"));
+    }
+
+    @Test
+    public void assertContentTypeMissingTest() {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.assertContentType("application/json");
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+
+    @Test
+    public void headersTest() {
+        Response response = new Response(200);
+        Assert.assertTrue(response.getHeaders().isEmpty());
+        response.addHeader("Set-Cookie", "a=1");
+        response.addHeader("set-cookie", "b=2");
+        response.addHeader("ETag", "\"v1\"");
+        Assert.assertEquals(response.getHeader("SET-COOKIE"), "a=1, b=2");
+        Assert.assertEquals(response.getHeader("etag"), "\"v1\"");
+        Assert.assertEquals(response.getHeaders().size(), 2);
+    }
+
+    @Test
+    public void assertMatchesSchemaTest() throws IOException {
+        JsonObject schema = new JsonParser().parse("{\"type\": \"array\", \"items\": {\"type\": \"object\", " +
+                "\"required\": [\"id\"]}}").getAsJsonObject();
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setBody("[{\"id\": 1}, {\"id\": 2}]".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        response.assertMatchesSchema(schema);
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.setBody("[{\"id\": 1}, {}]".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        response.assertMatchesSchema(schema);
+        Assert.assertEquals(outputFile.getErrors(), 1);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Found a response matching the schema"));
+        Assert.assertTrue(content.contains("Found <b>1</b> schema violations:<div>$[1]: is missing the required " +
+                "property 'id'</div>"));
+    }
+
+    @Test
+    public void assertMatchesSchemaDataTest() {
+        JsonObject json = new JsonObject();
+        json.addProperty("name", "value");
+        Response response = new Response(200, json, null);
+        response.setOutputFile(outputFile);
+        response.assertMatchesSchema(new JsonParser().parse("{\"properties\": {\"name\": {\"type\": " +
+                "\"string\"}}}").getAsJsonObject());
+        Assert.assertEquals(outputFile.getErrors(), 0);
+        response.assertMatchesSchema(new JsonParser().parse("{\"properties\": {\"name\": {\"type\": " +
+                "\"number\"}}}").getAsJsonObject());
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+
+    @Test
+    public void assertMatchesSchemaManyViolationsTest() throws IOException {
+        StringBuilder json = new StringBuilder("[0");
+        for (int i = 1; i < 25; i++) {
+            json.append(",").append(i);
+        }
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setBody(json.append("]").toString().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        response.assertMatchesSchema(new JsonParser().parse("{\"items\": {\"type\": \"string\"}}")
+                .getAsJsonObject());
+        Assert.assertEquals(outputFile.getErrors(), 1);
+        String content = Files.toString(file, Charsets.UTF_8);
+        Assert.assertTrue(content.contains("Found <b>25</b> schema violations"));
+        Assert.assertTrue(content.contains("$[19]: expected string"));
+        Assert.assertFalse(content.contains("$[20]: expected string"));
+        Assert.assertTrue(content.contains("and <b>5</b> more"));
+    }
+
+    @Test
+    public void assertMatchesSchemaInvalidTest() throws IOException {
+        Response response = jsonResponse();
+        response.assertMatchesSchema(new JsonParser().parse("{\"type\": \"thing\"}").getAsJsonObject());
+        response.assertMatchesSchema(new File("missing/schema.json"));
+        Assert.assertEquals(outputFile.getErrors(), 2);
+        Assert.assertTrue(Files.toString(file, Charsets.UTF_8).contains("The json schema is not valid"));
+    }
+
+    @Test
+    public void assertMatchesSchemaFileTest() throws IOException {
+        File schema = File.createTempFile("schema", ".json");
+        try {
+            Files.write("{\"type\": \"object\"}", schema, Charsets.UTF_8);
+            Response response = jsonResponse();
+            response.assertMatchesSchema(schema);
+            Assert.assertEquals(outputFile.getErrors(), 0);
+            Assert.assertTrue(Files.toString(file, Charsets.UTF_8).contains("the schema <i>" + schema + "</i>"));
+        } finally {
+            schema.delete();
+        }
+    }
+
+    @Test
+    public void assertMatchesSchemaTextTest() {
+        Response response = new Response(200);
+        response.setOutputFile(outputFile);
+        response.setBody("{\"name\": ".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        response.assertMatchesSchema(new JsonObject());
+        Assert.assertEquals(outputFile.getErrors(), 1);
+    }
+}
@@ -0,0 +1,79 @@
+package unit;
+
+import com.coveros.selenified.services.Response;
+import com.coveros.selenified.services.RetryPolicy;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class RetryPolicyTest {
+
+    @AfterMethod
+    public void clearProperties() {
+        System.clearProperty(RetryPolicy.RETRY_ATTEMPTS);
+        System.clearProperty(RetryPolicy.RETRY_DELAY);
+        System.clearProperty(RetryPolicy.RETRY_MAX_DELAY);
+    }
+
+    @Test
+    public void defaultsTest() {
+        RetryPolicy policy = RetryPolicy.fromProperties();
+        Assert.assertEquals(policy.getMaxAttempts(), 1);
+        Assert.assertEquals(policy.getInitialDelay(), 100);
+        Assert.assertEquals(policy.getMaxDelay(), 5000);
+    }
+
+    @Test
+    public void propertiesTest() {
+        System.setProperty(RetryPolicy.RETRY_ATTEMPTS, "4");
+        System.setProperty(RetryPolicy.RETRY_DELAY, "20");
+        System.setProperty(RetryPolicy.RETRY_MAX_DELAY, "bad");
+        RetryPolicy policy = RetryPolicy.fromProperties();
+        Assert.assertEquals(policy.getMaxAttempts(), 4);
+        Assert.assertEquals(policy.getInitialDelay(), 20);
+        Assert.assertEquals(policy.getMaxDelay(), 5000);
+    }
+
+    @Test
+    public void boundsTest() {
+        RetryPolicy policy = new RetryPolicy(0, -5, -10);
+        Assert.assertEquals(policy.getMaxAttempts(), 1);
+        Assert.assertEquals(policy.getInitialDelay(), 0);
+        Assert.assertEquals(policy.getMaxDelay(), 0);
+        Assert.assertEquals(policy.getDelay(3), 0);
+    }
+
+    @Test
+    public void canRetryTest() {
+        RetryPolicy policy = new RetryPolicy(3, 10, 100);
+        Assert.assertTrue(policy.canRetry("GET"));
+        Assert.assertTrue(policy.canRetry("PUT"));
+        Assert.assertTrue(policy.canRetry("DELETE"));
+        Assert.assertFalse(policy.canRetry("POST"));
+        Assert.assertFalse(policy.canRetry("PATCH"));
+    }
+
+    @Test
+    public void shouldRetryTest() {
+        RetryPolicy policy = new RetryPolicy(3, 10, 100);
+        Assert.assertTrue(policy.shouldRetry(null));
+        Assert.assertTrue(policy.shouldRetry(new Response(503)));
+        Assert.assertTrue(policy.shouldRetry(new Response(429)));
+        Assert.assertFalse(policy.shouldRetry(new Response(200)));
+        Assert.assertFalse(policy.shouldRetry(new Response(500)));
+        Assert.assertFalse(policy.shouldRetry(new Response(404)));
+    }
+
+    @Test
+    public void delayTest() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000);
+        for (int i = 0; i < 50; i++) {
+            long first = policy.getDelay(1);
+            Assert.assertTrue(first >= 50 && first <= 100, "delay was " + first);
+            long third = policy.getDelay(3);
+            Assert.assertTrue(third >= 200 && third <= 400, "delay was " + third);
+            long capped = policy.getDelay(40);
+            Assert.assertTrue(capped >= 500 && capped <= 1000, "delay was " + capped);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package unit;
+
+import com.coveros.selenified.element.SelectSnapshot;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SelectSnapshotTest {
+
+    private SelectSnapshot getSelect(Boolean... selected) {
+        return new SelectSnapshot(Arrays.asList("Volvo", "Saab", "Mercedes", "Audi"),
+                Arrays.asList("volvo", "saab", "mercedes", "audi"), Arrays.asList(selected));
+    }
+
+    @Test
+    public void checkNumOfOptionsTest() {
+        Assert.assertEquals(getSelect(true, false, false, false).numOfOptions(), 4);
+    }
+
+    @Test
+    public void checkOptionsTest() {
+        Assert.assertEquals(getSelect(true, false, false, false).options(),
+                new String[]{"Volvo", "Saab", "Mercedes", "Audi"});
+    }
+
+    @Test
+    public void checkValuesTest() {
+        Assert.assertEquals(getSelect(true, false, false, false).values(),
+                new String[]{"volvo", "saab", "mercedes", "audi"});
+    }
+
+    @Test
+    public void checkSelectedOptionTest() {
+        Assert.assertEquals(getSelect(false, true, false, true).selectedOption(), "Saab");
+    }
+
+    @Test
+    public void checkSelectedValueTest() {
+        Assert.assertEquals(getSelect(false, true, false, true).selectedValue(), "saab");
+    }
+
+    @Test
+    public void checkSelectedOptionsTest() {
+        Assert.assertEquals(getSelect(false, true, false, true).selectedOptions(), new String[]{"Saab", "Audi"});
+    }
+
+    @Test
+    public void checkSelectedValuesTest() {
+        Assert.assertEquals(getSelect(false, true, false, true).selectedValues(), new String[]{"saab", "audi"});
+    }
+
+    @Test
+    public void checkNothingSelectedTest() {
+        SelectSnapshot select = getSelect(false, false, false, false);
+        Assert.assertFalse(select.somethingSelected());
+        Assert.assertNull(select.selectedOption());
+        Assert.assertNull(select.selectedValue());
+        Assert.assertEquals(select.selectedOptions(), new String[]{});
+    }
+
+    @Test
+    public void checkHasOptionTest() {
+        SelectSnapshot select = getSelect(true, false, false, false);
+        Assert.assertTrue(select.hasOption("Audi"));
+        Assert.assertFalse(select.hasOption("audi"));
+    }
+
+    @Test
+    public void checkHasValueTest() {
+        SelectSnapshot select = getSelect(true, false, false, false);
+        Assert.assertTrue(select.hasValue("audi"));
+        Assert.assertFalse(select.hasValue("Audi"));
+    }
+
+    @Test
+    public void checkEmptySelectTest() {
+        SelectSnapshot select = new SelectSnapshot(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Assert.assertEquals(select.numOfOptions(), 0);
+        Assert.assertFalse(select.somethingSelected());
+    }
+}
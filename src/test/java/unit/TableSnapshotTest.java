@@ -0,0 +1,99 @@
+package unit;
+
+import com.coveros.selenified.element.TableSnapshot;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TableSnapshotTest {
+
+    private TableSnapshot getTable() {
+        List<List<String>> cells = new ArrayList<>();
+        cells.add(Arrays.asList("", "Company", "Contact"));
+        cells.add(Arrays.asList("President", "Alfreds Futterkiste", "Maria Anders"));
+        cells.add(Arrays.asList("CEO", "Centro comercial Moctezuma", "Francisco Chang"));
+        return new TableSnapshot(cells, null);
+    }
+
+    @Test
+    public void checkNumOfRowsTest() {
+        Assert.assertEquals(getTable().numOfRows(), 3);
+    }
+
+    @Test
+    public void checkNumOfColumnsTest() {
+        Assert.assertEquals(getTable().numOfColumns(), 3);
+    }
+
+    @Test
+    public void checkNumOfColumnsEmptyTest() {
+        TableSnapshot table = new TableSnapshot(new ArrayList<>(), null);
+        Assert.assertEquals(table.numOfColumns(), 0);
+    }
+
+    @Test
+    public void checkNumOfColumnsHeaderOnlyTest() {
+        List<List<String>> cells = new ArrayList<>();
+        cells.add(Arrays.asList("Company", "Contact"));
+        TableSnapshot table = new TableSnapshot(cells, null);
+        Assert.assertEquals(table.numOfColumns(), 2);
+    }
+
+    @Test
+    public void checkRowTest() {
+        Assert.assertEquals(getTable().row(1), Arrays.asList("President", "Alfreds Futterkiste", "Maria Anders"));
+    }
+
+    @Test
+    public void checkRowOutOfRangeTest() {
+        Assert.assertEquals(getTable().row(99), new ArrayList<>());
+    }
+
+    @Test
+    public void checkColumnTest() {
+        Assert.assertEquals(getTable().column(1),
+                Arrays.asList("Company", "Alfreds Futterkiste", "Centro comercial Moctezuma"));
+    }
+
+    @Test
+    public void checkColumnOutOfRangeTest() {
+        Assert.assertEquals(getTable().column(99), new ArrayList<>());
+    }
+
+    @Test
+    public void checkCellTest() {
+        Assert.assertEquals(getTable().cell(2, 2), "Francisco Chang");
+    }
+
+    @Test
+    public void checkCellOutOfRangeTest() {
+        Assert.assertNull(getTable().cell(2, 99));
+        Assert.assertNull(getTable().cell(-1, 0));
+    }
+
+    @Test
+    public void checkCellAttributesNoneTest() {
+        Assert.assertEquals(getTable().cellAttributes(1, 1), new HashMap<>());
+        Assert.assertNull(getTable().cellAttribute(1, 1, "class"));
+    }
+
+    @Test
+    public void checkCellAttributeTest() {
+        List<List<String>> cells = new ArrayList<>();
+        cells.add(Arrays.asList("President", "Maria Anders"));
+        Map<String, String> first = new HashMap<>();
+        first.put("class", "title");
+        Map<String, String> second = new HashMap<>();
+        second.put("class", null);
+        List<List<Map<String, String>>> attributes = new ArrayList<>();
+        attributes.add(Arrays.asList(first, second));
+        TableSnapshot table = new TableSnapshot(cells, attributes);
+        Assert.assertEquals(table.cellAttribute(0, 0, "class"), "title");
+        Assert.assertNull(table.cellAttribute(0, 1, "class"));
+    }
+}
@@ -0,0 +1,137 @@
+package unit;
+
+import com.coveros.selenified.utilities.WaitHistory;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class WaitHistoryTest {
+
+    private File file;
+
+    @BeforeMethod
+    public void createFile() throws IOException {
+        file = File.createTempFile("waitHistory", ".json");
+        Assert.assertTrue(file.delete());
+    }
+
+    @AfterMethod
+    public void deleteFile() {
+        System.clearProperty("waitHistory");
+        if (file.exists()) {
+            Assert.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void checkKeyTest() {
+        Assert.assertEquals(WaitHistory.key("myTest", "ID=myId[0]", "present"), "myTest|ID=myId[0]|present");
+    }
+
+    @Test
+    public void checkNotEnoughHistoryTest() {
+        WaitHistory history = new WaitHistory(file, 2, 1, 30);
+        for (int i = 0; i < 4; i++) {
+            history.record("key", 0.1);
+        }
+        Assert.assertEquals(history.timeout("key", 5), 5.0);
+        Assert.assertEquals(history.timeout("otherKey", 5), 5.0);
+    }
+
+    @Test
+    public void checkTimeoutTest() {
+        WaitHistory history = new WaitHistory(file, 2, 0.5, 30);
+        for (int i = 1; i <= 10; i++) {
+            history.record("key", i / 10.0);
+        }
+        // p99 of 0.1 through 1.0 is 1.0, doubled
+        Assert.assertEquals(history.timeout("key", 5), 2.0);
+    }
+
+    @Test
+    public void checkTimeoutMinTest() {
+        WaitHistory history = new WaitHistory(file, 2, 1, 30);
+        for (int i = 0; i < 10; i++) {
+            history.record("key", 0.1);
+        }
+        Assert.assertEquals(history.timeout("key", 5), 1.0);
+    }
+
+    @Test
+    public void checkTimeoutMaxTest() {
+        WaitHistory history = new WaitHistory(file, 2, 1, 30);
+        for (int i = 0; i < 10; i++) {
+            history.record("key", 20);
+        }
+        Assert.assertEquals(history.timeout("key", 5), 30.0);
+    }
+
+    @Test
+    public void checkTimeoutRecordedTest() {
+        WaitHistory history = new WaitHistory(file, 2, 1, 30);
+        for (int i = 0; i < 10; i++) {
+            history.record("key", 0.1);
+        }
+        Assert.assertEquals(history.timeout("key", 5), 1.0);
+        history.recordTimeout("key", 5);
+        Assert.assertEquals(history.timeout("key", 5), 10.0);
+    }
+
+    @Test
+    public void checkTimeoutRecordedUpToMaxTest() {
+        WaitHistory history = new WaitHistory(file, 2, 1, 30);
+        for (int i = 0; i < 10; i++) {
+            history.record("key", 0.1);
+        }
+        history.recordTimeout("key", 60);
+        Assert.assertEquals(history.timeout("key", 5), 30.0);
+    }
+
+    @Test
+    public void checkOldSamplesDroppedTest() {
+        WaitHistory history = new WaitHistory(file, 1, 0, 100);
+        history.record("key", 50);
+        for (int i = 0; i < 100; i++) {
+            history.record("key", 2);
+        }
+        Assert.assertEquals(history.timeout("key", 5), 2.0);
+    }
+
+    @Test
+    public void checkSaveAndLoadTest() {
+        WaitHistory history = new WaitHistory(file, 2, 0, 30);
+        for (int i = 0; i < 5; i++) {
+            history.record("key", 1.5);
+        }
+        history.save();
+        Assert.assertTrue(file.exists());
+        WaitHistory loaded = new WaitHistory(file, 2, 0, 30);
+        Assert.assertEquals(loaded.timeout("key", 5), 3.0);
+    }
+
+    @Test
+    public void checkBadFileTest() throws IOException {
+        Files.write(file.toPath(), "not json".getBytes(StandardCharsets.UTF_8));
+        WaitHistory history = new WaitHistory(file, 2, 0, 30);
+        Assert.assertEquals(history.timeout("key", 5), 5.0);
+    }
+
+    @Test
+    public void checkHistoryDisabledTest() {
+        Assert.assertNull(WaitHistory.getHistory());
+    }
+
+    @Test
+    public void checkHistoryEnabledTest() {
+        System.setProperty("waitHistory", file.getAbsolutePath());
+        WaitHistory history = WaitHistory.getHistory();
+        Assert.assertNotNull(history);
+        Assert.assertSame(WaitHistory.getHistory(), history);
+    }
+}